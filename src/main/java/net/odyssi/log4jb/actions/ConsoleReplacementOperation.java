@@ -0,0 +1,61 @@
+package net.odyssi.log4jb.actions;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import net.odyssi.log4jb.batch.BatchOperation;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.plan.ReplacementPlan;
+import net.odyssi.log4jb.plan.StatementReplacement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Batch operation that replaces {@code System.out} / {@code System.err} print calls in every file of the
+ * selected scope, declaring the logger in each top-level class that gets a replacement.
+ */
+class ConsoleReplacementOperation implements BatchOperation<ReplacementPlan> {
+
+    private final String commandName;
+    private final LoggingStrategy strategy;
+    private final Function<PsiClass, List<StatementReplacement>> analyzer;
+
+    /**
+     * @param commandName The name of the undoable command
+     * @param strategy    The logging strategy the analyzer generates statements for
+     * @param analyzer    The stateless, read-only analysis of a class
+     */
+    ConsoleReplacementOperation(String commandName, LoggingStrategy strategy,
+                                Function<PsiClass, List<StatementReplacement>> analyzer) {
+        this.commandName = commandName;
+        this.strategy = strategy;
+        this.analyzer = analyzer;
+    }
+
+    @Override
+    public @NotNull String getCommandName() {
+        return commandName;
+    }
+
+    @Override
+    public @Nullable ReplacementPlan analyze(@NotNull PsiJavaFile file) {
+        final List<PsiClass> loggerClasses = new ArrayList<>();
+        final List<StatementReplacement> replacements = new ArrayList<>();
+        for (PsiClass psiClass : file.getClasses()) {
+            final List<StatementReplacement> classReplacements = analyzer.apply(psiClass);
+            if (!classReplacements.isEmpty()) {
+                loggerClasses.add(psiClass);
+                replacements.addAll(classReplacements);
+            }
+        }
+        return replacements.isEmpty() ? null : new ReplacementPlan(loggerClasses, strategy, replacements);
+    }
+
+    @Override
+    public void apply(@NotNull ReplacementPlan plan) {
+        plan.apply();
+    }
+}
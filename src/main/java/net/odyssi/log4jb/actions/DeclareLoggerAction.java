@@ -13,6 +13,7 @@ import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiJavaFile;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.concurrency.AppExecutorUtil;
+import net.odyssi.log4jb.settings.Log4jbSettings;
 import net.odyssi.log4jb.visitors.DeclareLoggerVisitor;
 import org.jetbrains.annotations.NotNull;
 
@@ -59,7 +60,8 @@ public class DeclareLoggerAction extends AnAction {
                     // It's now safe to perform the write action.
                     if (psiClass != null) {
                         WriteCommandAction.runWriteCommandAction(psiClass.getProject(), "Log4JB: Declare Logger", null, () ->
-                                psiClass.accept(new DeclareLoggerVisitor(psiClass)));
+                                psiClass.accept(new DeclareLoggerVisitor(psiClass,
+                                        Log4jbSettings.getInstance(psiClass.getProject()).getLoggingStrategy())));
                     }
                 })
                 .submit(AppExecutorUtil.getAppExecutorService());
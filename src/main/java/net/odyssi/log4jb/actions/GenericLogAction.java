@@ -12,7 +12,8 @@ import com.intellij.psi.util.PsiTreeUtil;
 import net.odyssi.log4jb.actions.dialogs.GenericLogFormDialog;
 import net.odyssi.log4jb.actions.dialogs.forms.GenericLogModel;
 import net.odyssi.log4jb.logging.LoggingStrategy;
-import net.odyssi.log4jb.logging.Slf4jLoggingStrategy;
+import net.odyssi.log4jb.settings.Log4jbSettings;
+import net.odyssi.log4jb.util.LambdaCaptures;
 import net.odyssi.log4jb.util.MethodSignatureBuilder;
 import net.odyssi.log4jb.visitors.DeclareLoggerVisitor;
 import org.jetbrains.annotations.NotNull;
@@ -29,8 +30,6 @@ import java.util.stream.Collectors;
  */
 public class GenericLogAction extends AnAction {
 
-    private final LoggingStrategy strategy = new Slf4jLoggingStrategy();
-
     @Override
     public void update(@NotNull AnActionEvent e) {
         // This action is enabled only if the cursor is inside a Java method.
@@ -78,7 +77,7 @@ public class GenericLogAction extends AnAction {
             GenericLogModel logModel = dialog.buildLogModel();
             WriteCommandAction.runWriteCommandAction(project, "Log4JB: Insert Log Statement", null, () -> {
                 // First, ensure the logger is declared.
-                selectedClass.accept(new DeclareLoggerVisitor(selectedClass));
+                selectedClass.accept(new DeclareLoggerVisitor(selectedClass, getStrategy(project)));
 
                 // Build and insert the log statement.
                 applyLogStatements(logModel, selectedMethod, project, editor);
@@ -100,12 +99,13 @@ public class GenericLogAction extends AnAction {
             return;
         }
 
-        String logStatementStr = buildLogStatement(logModel, selectedMethod);
-        PsiElementFactory factory = JavaPsiFacade.getElementFactory(project);
-        PsiStatement logStatement = factory.createStatementFromText(logStatementStr, null);
-
         PsiFile file = selectedMethod.getContainingFile();
         int caretOffset = editor.getCaretModel().getOffset();
+        PsiElement caretElement = file.findElementAt(caretOffset);
+
+        String logStatementStr = buildLogStatement(logModel, selectedMethod, caretElement == null ? selectedMethod : caretElement);
+        PsiElementFactory factory = JavaPsiFacade.getElementFactory(project);
+        PsiStatement logStatement = factory.createStatementFromText(logStatementStr, null);
 
         // Ensure that the document is in a consistent state
         PsiDocumentManager.getInstance(project).doPostponedOperationsAndUnblockDocument(editor.getDocument());
@@ -136,7 +136,20 @@ public class GenericLogAction extends AnAction {
      * @return The log statement text
      */
     protected String buildLogStatement(GenericLogModel logModel, PsiMethod selectedMethod) {
-        String methodDeclaration = MethodSignatureBuilder.build(selectedMethod);
+        return buildLogStatement(logModel, selectedMethod, selectedMethod);
+    }
+
+    /**
+     * Builds the log statement as defined in the {@link GenericLogModel}, for insertion at the given place. Selected
+     * locals and parameters that are not effectively final there are never captured by a generated lambda.
+     *
+     * @param logModel       The log model
+     * @param selectedMethod The method the cursor is inside
+     * @param context        The element at the insertion point
+     * @return The log statement text
+     */
+    protected String buildLogStatement(GenericLogModel logModel, PsiMethod selectedMethod, PsiElement context) {
+        String methodDeclaration = MethodSignatureBuilder.buildCached(selectedMethod);
         String logLevelOperation = getLogLevelOperation(logModel.getLogLevel());
         String logMessage = (logModel.getLogMessage() != null && !logModel.getLogMessage().isEmpty())
                 ? " - " + logModel.getLogMessage() : "";
@@ -154,7 +167,16 @@ public class GenericLogAction extends AnAction {
         String message = methodDeclaration + logMessage + variableLogStatement;
         String args = variableLogValues.isEmpty() ? "" : variableLogValues.substring(2); // strip leading ", "
 
-        return strategy.getLogStatement(logLevelOperation, message, args);
+        LoggingStrategy strategy = LambdaCaptures.forStatementAt(getStrategy(selectedMethod.getProject()), context, args);
+        return strategy.getLogStatement(logLevelOperation, message, args,
+                logModel.getEveryN(), logModel.getAtMostEverySeconds());
+    }
+
+    /**
+     * Returns the logging strategy configured for the project.
+     */
+    protected LoggingStrategy getStrategy(Project project) {
+        return Log4jbSettings.getInstance(project).getLoggingStrategy();
     }
 
     /**
@@ -6,18 +6,34 @@ import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.util.PsiTreeUtil;
+import net.odyssi.log4jb.actions.dialogs.SlowCallThresholdDialog;
+import net.odyssi.log4jb.batch.BatchInstrumentationEngine;
+import net.odyssi.log4jb.batch.BatchOperation;
+import net.odyssi.log4jb.batch.BatchScope;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.plan.ClassLogPlan;
+import net.odyssi.log4jb.plan.DocumentEditPlan;
+import net.odyssi.log4jb.settings.Log4jbSettings;
 import net.odyssi.log4jb.visitors.DeclareLoggerVisitor;
-import net.odyssi.log4jb.visitors.LogMethodVisitor;
+import net.odyssi.log4jb.visitors.LogClassVisitor;
+import net.odyssi.log4jb.visitors.MethodInstrumentation;
+import net.odyssi.log4jb.visitors.SlowCallThreshold;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class LogClassAction extends AnAction {
 
     @Override
     public void update(@NotNull AnActionEvent e) {
-        // Determine if the action should be enabled by checking if the cursor is inside a Java class.
-        boolean isEnabled = isJavaClassSelected(e);
+        // Determine if the action should be enabled by checking if the cursor is inside a Java class,
+        // or if a package, module or the project is selected in the Project view.
+        boolean isEnabled = isJavaClassSelected(e) || BatchScope.hasSelectedRoots(e);
 
         // Set the action's visibility and enabled state.
         e.getPresentation().setEnabledAndVisible(isEnabled);
@@ -36,6 +52,22 @@ public class LogClassAction extends AnAction {
 
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
+        final List<VirtualFile> roots = BatchScope.getSelectedRoots(e);
+        if (!roots.isEmpty() && e.getProject() != null) {
+            final Log4jbSettings settings = Log4jbSettings.getInstance(e.getProject());
+            final SlowCallThreshold threshold = settings.getMethodInstrumentation().usesThreshold()
+                    ? SlowCallThresholdDialog.ask(e.getProject(), "the selected classes")
+                    : settings.getSlowCallThreshold();
+            if (threshold == null) {
+                return;
+            }
+            final BatchOperation<?> operation = settings.getMethodInstrumentation() == MethodInstrumentation.LOG_STATEMENTS
+                    ? new LogClassOperation(settings.isDocumentEdits() && !settings.isConstantGuards())
+                    : new MethodInstrumentationOperation(settings.getMethodInstrumentation(), settings.getLoggingStrategy(), threshold);
+            new BatchInstrumentationEngine(e.getProject()).run("Log4JB: Logging classes", roots, operation);
+            return;
+        }
+
         final var psiFile = e.getData(CommonDataKeys.PSI_FILE);
         final var editor = e.getData(CommonDataKeys.EDITOR);
         if (psiFile == null || editor == null) return;
@@ -45,22 +77,184 @@ public class LogClassAction extends AnAction {
         final var psiClass = PsiTreeUtil.getParentOfType(elementAt, PsiClass.class);
 
         if (psiClass != null) {
+            final Log4jbSettings settings = Log4jbSettings.getInstance(psiClass.getProject());
+            final MethodInstrumentation instrumentation = settings.getMethodInstrumentation();
+            final boolean documentEdits = settings.isDocumentEdits() && !settings.isConstantGuards();
+            final SlowCallThreshold threshold = instrumentation.usesThreshold()
+                    ? SlowCallThresholdDialog.ask(psiClass.getProject(), String.valueOf(psiClass.getName()))
+                    : settings.getSlowCallThreshold();
+            if (threshold == null) {
+                return;
+            }
             WriteCommandAction.runWriteCommandAction(psiClass.getProject(), "Log4JB: Log Class", null, () -> {
-                // 1. Ensure the logger is declared in the class.
-                psiClass.accept(new DeclareLoggerVisitor(psiClass));
-
-                // 2. Iterate over all non-abstract methods and instrument them.
-                for (PsiMethod method : psiClass.getMethods()) {
-                    if (method.getBody() != null) { // Only log methods with a body
-                        method.accept(new LogMethodVisitor(method));
-                    }
+                if (instrumentation != MethodInstrumentation.LOG_STATEMENTS) {
+                    instrumentMethods(psiClass, instrumentation, settings.getLoggingStrategy(), threshold);
+                } else if (!documentEdits || !applyAsDocumentEdits(psiFile, List.of(analyzeClass(psiClass)))) {
+                    instrumentClass(psiClass);
                 }
             });
         }
     }
 
+    /**
+     * Instruments every method declared in the class with a visitor of the given mode, declaring the logger first
+     * if the mode needs one. Must be called inside a write command.
+     *
+     * @param psiClass        The class to instrument
+     * @param instrumentation The instrumentation mode
+     * @param strategy        The logging strategy
+     * @param threshold       The slow-call threshold, for modes that use one
+     */
+    static void instrumentMethods(PsiClass psiClass, MethodInstrumentation instrumentation, LoggingStrategy strategy,
+                                  SlowCallThreshold threshold) {
+        if (instrumentation.usesLogger()) {
+            psiClass.accept(new DeclareLoggerVisitor(psiClass, strategy));
+        }
+        for (PsiMethod method : psiClass.getMethods()) {
+            if (method.isValid()) {
+                method.accept(instrumentation.createVisitor(method, strategy, threshold));
+            }
+        }
+    }
+
+    /**
+     * Declares the logger in the class and instruments all of its methods. Must be called inside a write command.
+     *
+     * @param psiClass The class to instrument
+     */
+    static void instrumentClass(PsiClass psiClass) {
+        // A single traversal collects the logger declaration and every insertion point, then applies them.
+        analyzeClass(psiClass).apply();
+    }
+
+    /**
+     * Collects the logger declaration and every insertion point of the class. Must be called inside a read action.
+     */
+    static ClassLogPlan analyzeClass(PsiClass psiClass) {
+        final LogClassVisitor visitor = new LogClassVisitor(psiClass,
+                Log4jbSettings.getInstance(psiClass.getProject()).getLoggingStrategy());
+        psiClass.accept(visitor);
+        return visitor.getPlan();
+    }
+
+    /**
+     * Applies the class plans of a file as one batch of document edits. Must be called inside a write command.
+     *
+     * @return {@code false} if the edits could not be applied and the PSI path must be used instead
+     */
+    private static boolean applyAsDocumentEdits(PsiFile file, List<ClassLogPlan> plans) {
+        final DocumentEditPlan editPlan = DocumentEditPlan.create(file, plans);
+        return editPlan != null && editPlan.apply();
+    }
+
     @Override
     public @NotNull ActionUpdateThread getActionUpdateThread() {
         return ActionUpdateThread.BGT;
     }
-}
\ No newline at end of file
+
+    /**
+     * Batch operation that instruments every top-level class of each file in the selected scope.
+     * <p>
+     * The classes are analyzed on the background read thread. In document edit mode the plans are also converted
+     * to text edits there, so the write phase only inserts text; if the file changed in between, the classes are
+     * analyzed again and instrumented through the PSI instead.
+     */
+    private static class LogClassOperation implements BatchOperation<LogClassOperation.FilePlan> {
+
+        private final boolean documentEdits;
+
+        private LogClassOperation(boolean documentEdits) {
+            this.documentEdits = documentEdits;
+        }
+
+        @Override
+        public @NotNull String getCommandName() {
+            return "Log4JB: Log Classes";
+        }
+
+        @Override
+        public @Nullable FilePlan analyze(@NotNull PsiJavaFile file) {
+            final List<ClassLogPlan> plans = new ArrayList<>();
+            for (PsiClass psiClass : file.getClasses()) {
+                if (!psiClass.isInterface() && !psiClass.isAnnotationType()) {
+                    final ClassLogPlan plan = analyzeClass(psiClass);
+                    if (!plan.isEmpty()) {
+                        plans.add(plan);
+                    }
+                }
+            }
+            if (plans.isEmpty()) {
+                return null;
+            }
+            return new FilePlan(plans, documentEdits ? DocumentEditPlan.create(file, plans) : null);
+        }
+
+        @Override
+        public void apply(@NotNull FilePlan plan) {
+            if (plan.edits() == null) {
+                plan.plans().forEach(ClassLogPlan::apply);
+                return;
+            }
+            if (plan.edits().apply()) {
+                return;
+            }
+            // The document changed since the analysis, so the plans may be stale as well.
+            for (ClassLogPlan classPlan : plan.plans()) {
+                if (classPlan.psiClass().isValid()) {
+                    instrumentClass(classPlan.psiClass());
+                }
+            }
+        }
+
+        /**
+         * @param plans The non-empty class plans of the file
+         * @param edits The same plans as document edits, or {@code null} to apply them through the PSI
+         */
+        private record FilePlan(List<ClassLogPlan> plans, @Nullable DocumentEditPlan edits) {
+        }
+    }
+
+    /**
+     * Batch operation that instruments every method of each top-level class in the selected scope in one of the
+     * modes other than log statements. These modes rewrite whole method bodies, so the analysis only selects the
+     * classes and the visitors do the work in the write phase.
+     */
+    private static class MethodInstrumentationOperation implements BatchOperation<List<PsiClass>> {
+
+        private final MethodInstrumentation instrumentation;
+        private final LoggingStrategy strategy;
+        private final SlowCallThreshold threshold;
+
+        private MethodInstrumentationOperation(MethodInstrumentation instrumentation, LoggingStrategy strategy,
+                                               SlowCallThreshold threshold) {
+            this.instrumentation = instrumentation;
+            this.strategy = strategy;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public @NotNull String getCommandName() {
+            return "Log4JB: Log Classes";
+        }
+
+        @Override
+        public @Nullable List<PsiClass> analyze(@NotNull PsiJavaFile file) {
+            final List<PsiClass> classes = new ArrayList<>();
+            for (PsiClass psiClass : file.getClasses()) {
+                if (!psiClass.isInterface() && !psiClass.isAnnotationType()) {
+                    classes.add(psiClass);
+                }
+            }
+            return classes.isEmpty() ? null : classes;
+        }
+
+        @Override
+        public void apply(@NotNull List<PsiClass> classes) {
+            for (PsiClass psiClass : classes) {
+                if (psiClass.isValid()) {
+                    instrumentMethods(psiClass, instrumentation, strategy, threshold);
+                }
+            }
+        }
+    }
+}
@@ -8,8 +8,13 @@ import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.psi.*;
 import com.intellij.psi.util.PsiTreeUtil;
+import net.odyssi.log4jb.actions.dialogs.SlowCallThresholdDialog;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.settings.Log4jbSettings;
+import net.odyssi.log4jb.util.MethodSignatureBuilder;
 import net.odyssi.log4jb.visitors.DeclareLoggerVisitor;
-import net.odyssi.log4jb.visitors.LogMethodVisitor;
+import net.odyssi.log4jb.visitors.MethodInstrumentation;
+import net.odyssi.log4jb.visitors.SlowCallThreshold;
 import org.jetbrains.annotations.NotNull;
 
 public class LogMethodAction extends AnAction {
@@ -48,11 +53,22 @@ public class LogMethodAction extends AnAction {
         final var containingClass = (psiMethod != null) ? psiMethod.getContainingClass() : null;
 
         if (psiMethod != null && containingClass != null) {
+            final Log4jbSettings settings = Log4jbSettings.getInstance(psiMethod.getProject());
+            final LoggingStrategy strategy = settings.getLoggingStrategy();
+            final MethodInstrumentation instrumentation = settings.getMethodInstrumentation();
+            final SlowCallThreshold threshold = instrumentation.usesThreshold()
+                    ? SlowCallThresholdDialog.ask(psiMethod.getProject(), MethodSignatureBuilder.buildCached(psiMethod))
+                    : settings.getSlowCallThreshold();
+            if (threshold == null) {
+                return;
+            }
             WriteCommandAction.runWriteCommandAction(psiMethod.getProject(), "Log4JB: Log Method", null, () -> {
                 // First, ensure the logger is declared.
-                containingClass.accept(new DeclareLoggerVisitor(containingClass));
+                if (instrumentation.usesLogger()) {
+                    containingClass.accept(new DeclareLoggerVisitor(containingClass, strategy));
+                }
                 // Then, instrument the method.
-                psiMethod.accept(new LogMethodVisitor(psiMethod));
+                psiMethod.accept(instrumentation.createVisitor(psiMethod, strategy, threshold));
             });
         }
     }
@@ -11,11 +11,16 @@ import com.intellij.openapi.editor.Editor;
 import com.intellij.psi.*;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.concurrency.AppExecutorUtil;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.settings.Log4jbSettings;
+import net.odyssi.log4jb.util.LambdaCaptures;
 import net.odyssi.log4jb.util.MethodSignatureBuilder;
 import net.odyssi.log4jb.visitors.DeclareLoggerVisitor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Set;
+
 public class LogSelectedVariableAction extends AnAction {
 
     @Override
@@ -47,14 +52,13 @@ public class LogSelectedVariableAction extends AnAction {
                             if (containingClass == null) return;
 
                             // 1. Ensure the logger is declared.
-                            containingClass.accept(new DeclareLoggerVisitor(containingClass));
+                            final LoggingStrategy strategy = Log4jbSettings.getInstance(containingClass.getProject()).getLoggingStrategy();
+                            containingClass.accept(new DeclareLoggerVisitor(containingClass, strategy));
 
                             // 2. Build and insert the log statement.
-                            final String methodSignature = MethodSignatureBuilder.build(context.method);
-                            final String logStatementText = String.format(
-                                    "if(logger.isDebugEnabled()) { logger.debug(\"%s - %s={}\", %s); }",
-                                    methodSignature,
-                                    context.variable.getName(),
+                            final String methodSignature = MethodSignatureBuilder.buildCached(context.method);
+                            final String logStatementText = forVariable(strategy, context.variable).getGuardedDebugStatement(
+                                    String.format("%s - %s={}", methodSignature, context.variable.getName()),
                                     context.variable.getName()
                             );
 
@@ -69,6 +73,17 @@ public class LogSelectedVariableAction extends AnAction {
                 .submit(AppExecutorUtil.getAppExecutorService());
     }
 
+    /**
+     * Returns the strategy to log the variable with: a local or parameter that is not effectively final cannot be
+     * captured by a generated lambda.
+     */
+    private static LoggingStrategy forVariable(LoggingStrategy strategy, PsiVariable variable) {
+        final boolean local = variable instanceof PsiLocalVariable || variable instanceof PsiParameter;
+        return local && !LambdaCaptures.isEffectivelyFinal(variable)
+                ? strategy.withNonCapturableLocals(Set.of(variable.getName()))
+                : strategy;
+    }
+
     @Nullable
     private PsiVariable findVariableAtCaret(AnActionEvent e) {
         final Editor editor = e.getData(CommonDataKeys.EDITOR);
@@ -6,20 +6,31 @@ import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiJavaFile;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.util.PsiTreeUtil;
+import net.odyssi.log4jb.batch.BatchInstrumentationEngine;
+import net.odyssi.log4jb.batch.BatchOperation;
+import net.odyssi.log4jb.batch.BatchScope;
+import net.odyssi.log4jb.index.LoggingFileData;
+import net.odyssi.log4jb.index.LoggingIndex;
+import net.odyssi.log4jb.settings.Log4jbSettings;
 import net.odyssi.log4jb.visitors.DeclareLoggerVisitor;
 import net.odyssi.log4jb.visitors.ReapplyMethodLoggingVisitor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 public class ReapplyClassLoggingAction extends AnAction {
 
     @Override
     public void update(@NotNull AnActionEvent e) {
-        // Determine if the action should be enabled by checking if the cursor is inside a Java class.
-        boolean isEnabled = isJavaClassSelected(e);
+        // Determine if the action should be enabled by checking if the cursor is inside a Java class,
+        // or if a package, module or the project is selected in the Project view.
+        boolean isEnabled = isJavaClassSelected(e) || BatchScope.hasSelectedRoots(e);
 
         // Set the action's visibility and enabled state.
         e.getPresentation().setEnabledAndVisible(isEnabled);
@@ -39,6 +50,12 @@ public class ReapplyClassLoggingAction extends AnAction {
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
         final Project project = e.getProject();
+        final List<VirtualFile> roots = BatchScope.getSelectedRoots(e);
+        if (project != null && !roots.isEmpty()) {
+            new BatchInstrumentationEngine(project).run("Log4JB: Reapplying logging", roots, new ReapplyLoggingOperation());
+            return;
+        }
+
         final var psiFile = e.getData(CommonDataKeys.PSI_FILE);
         final var editor = e.getData(CommonDataKeys.EDITOR);
         if (psiFile == null || editor == null) return;
@@ -50,7 +67,7 @@ public class ReapplyClassLoggingAction extends AnAction {
         if (psiClass != null) {
             WriteCommandAction.runWriteCommandAction(psiClass.getProject(), "Log4JB: Reapply Class Logging", null, () -> {
                 // 1. Ensure the logger is declared in the class.
-                psiClass.accept(new DeclareLoggerVisitor(psiClass));
+                psiClass.accept(new DeclareLoggerVisitor(psiClass, Log4jbSettings.getInstance(project).getLoggingStrategy()));
 
                 // 2. Iterate over all non-abstract methods and instrument them.
                 for (PsiMethod method : psiClass.getMethods()) {
@@ -66,4 +83,34 @@ public class ReapplyClassLoggingAction extends AnAction {
     public @NotNull ActionUpdateThread getActionUpdateThread() {
         return ActionUpdateThread.BGT;
     }
+
+    /**
+     * Batch operation that reapplies logging in every file of the selected scope whose indexed log
+     * messages carry a stale method signature.
+     */
+    private static class ReapplyLoggingOperation implements BatchOperation<PsiJavaFile> {
+
+        @Override
+        public @NotNull String getCommandName() {
+            return "Log4JB: Reapply Logging";
+        }
+
+        @Override
+        public boolean isApplicable(@NotNull Project project, @NotNull VirtualFile file) {
+            final LoggingFileData data = LoggingIndex.getFileData(project, file);
+            return data != null && data.hasStaleCalls();
+        }
+
+        @Override
+        public @Nullable PsiJavaFile analyze(@NotNull PsiJavaFile file) {
+            return file;
+        }
+
+        @Override
+        public void apply(@NotNull PsiJavaFile file) {
+            if (file.isValid()) {
+                file.accept(new ReapplyMethodLoggingVisitor(file.getProject()));
+            }
+        }
+    }
 }
\ No newline at end of file
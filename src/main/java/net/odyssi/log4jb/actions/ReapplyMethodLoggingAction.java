@@ -12,6 +12,7 @@ import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiJavaFile;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.util.PsiTreeUtil;
+import net.odyssi.log4jb.settings.Log4jbSettings;
 import net.odyssi.log4jb.visitors.DeclareLoggerVisitor;
 import net.odyssi.log4jb.visitors.ReapplyMethodLoggingVisitor;
 import org.jetbrains.annotations.NotNull;
@@ -67,7 +68,7 @@ public class ReapplyMethodLoggingAction extends AnAction {
         WriteCommandAction.runWriteCommandAction(project, "Log4JB: Reapply Method Logging", null, () -> {
             // First, ensure the logger is declared.
             PsiClass psiClass = psiMethod.getContainingClass();
-            psiClass.accept(new DeclareLoggerVisitor(psiClass));
+            psiClass.accept(new DeclareLoggerVisitor(psiClass, Log4jbSettings.getInstance(project).getLoggingStrategy()));
             // Reapply logging only to the current method.
             psiMethod.accept(new ReapplyMethodLoggingVisitor(project));
         });
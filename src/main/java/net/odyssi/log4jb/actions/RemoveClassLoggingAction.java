@@ -8,21 +8,32 @@ import com.intellij.openapi.application.ModalityState;
 import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiJavaFile;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.concurrency.AppExecutorUtil;
+import net.odyssi.log4jb.batch.BatchInstrumentationEngine;
+import net.odyssi.log4jb.batch.BatchOperation;
+import net.odyssi.log4jb.batch.BatchScope;
+import net.odyssi.log4jb.index.LoggingIndex;
+import net.odyssi.log4jb.settings.Log4jbSettings;
 import net.odyssi.log4jb.visitors.RemoveLoggingVisitor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 public class RemoveClassLoggingAction extends AnAction {
 
     @Override
     public void update(@NotNull AnActionEvent e) {
-        // This action is enabled if the cursor is inside a Java class.
-        boolean isEnabled = isJavaClassSelected(e);
+        // This action is enabled if the cursor is inside a Java class, or if a package, module
+        // or the project is selected in the Project view.
+        boolean isEnabled = isJavaClassSelected(e) || BatchScope.hasSelectedRoots(e);
         e.getPresentation().setEnabledAndVisible(isEnabled);
     }
 
@@ -39,6 +50,22 @@ public class RemoveClassLoggingAction extends AnAction {
 
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
+        final Project project = e.getProject();
+        final List<VirtualFile> roots = BatchScope.getSelectedRoots(e);
+        if (project != null && !roots.isEmpty()) {
+            // Display a confirmation dialog before performing the destructive action.
+            int result = Messages.showYesNoDialog(
+                    project,
+                    "Are you sure you want to remove all logging from every class in the selected scope?",
+                    "Confirm Logging Removal",
+                    Messages.getQuestionIcon()
+            );
+            if (result == Messages.YES) {
+                new BatchInstrumentationEngine(project).run("Log4JB: Removing logging", roots, new RemoveLoggingOperation());
+            }
+            return;
+        }
+
         final Editor editor = e.getData(CommonDataKeys.EDITOR);
         final PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
         if (editor == null || psiFile == null) {
@@ -59,7 +86,8 @@ public class RemoveClassLoggingAction extends AnAction {
 
                         if (result == Messages.YES) {
                             WriteCommandAction.runWriteCommandAction(psiClass.getProject(), "Log4JB: Remove Class Logging", null, () ->
-                                    psiClass.accept(new RemoveLoggingVisitor()));
+                                    psiClass.accept(new RemoveLoggingVisitor(
+                                            Log4jbSettings.getInstance(psiClass.getProject()).getLoggingStrategy())));
                         }
                     }
                 })
@@ -70,4 +98,37 @@ public class RemoveClassLoggingAction extends AnAction {
     public @NotNull ActionUpdateThread getActionUpdateThread() {
         return ActionUpdateThread.BGT;
     }
+
+    /**
+     * Batch operation that removes logging from every top-level class of each file in the selected scope.
+     */
+    private static class RemoveLoggingOperation implements BatchOperation<List<PsiClass>> {
+
+        @Override
+        public @NotNull String getCommandName() {
+            return "Log4JB: Remove Logging";
+        }
+
+        @Override
+        public boolean isApplicable(@NotNull Project project, @NotNull VirtualFile file) {
+            // Only files that declare a logger field can contain anything to remove.
+            return LoggingIndex.getFileData(project, file) != null;
+        }
+
+        @Override
+        public @Nullable List<PsiClass> analyze(@NotNull PsiJavaFile file) {
+            final List<PsiClass> classes = List.of(file.getClasses());
+            return classes.isEmpty() ? null : classes;
+        }
+
+        @Override
+        public void apply(@NotNull List<PsiClass> classes) {
+            for (PsiClass psiClass : classes) {
+                if (psiClass.isValid()) {
+                    psiClass.accept(new RemoveLoggingVisitor(
+                            Log4jbSettings.getInstance(psiClass.getProject()).getLoggingStrategy()));
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
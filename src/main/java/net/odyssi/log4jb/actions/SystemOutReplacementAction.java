@@ -8,21 +8,29 @@ import com.intellij.openapi.application.ModalityState;
 import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiJavaFile;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.concurrency.AppExecutorUtil;
+import net.odyssi.log4jb.batch.BatchInstrumentationEngine;
+import net.odyssi.log4jb.batch.BatchScope;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.settings.Log4jbSettings;
 import net.odyssi.log4jb.visitors.DeclareLoggerVisitor;
 import net.odyssi.log4jb.visitors.SystemOutReplacementVisitor;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 public class SystemOutReplacementAction extends AnAction {
 
     @Override
     public void update(@NotNull AnActionEvent e) {
-        // This action is enabled if the cursor is inside a Java class.
-        boolean isEnabled = isJavaMethodSelected(e);
+        // This action is enabled if the cursor is inside a Java method, or if a package,
+        // module or the project is selected in the Project view.
+        boolean isEnabled = isJavaMethodSelected(e) || BatchScope.hasSelectedRoots(e);
         e.getPresentation().setEnabledAndVisible(isEnabled);
     }
 
@@ -39,6 +47,15 @@ public class SystemOutReplacementAction extends AnAction {
 
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
+        final List<VirtualFile> roots = BatchScope.getSelectedRoots(e);
+        if (!roots.isEmpty() && e.getProject() != null) {
+            final LoggingStrategy strategy = Log4jbSettings.getInstance(e.getProject()).getLoggingStrategy();
+            final SystemOutReplacementVisitor visitor = new SystemOutReplacementVisitor(strategy);
+            new BatchInstrumentationEngine(e.getProject()).run("Log4JB: Replacing System.out calls", roots,
+                    new ConsoleReplacementOperation("Log4JB: Replace System.out.println()", strategy, visitor::analyze));
+            return;
+        }
+
         final Editor editor = e.getData(CommonDataKeys.EDITOR);
         final PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
         if (editor == null || psiFile == null) {
@@ -52,9 +69,10 @@ public class SystemOutReplacementAction extends AnAction {
                     if (psiMethod != null && psiMethod.getContainingClass() != null) {
                         WriteCommandAction.runWriteCommandAction(psiMethod.getProject(), "Log4JB: Replace System.out.println()", null, () -> {
                             // 1. Ensure the logger is declared.
-                            psiMethod.getContainingClass().accept(new DeclareLoggerVisitor(psiMethod.getContainingClass()));
+                            final LoggingStrategy strategy = Log4jbSettings.getInstance(psiMethod.getProject()).getLoggingStrategy();
+                            psiMethod.getContainingClass().accept(new DeclareLoggerVisitor(psiMethod.getContainingClass(), strategy));
                             // 2. Run the replacement visitor on the current method.
-                            psiMethod.accept(new SystemOutReplacementVisitor());
+                            psiMethod.accept(new SystemOutReplacementVisitor(strategy));
                         });
                     }
                 })
@@ -41,6 +41,7 @@ public class GenericLogFormDialog extends DialogWrapper {
 		this.form = new GenericLogForm();
 
 		this.initTableModels();
+		this.initRateLimitModels();
 		init();
 	}
 
@@ -89,6 +90,11 @@ public class GenericLogFormDialog extends DialogWrapper {
 		this.form.getLocalVariablesTable().getSelectionModel().addListSelectionListener(new GenericLogListSelectionEventListener(this.localVariables, this.selectedLocalVariables));
 	}
 
+	protected void initRateLimitModels() {
+		this.form.getEveryN().setModel(new SpinnerNumberModel(0, 0, Integer.MAX_VALUE, 1));
+		this.form.getAtMostEverySeconds().setModel(new SpinnerNumberModel(0, 0, Integer.MAX_VALUE, 1));
+	}
+
 	/**
 	 * Factory method. It creates panel with dialog options. Options panel is located at the
 	 * center of the dialog's content pane. The implementation can return {@code null}
@@ -110,6 +116,8 @@ public class GenericLogFormDialog extends DialogWrapper {
 		model.setSelectedGlobalVariables(this.selectedGlobalVariables);
 		model.setSelectedLocalVariables(this.selectedLocalVariables);
 		model.setSelectedMethodParameters(this.selectedMethodParameters);
+		model.setEveryN((Integer) this.form.getEveryN().getValue());
+		model.setAtMostEverySeconds((Integer) this.form.getAtMostEverySeconds().getValue());
 
 		return model;
 	}
@@ -0,0 +1,75 @@
+package net.odyssi.log4jb.actions.dialogs;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.util.ui.FormBuilder;
+import net.odyssi.log4jb.settings.Log4jbSettings;
+import net.odyssi.log4jb.visitors.SlowCallThreshold;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * Asks for the threshold of slow-call logging when "Log this method" or "Log this class" instruments in that mode.
+ */
+public class SlowCallThresholdDialog extends DialogWrapper {
+
+	private final JSpinner thresholdMillis;
+
+	private final ComboBox<String> level;
+
+	/**
+	 * @param project  The current project
+	 * @param target   What is instrumented, e.g. {@code "process(String)"} or {@code "MyClass"}
+	 * @param initial  The threshold to start with, usually the last one chosen
+	 */
+	public SlowCallThresholdDialog(@Nullable Project project, String target, SlowCallThreshold initial) {
+		super(project);
+
+		this.thresholdMillis = new JSpinner(new SpinnerNumberModel((int) Math.min(initial.millis(), Integer.MAX_VALUE), 0, Integer.MAX_VALUE, 10));
+		this.level = new ComboBox<>(SlowCallThreshold.LEVELS.toArray(new String[0]));
+		this.level.setSelectedItem(initial.level());
+
+		setTitle("Log slow calls of " + target);
+		init();
+	}
+
+	/**
+	 * Shows the dialog, starting from the threshold last chosen in the project, and remembers the new one.
+	 *
+	 * @param project The current project
+	 * @param target  What is instrumented, e.g. {@code "process(String)"} or {@code "MyClass"}
+	 * @return The chosen threshold, or {@code null} if the dialog was cancelled
+	 */
+	public static @Nullable SlowCallThreshold ask(@NotNull Project project, String target) {
+		final Log4jbSettings settings = Log4jbSettings.getInstance(project);
+		final SlowCallThresholdDialog dialog = new SlowCallThresholdDialog(project, target, settings.getSlowCallThreshold());
+		if (!dialog.showAndGet()) {
+			return null;
+		}
+		settings.setSlowCallThreshold(dialog.getThreshold());
+		return dialog.getThreshold();
+	}
+
+	@Override
+	protected @Nullable JComponent createCenterPanel() {
+		return FormBuilder.createFormBuilder()
+				.addLabeledComponent("Log calls slower than (ms):", this.thresholdMillis)
+				.addLabeledComponent("Log level:", this.level)
+				.getPanel();
+	}
+
+	@Override
+	public @Nullable JComponent getPreferredFocusedComponent() {
+		return this.thresholdMillis;
+	}
+
+	/**
+	 * Returns the threshold entered in the dialog.
+	 */
+	public SlowCallThreshold getThreshold() {
+		return new SlowCallThreshold(((Number) this.thresholdMillis.getValue()).longValue(), (String) this.level.getSelectedItem());
+	}
+}
@@ -10,6 +10,8 @@ public class GenericLogForm {
 	private JTable methodParametersTable;
 	private JTable availableExceptionsTable;
 	private JTable localVariablesTable;
+	private JSpinner everyN;
+	private JSpinner atMostEverySeconds;
 
 	public JTextField getLogMessage() {
 		return logMessage;
@@ -59,6 +61,22 @@ public class GenericLogForm {
 		this.localVariablesTable = localVariablesTable;
 	}
 
+	public JSpinner getEveryN() {
+		return everyN;
+	}
+
+	public void setEveryN(JSpinner everyN) {
+		this.everyN = everyN;
+	}
+
+	public JSpinner getAtMostEverySeconds() {
+		return atMostEverySeconds;
+	}
+
+	public void setAtMostEverySeconds(JSpinner atMostEverySeconds) {
+		this.atMostEverySeconds = atMostEverySeconds;
+	}
+
 	public JPanel getContentPanel() {
 		return contentPanel;
 	}
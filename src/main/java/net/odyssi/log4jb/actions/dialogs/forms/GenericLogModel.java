@@ -19,6 +19,16 @@ public class GenericLogModel {
 
 	private Set<String> selectedLocalVariables = new LinkedHashSet<>();
 
+	/**
+	 * Log only every n-th call; 0 disables the limit. Only used by frameworks with built-in rate limiting.
+	 */
+	private int everyN = 0;
+
+	/**
+	 * Log at most once per this many seconds; 0 disables the limit. Only used by frameworks with built-in rate limiting.
+	 */
+	private int atMostEverySeconds = 0;
+
 	public GenericLogModel() {
 	}
 
@@ -62,6 +72,22 @@ public class GenericLogModel {
 		this.selectedMethodParameters = selectedMethodParameters;
 	}
 
+	public int getEveryN() {
+		return everyN;
+	}
+
+	public void setEveryN(int everyN) {
+		this.everyN = everyN;
+	}
+
+	public int getAtMostEverySeconds() {
+		return atMostEverySeconds;
+	}
+
+	public void setAtMostEverySeconds(int atMostEverySeconds) {
+		this.atMostEverySeconds = atMostEverySeconds;
+	}
+
 	public Set<String> getSelectedLocalVariables() {
 		return selectedLocalVariables;
 	}
@@ -74,12 +100,12 @@ public class GenericLogModel {
 	public boolean equals(Object o) {
 		if (o == null || getClass() != o.getClass()) return false;
 		GenericLogModel that = (GenericLogModel) o;
-		return Objects.equals(logMessage, that.logMessage) && Objects.equals(logLevel, that.logLevel) && Objects.equals(selectedGlobalVariables, that.selectedGlobalVariables) && Objects.equals(selectedMethodParameters, that.selectedMethodParameters) && Objects.equals(selectedLocalVariables, that.selectedLocalVariables);
+		return everyN == that.everyN && atMostEverySeconds == that.atMostEverySeconds && Objects.equals(logMessage, that.logMessage) && Objects.equals(logLevel, that.logLevel) && Objects.equals(selectedGlobalVariables, that.selectedGlobalVariables) && Objects.equals(selectedMethodParameters, that.selectedMethodParameters) && Objects.equals(selectedLocalVariables, that.selectedLocalVariables);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(logMessage, logLevel, selectedGlobalVariables, selectedMethodParameters, selectedLocalVariables);
+		return Objects.hash(logMessage, logLevel, selectedGlobalVariables, selectedMethodParameters, selectedLocalVariables, everyN, atMostEverySeconds);
 	}
 
 	@Override
@@ -90,6 +116,8 @@ public class GenericLogModel {
 				", selectedGlobalVariables=" + selectedGlobalVariables +
 				", selectedMethodParameters=" + selectedMethodParameters +
 				", selectedLocalVariables=" + selectedLocalVariables +
+				", everyN=" + everyN +
+				", atMostEverySeconds=" + atMostEverySeconds +
 				'}';
 	}
 }
@@ -0,0 +1,217 @@
+package net.odyssi.log4jb.batch;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.fileTypes.FileTypeRegistry;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.GeneratedSourcesFilter;
+import com.intellij.openapi.roots.JavaProjectRootsUtil;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a {@link BatchOperation} over every Java source file below a set of roots.
+ * <p>
+ * Files are processed in fixed-size windows. For each window, the analysis phase runs concurrently,
+ * one non-blocking read action per file on a bounded pool owned by the run, and the resulting plans are then
+ * applied in a single write command on the EDT, in file order. Only the {@code PsiFile}s of the
+ * current window are referenced at any time, so memory use stays bounded regardless of the scope
+ * size. Generated sources are skipped, and the task can be cancelled between windows.
+ */
+public class BatchInstrumentationEngine {
+
+    public static final int DEFAULT_WINDOW_SIZE = 25;
+
+    private final Project project;
+    private final int windowSize;
+
+    public BatchInstrumentationEngine(Project project) {
+        this(project, DEFAULT_WINDOW_SIZE);
+    }
+
+    public BatchInstrumentationEngine(Project project, int windowSize) {
+        this.project = project;
+        this.windowSize = Math.max(1, windowSize);
+    }
+
+    /**
+     * Queues a cancellable background task that runs the operation over the Java sources below the given roots.
+     *
+     * @param title     The progress title
+     * @param roots     The directories and/or files selected by the user
+     * @param operation The operation to run
+     */
+    public <T> void run(@NotNull String title, @NotNull Collection<VirtualFile> roots, @NotNull BatchOperation<T> operation) {
+        new Task.Backgroundable(project, title, true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(true);
+                indicator.setText("Collecting Java sources...");
+                final List<VirtualFile> files = ReadAction.compute(() -> collectJavaFiles(roots));
+                process(files, operation, indicator);
+            }
+        }.queue();
+    }
+
+    /**
+     * Processes the files window by window. Must be called from a background thread.
+     * <p>
+     * The analysis pool is created for this run and disposed when it ends (the reads expire with the project,
+     * so closing it ends the run too), so no pool outlives the run. It leaves one core for the EDT and the rest of the IDE.
+     */
+    protected <T> void process(List<VirtualFile> files, BatchOperation<T> operation, ProgressIndicator indicator) {
+        final Disposable runDisposable = Disposer.newDisposable("Log4JB batch run");
+        final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+                "Log4JB Analysis", Math.max(1, Runtime.getRuntime().availableProcessors() - 1), runDisposable);
+        try {
+            process(files, operation, indicator, executor);
+        } finally {
+            Disposer.dispose(runDisposable);
+        }
+    }
+
+    private <T> void process(List<VirtualFile> files, BatchOperation<T> operation, ProgressIndicator indicator,
+                             ExecutorService executor) {
+        indicator.setIndeterminate(false);
+        final String groupId = operation.getCommandName() + "@" + System.identityHashCode(files);
+
+        for (int start = 0; start < files.size(); start += windowSize) {
+            indicator.checkCanceled();
+
+            final List<VirtualFile> window = files.subList(start, Math.min(start + windowSize, files.size()));
+            indicator.setFraction((double) start / files.size());
+            indicator.setText(String.format("%s (%d/%d)", operation.getCommandName(), start, files.size()));
+            indicator.setText2(window.get(0).getPresentableUrl());
+
+            final List<T> plans = analyzeWindowInParallel(window, operation, indicator, executor);
+
+            if (!plans.isEmpty()) {
+                ApplicationManager.getApplication().invokeAndWait(() ->
+                        applyWindow(plans, operation, groupId), ModalityState.defaultModalityState());
+            }
+        }
+        indicator.setFraction(1.0);
+    }
+
+    /**
+     * Runs the analysis phase for one window of files concurrently, one non-blocking read action per file.
+     * Must be called from a background thread; blocks until every file of the window has been analyzed.
+     *
+     * @param executor The run's bounded analysis pool
+     * @return The plans, in the order of the files in the window
+     */
+    protected <T> List<T> analyzeWindowInParallel(List<VirtualFile> window, BatchOperation<T> operation,
+                                                  ProgressIndicator indicator, ExecutorService executor) {
+        final List<Future<T>> futures = new ArrayList<>(window.size());
+        for (VirtualFile file : window) {
+            futures.add(ReadAction.nonBlocking(() -> analyzeFile(file, operation))
+                    .inSmartMode(project)
+                    .wrapProgress(indicator)
+                    .expireWith(project)
+                    .submit(executor));
+        }
+
+        final List<T> plans = new ArrayList<>();
+        try {
+            for (Future<T> future : futures) {
+                final T plan = future.get();
+                if (plan != null) {
+                    plans.add(plan);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProcessCanceledException(ex);
+        } catch (ExecutionException | CancellationException ex) {
+            futures.forEach(future -> future.cancel(true));
+            indicator.checkCanceled();
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ProcessCanceledException(ex);
+        }
+        return plans;
+    }
+
+    /**
+     * Runs the analysis phase for a single file. Must be called inside a read action.
+     *
+     * @return The plan, or {@code null} if the file is not applicable or there is nothing to do
+     */
+    @Nullable
+    protected <T> T analyzeFile(VirtualFile file, BatchOperation<T> operation) {
+        if (!file.isValid() || !operation.isApplicable(project, file)) {
+            return null;
+        }
+        final PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        return psiFile instanceof PsiJavaFile javaFile ? operation.analyze(javaFile) : null;
+    }
+
+    /**
+     * Runs the apply phase for one window of plans in a single write command.
+     */
+    protected <T> void applyWindow(List<T> plans, BatchOperation<T> operation, String groupId) {
+        if (project.isDisposed()) {
+            return;
+        }
+        WriteCommandAction.runWriteCommandAction(project, operation.getCommandName(), groupId, () -> {
+            for (T plan : plans) {
+                operation.apply(plan);
+            }
+        });
+    }
+
+    /**
+     * Collects all non-generated Java source files below the given roots. Must be called inside a read action.
+     *
+     * @param roots The directories and/or files to search
+     * @return The Java source files, in traversal order and without duplicates
+     */
+    public List<VirtualFile> collectJavaFiles(Collection<VirtualFile> roots) {
+        final ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        final FileTypeRegistry fileTypeRegistry = FileTypeRegistry.getInstance();
+        final Set<VirtualFile> files = new LinkedHashSet<>();
+
+        for (VirtualFile root : roots) {
+            fileIndex.iterateContentUnderDirectory(root, file -> {
+                if (!file.isDirectory()
+                        && fileTypeRegistry.isFileOfType(file, JavaFileType.INSTANCE)
+                        && fileIndex.isInSourceContent(file)
+                        && !isGenerated(file)) {
+                    files.add(file);
+                }
+                return true;
+            });
+        }
+        return new ArrayList<>(files);
+    }
+
+    private boolean isGenerated(VirtualFile file) {
+        return GeneratedSourcesFilter.isGeneratedSourceByAnyFilter(file, project)
+                || JavaProjectRootsUtil.isInGeneratedCode(file, project);
+    }
+}
@@ -0,0 +1,56 @@
+package net.odyssi.log4jb.batch;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiJavaFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A two-phase operation run by the {@link BatchInstrumentationEngine} over many files.
+ * <p>
+ * The analysis phase runs inside a non-blocking read action on a background thread and
+ * collects everything the operation needs into a plan. Several files are analyzed concurrently,
+ * so the analysis must not rely on mutable state shared between calls. The apply phase runs later inside a
+ * write command on the EDT and performs the actual PSI modifications.
+ *
+ * @param <T> The type of the plan produced by the analysis phase
+ */
+public interface BatchOperation<T> {
+
+    /**
+     * Returns the name of the undoable command registered for each write chunk.
+     */
+    @NotNull
+    String getCommandName();
+
+    /**
+     * Returns whether the file needs to be analyzed at all. Called in smart mode inside a read action, before
+     * the file is parsed, so implementations can consult indices to skip files cheaply.
+     *
+     * @param project The project
+     * @param file    The candidate file
+     * @return true if {@link #analyze(PsiJavaFile)} should be called for this file
+     */
+    default boolean isApplicable(@NotNull Project project, @NotNull VirtualFile file) {
+        return true;
+    }
+
+    /**
+     * Analyzes a single file. Called inside a read action, possibly concurrently for different files;
+     * must not modify the PSI.
+     *
+     * @param file The file to analyze
+     * @return The plan to apply, or {@code null} if there is nothing to do for this file
+     */
+    @Nullable
+    T analyze(@NotNull PsiJavaFile file);
+
+    /**
+     * Applies a plan previously produced by {@link #analyze(PsiJavaFile)}.
+     * Called inside a write command on the EDT.
+     *
+     * @param plan The plan to apply
+     */
+    void apply(@NotNull T plan);
+}
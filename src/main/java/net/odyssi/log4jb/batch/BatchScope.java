@@ -0,0 +1,73 @@
+package net.odyssi.log4jb.batch;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resolves the package, module or project scope selected in the Project view into a set of root files.
+ */
+public final class BatchScope {
+
+    private BatchScope() {
+        // Utility class
+    }
+
+    /**
+     * Returns the roots selected in the Project view, or an empty list if the event does not carry a
+     * package, module, directory or project selection (e.g., it was fired from an editor).
+     *
+     * @param e The action event
+     * @return The selected roots
+     */
+    @NotNull
+    public static List<VirtualFile> getSelectedRoots(@NotNull AnActionEvent e) {
+        final Project project = e.getProject();
+        if (project == null || e.getData(CommonDataKeys.EDITOR) != null) {
+            return List.of();
+        }
+
+        final VirtualFile projectDir = ProjectUtil.guessProjectDir(project);
+        final Set<VirtualFile> roots = new LinkedHashSet<>();
+
+        final Module[] modules = e.getData(LangDataKeys.MODULE_CONTEXT_ARRAY);
+        if (modules != null) {
+            for (Module module : modules) {
+                roots.addAll(Arrays.asList(ModuleRootManager.getInstance(module).getSourceRoots()));
+            }
+        }
+
+        final VirtualFile[] files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (files != null) {
+            for (VirtualFile file : files) {
+                if (file.equals(projectDir)) {
+                    // The project node itself is selected: use all source roots of the project.
+                    roots.addAll(Arrays.asList(ProjectRootManager.getInstance(project).getContentSourceRoots()));
+                } else if (file.isDirectory()) {
+                    roots.add(file);
+                }
+            }
+        }
+
+        return List.copyOf(roots);
+    }
+
+    /**
+     * Returns whether the event carries a Project view selection that can be processed in batch.
+     */
+    public static boolean hasSelectedRoots(@NotNull AnActionEvent e) {
+        return !getSelectedRoots(e).isEmpty();
+    }
+}
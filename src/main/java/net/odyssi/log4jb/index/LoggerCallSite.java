@@ -0,0 +1,31 @@
+package net.odyssi.log4jb.index;
+
+import net.odyssi.log4jb.util.GeneratedLogMessages;
+
+/**
+ * A single logger call recorded by the {@link LoggingIndex}.
+ *
+ * @param loggerName      The name of the logger field the call is made on
+ * @param level           The log level, i.e. the name of the called method (e.g., "debug", "error")
+ * @param messageTemplate The literal message passed as the first argument, or an empty string if it is not a literal
+ * @param methodSignature The signature of the innermost enclosing method, as built by
+ *                        {@link net.odyssi.log4jb.util.MethodSignatureBuilder}, or an empty string outside methods
+ * @param generated       Whether the call looks like it was generated by Log4JB
+ * @param offset          The start offset of the call in the file
+ */
+public record LoggerCallSite(String loggerName, String level, String messageTemplate, String methodSignature,
+                             boolean generated, int offset) {
+
+    /**
+     * Returns whether the call was generated and its message carries a signature prefix that no longer matches the
+     * enclosing method, i.e. whether "Reapply logging" would update this call. Hand-written messages that merely
+     * contain the separator are never stale.
+     */
+    public boolean isStale() {
+        final int separatorIndex = messageTemplate.indexOf(GeneratedLogMessages.SEPARATOR);
+        return generated
+                && separatorIndex != -1
+                && !methodSignature.isEmpty()
+                && !messageTemplate.substring(0, separatorIndex).equals(methodSignature);
+    }
+}
@@ -0,0 +1,26 @@
+package net.odyssi.log4jb.index;
+
+import java.util.List;
+
+/**
+ * The per-file value stored in the {@link LoggingIndex}.
+ *
+ * @param loggerFields The names of all logger fields declared in the file
+ * @param callSites    All logger calls made on those fields, in file order
+ */
+public record LoggingFileData(List<String> loggerFields, List<LoggerCallSite> callSites) {
+
+    /**
+     * Returns whether any call in the file was generated by Log4JB.
+     */
+    public boolean hasGeneratedCalls() {
+        return callSites.stream().anyMatch(LoggerCallSite::generated);
+    }
+
+    /**
+     * Returns whether any call in the file has a stale method signature in its message.
+     */
+    public boolean hasStaleCalls() {
+        return callSites.stream().anyMatch(LoggerCallSite::isStale);
+    }
+}
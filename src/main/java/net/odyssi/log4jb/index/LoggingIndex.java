@@ -0,0 +1,231 @@
+package net.odyssi.log4jb.index;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import net.odyssi.log4jb.util.GeneratedLogMessages;
+import net.odyssi.log4jb.util.GeneratedLogStatements;
+import net.odyssi.log4jb.util.MethodSignatureBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A file-based index of logger fields and logger calls.
+ * <p>
+ * For each Java file that declares a logger field, the index stores a single {@link LoggingFileData} entry under
+ * {@link #KEY}, describing every logger field and every call made on one of them: its level, literal message,
+ * enclosing method signature, and whether it was generated by Log4JB. Calls are recognised in the shapes of every
+ * supported framework (see {@link GeneratedLogStatements#isLogCall}), including fluent chains and loggers declared
+ * in a lazy holder class. The platform keeps the index up to date
+ * incrementally as files change, so project-wide operations can find the files they need to touch without
+ * parsing every file in the scope.
+ * <p>
+ * The indexer works purely syntactically and never resolves references, as required for file-based indices.
+ */
+public class LoggingIndex extends FileBasedIndexExtension<String, LoggingFileData> {
+
+    public static final ID<String, LoggingFileData> NAME = ID.create("net.odyssi.log4jb.LoggingIndex");
+
+    /**
+     * The single key under which each file's data is stored.
+     */
+    public static final String KEY = "logging";
+
+    private static final Set<String> LOGGER_TYPE_NAMES = Set.of("Logger", "FluentLogger");
+
+    @Override
+    public @NotNull ID<String, LoggingFileData> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, LoggingFileData, FileContent> getIndexer() {
+        return inputData -> {
+            // Cheap pre-filter: a file without the word "Logger" cannot declare a logger field.
+            if (!inputData.getContentAsText().toString().contains("Logger")) {
+                return Collections.emptyMap();
+            }
+            final PsiFile psiFile = inputData.getPsiFile();
+            if (!(psiFile instanceof PsiJavaFile)) {
+                return Collections.emptyMap();
+            }
+            final LoggingFileData data = collect(psiFile);
+            return data.loggerFields().isEmpty() ? Collections.emptyMap() : Map.of(KEY, data);
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<LoggingFileData> getValueExternalizer() {
+        return new LoggingFileDataExternalizer();
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Returns all files in the scope that declare a logger field. Requires smart mode.
+     */
+    public static Collection<VirtualFile> getFilesWithLogging(@NotNull Project project, @NotNull GlobalSearchScope scope) {
+        return FileBasedIndex.getInstance().getContainingFiles(NAME, KEY, scope);
+    }
+
+    /**
+     * Returns the indexed logging data of a file, or {@code null} if the file declares no logger field.
+     * Requires smart mode.
+     */
+    public static @Nullable LoggingFileData getFileData(@NotNull Project project, @NotNull VirtualFile file) {
+        return FileBasedIndex.getInstance().getFileData(NAME, file, project).get(KEY);
+    }
+
+    /**
+     * Collects the logger fields and calls of a file without resolving any references.
+     */
+    static LoggingFileData collect(PsiFile psiFile) {
+        final List<String> loggerFields = new ArrayList<>();
+        psiFile.accept(new JavaRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitField(@NotNull PsiField field) {
+                super.visitField(field);
+                final PsiTypeElement typeElement = field.getTypeElement();
+                if (typeElement != null && LOGGER_TYPE_NAMES.contains(simpleName(typeElement.getText()))) {
+                    loggerFields.add(field.getName());
+                }
+            }
+        });
+        if (loggerFields.isEmpty()) {
+            return new LoggingFileData(List.of(), List.of());
+        }
+
+        final List<LoggerCallSite> callSites = new ArrayList<>();
+        psiFile.accept(new JavaRecursiveElementWalkingVisitor() {
+            private final Deque<String> signatures = new ArrayDeque<>();
+
+            @Override
+            public void visitMethod(@NotNull PsiMethod method) {
+                signatures.push(MethodSignatureBuilder.build(method));
+                super.visitMethod(method);
+                signatures.pop();
+            }
+
+            @Override
+            public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
+                super.visitMethodCallExpression(expression);
+
+                final String loggerName = GeneratedLogStatements.getLoggerName(expression);
+                if (!loggerFields.contains(loggerName) || !GeneratedLogStatements.isLogCall(expression, loggerName)) {
+                    return;
+                }
+
+                final String message = getMessage(expression);
+                final String signature = signatures.isEmpty() ? "" : signatures.peek();
+
+                callSites.add(new LoggerCallSite(loggerName, GeneratedLogStatements.getLevel(expression), message, signature,
+                        GeneratedLogMessages.isGenerated(message, signature),
+                        expression.getTextRange().getStartOffset()));
+            }
+        });
+        return new LoggingFileData(List.copyOf(loggerFields), List.copyOf(callSites));
+    }
+
+    /**
+     * Returns the literal message of a log call or, for frameworks without parameterized messages, the leading
+     * literal of its string concatenation (e.g. {@code "process(String) - name="} for
+     * {@code logger.fine(() -> "process(String) - name=" + name)}), or an empty string if there is none.
+     */
+    private static String getMessage(PsiMethodCallExpression call) {
+        final String message = GeneratedLogStatements.getMessage(call);
+        if (message != null) {
+            return message;
+        }
+        for (PsiExpression argument : call.getArgumentList().getExpressions()) {
+            final PsiExpression candidate = argument instanceof PsiLambdaExpression lambda
+                    && lambda.getBody() instanceof PsiExpression body ? body : argument;
+            if (candidate instanceof PsiPolyadicExpression concatenation
+                    && concatenation.getOperands()[0] instanceof PsiLiteralExpression literal
+                    && literal.getValue() instanceof String value) {
+                return value;
+            }
+        }
+        return "";
+    }
+
+    private static String simpleName(String typeText) {
+        final int genericIndex = typeText.indexOf('<');
+        final String rawType = genericIndex == -1 ? typeText : typeText.substring(0, genericIndex);
+        return rawType.substring(rawType.lastIndexOf('.') + 1).trim();
+    }
+
+    /**
+     * Serializes {@link LoggingFileData} values for the index storage.
+     */
+    private static class LoggingFileDataExternalizer implements DataExternalizer<LoggingFileData> {
+
+        @Override
+        public void save(@NotNull DataOutput out, LoggingFileData value) throws IOException {
+            DataInputOutputUtil.writeINT(out, value.loggerFields().size());
+            for (String loggerField : value.loggerFields()) {
+                IOUtil.writeUTF(out, loggerField);
+            }
+            DataInputOutputUtil.writeINT(out, value.callSites().size());
+            for (LoggerCallSite callSite : value.callSites()) {
+                IOUtil.writeUTF(out, callSite.loggerName());
+                IOUtil.writeUTF(out, callSite.level());
+                IOUtil.writeUTF(out, callSite.messageTemplate());
+                IOUtil.writeUTF(out, callSite.methodSignature());
+                out.writeBoolean(callSite.generated());
+                DataInputOutputUtil.writeINT(out, callSite.offset());
+            }
+        }
+
+        @Override
+        public LoggingFileData read(@NotNull DataInput in) throws IOException {
+            final int fieldCount = DataInputOutputUtil.readINT(in);
+            final List<String> loggerFields = new ArrayList<>(fieldCount);
+            for (int i = 0; i < fieldCount; i++) {
+                loggerFields.add(IOUtil.readUTF(in));
+            }
+            final int callCount = DataInputOutputUtil.readINT(in);
+            final List<LoggerCallSite> callSites = new ArrayList<>(callCount);
+            for (int i = 0; i < callCount; i++) {
+                callSites.add(new LoggerCallSite(
+                        IOUtil.readUTF(in),
+                        IOUtil.readUTF(in),
+                        IOUtil.readUTF(in),
+                        IOUtil.readUTF(in),
+                        in.readBoolean(),
+                        DataInputOutputUtil.readINT(in)));
+            }
+            return new LoggingFileData(loggerFields, callSites);
+        }
+    }
+}
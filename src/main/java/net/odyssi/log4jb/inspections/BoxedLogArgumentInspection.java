@@ -0,0 +1,82 @@
+package net.odyssi.log4jb.inspections;
+
+import com.intellij.codeInspection.AbstractBaseJavaLocalInspectionTool;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * Reports primitive arguments passed to parameterized logger calls, which are boxed on every call.
+ * <p>
+ * With Log4j 2's garbage-free mode, boxing is often the last source of steady-state allocation from logging.
+ * For Log4j 2 loggers, the quick-fix wraps the argument in {@code Unbox.box()}, which reuses a thread-local
+ * ring buffer instead of allocating.
+ */
+public class BoxedLogArgumentInspection extends AbstractBaseJavaLocalInspectionTool {
+
+    private static final String LOG4J2_LOGGER = "org.apache.logging.log4j.Logger";
+    private static final String UNBOX = "org.apache.logging.log4j.util.Unbox";
+    private static final Set<String> LOGGER_TYPES = Set.of(LOG4J2_LOGGER, "org.slf4j.Logger");
+    private static final Set<String> LOG_METHODS = Set.of("trace", "debug", "info", "warn", "error", "fatal");
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        return new JavaElementVisitor() {
+            @Override
+            public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
+                super.visitMethodCallExpression(expression);
+
+                final PsiReferenceExpression methodExpression = expression.getMethodExpression();
+                if (!LOG_METHODS.contains(methodExpression.getReferenceName())) {
+                    return;
+                }
+                final PsiExpression qualifier = methodExpression.getQualifierExpression();
+                final PsiType loggerType = qualifier == null ? null : qualifier.getType();
+                if (loggerType == null || !LOGGER_TYPES.contains(loggerType.getCanonicalText())) {
+                    return;
+                }
+
+                final PsiExpression[] arguments = expression.getArgumentList().getExpressions();
+                final PsiType messageType = arguments.length < 2 ? null : arguments[0].getType();
+                if (messageType == null || !messageType.equalsToText(CommonClassNames.JAVA_LANG_STRING)) {
+                    return;
+                }
+                final LocalQuickFix[] fixes = LOG4J2_LOGGER.equals(loggerType.getCanonicalText())
+                        ? new LocalQuickFix[]{new UnboxFix()}
+                        : LocalQuickFix.EMPTY_ARRAY;
+                for (int i = 1; i < arguments.length; i++) {
+                    if (arguments[i].getType() instanceof PsiPrimitiveType) {
+                        holder.registerProblem(arguments[i], "Primitive log argument <code>#ref</code> is boxed on every call #loc", fixes);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Wraps a primitive argument of a Log4j 2 call in {@code Unbox.box()}.
+     */
+    private static class UnboxFix implements LocalQuickFix {
+
+        @Override
+        public @NotNull String getFamilyName() {
+            return "Wrap in Unbox.box()";
+        }
+
+        @Override
+        public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+            if (!(descriptor.getPsiElement() instanceof PsiExpression argument)) {
+                return;
+            }
+            final PsiElementFactory factory = JavaPsiFacade.getElementFactory(project);
+            final PsiExpression boxed = factory.createExpressionFromText(UNBOX + ".box(" + argument.getText() + ")", argument);
+            JavaCodeStyleManager.getInstance(project).shortenClassReferences(argument.replace(boxed));
+        }
+    }
+}
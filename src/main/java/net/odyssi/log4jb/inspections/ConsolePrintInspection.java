@@ -0,0 +1,67 @@
+package net.odyssi.log4jb.inspections;
+
+import com.intellij.codeInspection.AbstractBaseJavaLocalInspectionTool;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.JavaElementVisitor;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiMethodCallExpression;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.plan.StatementReplacement;
+import net.odyssi.log4jb.util.ConsolePrintCalls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Base class for inspections that report console printing which should go through the logger instead.
+ * <p>
+ * Console writes are synchronous and unbuffered, so they are reported continuously by the daemon rather than
+ * only fixed on demand. Each problem carries a {@link ReplaceWithLoggerQuickFix} when the call can be rewritten,
+ * which the platform also offers as "Fix all in file" and when running the inspection over the whole project.
+ * The daemon pass only does the cheap syntactic checks; the replacement statement is built by the fix.
+ */
+public abstract class ConsolePrintInspection extends AbstractBaseJavaLocalInspectionTool {
+
+    /**
+     * Returns the problem description for a reported call.
+     */
+    protected abstract @NotNull String getDescription(@NotNull PsiMethodCallExpression call);
+
+    /**
+     * Returns whether the call is reported by this inspection.
+     */
+    protected abstract boolean isReported(@NotNull PsiMethodCallExpression call);
+
+    /**
+     * Returns whether a reported call has a shape the fix can rewrite. Runs on every daemon pass, so it must not
+     * build the replacement.
+     */
+    protected boolean isReplaceable(@NotNull PsiMethodCallExpression call) {
+        return ConsolePrintCalls.isReplaceable(call);
+    }
+
+    /**
+     * Computes the replacement log statement for a reported call. Only called when the fix is applied.
+     *
+     * @return The replacement, or {@code null} if the call cannot be rewritten automatically
+     */
+    protected abstract @Nullable StatementReplacement createReplacement(@NotNull PsiMethodCallExpression call,
+                                                                        @NotNull LoggingStrategy strategy);
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        return new JavaElementVisitor() {
+            @Override
+            public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
+                super.visitMethodCallExpression(expression);
+                if (!isReported(expression)) {
+                    return;
+                }
+                final LocalQuickFix[] fixes = !isReplaceable(expression)
+                        ? LocalQuickFix.EMPTY_ARRAY
+                        : new LocalQuickFix[]{new ReplaceWithLoggerQuickFix(ConsolePrintInspection.this::createReplacement)};
+                holder.registerProblem(expression, getDescription(expression), fixes);
+            }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package net.odyssi.log4jb.inspections;
+
+import com.intellij.codeInspection.AbstractBaseJavaLocalInspectionTool;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+import net.odyssi.log4jb.settings.Log4jbSettings;
+import net.odyssi.log4jb.util.ConstantGuards;
+import net.odyssi.log4jb.util.GeneratedLogStatements;
+import net.odyssi.log4jb.util.LogDeferral;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports level guards around log statements whose arguments are all cheap to evaluate, such as
+ * {@code if(logger.isDebugEnabled()) { logger.debug("doWork() - start"); }}.
+ * <p>
+ * The logger checks the level inside the call anyway, so such a guard only adds bytecode to the method, which
+ * counts against the JIT's inlining budget. The argument cost is judged with the same {@link LogDeferral} model
+ * used when generating statements. The quick-fix unwraps the statement, keeping any constant-guard flag; like every
+ * inspection fix, it can be applied to the whole project by running the inspection by name.
+ */
+public class RedundantLogGuardInspection extends AbstractBaseJavaLocalInspectionTool {
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        final String loggerName = Log4jbSettings.getInstance(holder.getProject()).getLoggingStrategy().getLoggerFieldName();
+        return new JavaElementVisitor() {
+            @Override
+            public void visitIfStatement(@NotNull PsiIfStatement statement) {
+                super.visitIfStatement(statement);
+
+                final PsiMethodCallExpression call = GeneratedLogStatements.getLoggerCall(statement, loggerName);
+                if (call == null || getLevelChecks(statement.getCondition(), loggerName).isEmpty()) {
+                    return;
+                }
+                final List<String> arguments = new ArrayList<>();
+                for (PsiExpression argument : call.getArgumentList().getExpressions()) {
+                    arguments.add(argument.getText());
+                }
+                if (LogDeferral.choose(arguments, false) == LogDeferral.NONE) {
+                    holder.registerProblem(statement.getFirstChild(),
+                            "Log guard is redundant: the arguments are cheap to evaluate #loc", new RemoveGuardFix(loggerName));
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the operands of the guard condition that check the level on the logger, as opposed to constant-guard
+     * flags. Empty if the condition is not a log guard.
+     */
+    private static List<PsiExpression> getLevelChecks(@Nullable PsiExpression condition, String loggerName) {
+        final List<PsiExpression> operands = new ArrayList<>();
+        if (condition instanceof PsiPolyadicExpression polyadic && JavaTokenType.ANDAND.equals(polyadic.getOperationTokenType())) {
+            operands.addAll(List.of(polyadic.getOperands()));
+        } else if (condition != null) {
+            operands.add(condition);
+        }
+
+        final List<PsiExpression> levelChecks = new ArrayList<>();
+        for (PsiExpression operand : operands) {
+            if (isLevelCheck(operand, loggerName)) {
+                levelChecks.add(operand);
+            } else if (!ConstantGuards.isFlagReference(operand)) {
+                return List.of();
+            }
+        }
+        return levelChecks;
+    }
+
+    private static boolean isLevelCheck(PsiExpression expression, String loggerName) {
+        if (!(expression instanceof PsiMethodCallExpression call) || !GeneratedLogStatements.isLoggerCall(call, loggerName)) {
+            return false;
+        }
+        final String name = call.getMethodExpression().getReferenceName();
+        return name != null && (name.equals("isLoggable") || name.equals("isEnabled")
+                || (name.startsWith("is") && name.endsWith("Enabled")));
+    }
+
+    /**
+     * Removes the level check from the guard: unwraps the log statement, or keeps the {@code if} on the remaining
+     * constant-guard flags.
+     */
+    private static class RemoveGuardFix implements LocalQuickFix {
+
+        private final String loggerName;
+
+        RemoveGuardFix(String loggerName) {
+            this.loggerName = loggerName;
+        }
+
+        @Override
+        public @NotNull String getFamilyName() {
+            return "Remove redundant log guard";
+        }
+
+        @Override
+        public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+            if (!(descriptor.getPsiElement().getParent() instanceof PsiIfStatement statement)) {
+                return;
+            }
+            final PsiExpression condition = statement.getCondition();
+            final PsiMethodCallExpression call = GeneratedLogStatements.getLoggerCall(statement, loggerName);
+            final List<PsiExpression> levelChecks = getLevelChecks(condition, loggerName);
+            if (condition == null || call == null || levelChecks.isEmpty()) {
+                return;
+            }
+
+            final List<String> flags = new ArrayList<>();
+            if (condition instanceof PsiPolyadicExpression polyadic) {
+                for (PsiExpression operand : polyadic.getOperands()) {
+                    if (!levelChecks.contains(operand)) {
+                        flags.add(operand.getText());
+                    }
+                }
+            }
+            if (flags.isEmpty()) {
+                statement.replace(call.getParent());
+            } else {
+                final PsiElementFactory factory = JavaPsiFacade.getElementFactory(project);
+                condition.replace(factory.createExpressionFromText(String.join(" && ", flags), condition));
+            }
+        }
+    }
+}
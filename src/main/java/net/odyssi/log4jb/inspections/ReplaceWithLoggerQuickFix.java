@@ -0,0 +1,52 @@
+package net.odyssi.log4jb.inspections;
+
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.util.PsiTreeUtil;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.plan.ReplacementPlan;
+import net.odyssi.log4jb.plan.StatementReplacement;
+import net.odyssi.log4jb.settings.Log4jbSettings;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Replaces a reported console print call with a log statement, declaring the logger in the top-level class
+ * if it does not have one yet.
+ * <p>
+ * All fixes share one family name, so "Fix all in file" and the project-wide inspection run apply every
+ * replacement in a single command; the logger is only declared by the first of them.
+ */
+public class ReplaceWithLoggerQuickFix implements LocalQuickFix {
+
+    private final BiFunction<PsiMethodCallExpression, LoggingStrategy, StatementReplacement> replacer;
+
+    public ReplaceWithLoggerQuickFix(BiFunction<PsiMethodCallExpression, LoggingStrategy, StatementReplacement> replacer) {
+        this.replacer = replacer;
+    }
+
+    @Override
+    public @NotNull String getFamilyName() {
+        return "Replace with logger call";
+    }
+
+    @Override
+    public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+        if (!(descriptor.getPsiElement() instanceof PsiMethodCallExpression call)) {
+            return;
+        }
+
+        final LoggingStrategy strategy = Log4jbSettings.getInstance(project).getLoggingStrategy();
+        final StatementReplacement replacement = replacer.apply(call, strategy);
+        if (replacement == null) {
+            return;
+        }
+        final PsiClass topLevelClass = PsiTreeUtil.getTopmostParentOfType(call, PsiClass.class);
+        new ReplacementPlan(topLevelClass == null ? List.of() : List.of(topLevelClass), strategy, List.of(replacement)).apply();
+    }
+}
@@ -0,0 +1,60 @@
+package net.odyssi.log4jb.inspections;
+
+import com.intellij.codeInspection.AbstractBaseJavaLocalInspectionTool;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.settings.Log4jbSettings;
+import net.odyssi.log4jb.util.LoggerFields;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reports log statements in static initializers.
+ * <p>
+ * A static initializer runs while the class is loaded, so logging there looks up the logger and, for the first
+ * class to do so, initializes the whole logging framework on the startup path. This defeats lazy logger
+ * declaration and adds to the start-up time of CLI tools and serverless functions. Calls inside lambdas and
+ * nested classes are not reported, since they do not run as part of the initializer.
+ */
+public class StaticInitializerLoggingInspection extends AbstractBaseJavaLocalInspectionTool {
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        // The plain framework strategy: loggers are recognised whether or not they are declared lazily.
+        final LoggingStrategy strategy = Log4jbSettings.getInstance(holder.getProject()).getLoggingFramework().createStrategy();
+        return new JavaElementVisitor() {
+            @Override
+            public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
+                super.visitMethodCallExpression(expression);
+
+                if (!(expression.getParent() instanceof PsiExpressionStatement) || !isInStaticInitializer(expression)) {
+                    return;
+                }
+                if (isLoggerCall(expression, strategy)) {
+                    holder.registerProblem(expression,
+                            "Logging in a static initializer initializes the logger during class loading #loc");
+                }
+            }
+        };
+    }
+
+    private static boolean isInStaticInitializer(PsiElement element) {
+        final PsiElement scope = PsiTreeUtil.getParentOfType(element,
+                PsiClassInitializer.class, PsiMethod.class, PsiLambdaExpression.class, PsiClass.class);
+        return scope instanceof PsiClassInitializer initializer && initializer.hasModifierProperty(PsiModifier.STATIC);
+    }
+
+    /**
+     * Returns whether the call chain starts at a logger field of the strategy.
+     */
+    private static boolean isLoggerCall(PsiMethodCallExpression call, LoggingStrategy strategy) {
+        PsiExpression qualifier = call.getMethodExpression().getQualifierExpression();
+        while (qualifier instanceof PsiMethodCallExpression qualifierCall) {
+            qualifier = qualifierCall.getMethodExpression().getQualifierExpression();
+        }
+        return qualifier instanceof PsiReferenceExpression reference
+                && reference.resolve() instanceof PsiField field
+                && LoggerFields.isLoggerField(field, strategy);
+    }
+}
@@ -0,0 +1,35 @@
+package net.odyssi.log4jb.inspections;
+
+import com.intellij.psi.PsiMethodCallExpression;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.plan.StatementReplacement;
+import net.odyssi.log4jb.util.ConsolePrintCalls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reports {@code System.err.print()} / {@code System.err.println()} and {@code Throwable.printStackTrace()}
+ * calls and replaces them with error-level log statements.
+ */
+public class SystemErrPrintInspection extends ConsolePrintInspection {
+
+    @Override
+    protected @NotNull String getDescription(@NotNull PsiMethodCallExpression call) {
+        return ConsolePrintCalls.isPrintStackTraceCall(call)
+                ? "<code>#ref</code> prints the stack trace to the console instead of logging it #loc"
+                : "<code>#ref</code> writes to the console instead of the logger #loc";
+    }
+
+    @Override
+    protected boolean isReported(@NotNull PsiMethodCallExpression call) {
+        return ConsolePrintCalls.isPrintCall(call, ConsolePrintCalls.SYSTEM_ERR) || ConsolePrintCalls.isPrintStackTraceCall(call);
+    }
+
+    @Override
+    protected @Nullable StatementReplacement createReplacement(@NotNull PsiMethodCallExpression call,
+                                                               @NotNull LoggingStrategy strategy) {
+        return ConsolePrintCalls.isPrintStackTraceCall(call)
+                ? ConsolePrintCalls.createStackTraceReplacement(call, strategy, LoggingStrategy::getErrorStatement)
+                : ConsolePrintCalls.createReplacement(call, ConsolePrintCalls.SYSTEM_ERR, strategy, LoggingStrategy::getErrorStatement);
+    }
+}
@@ -0,0 +1,31 @@
+package net.odyssi.log4jb.inspections;
+
+import com.intellij.psi.PsiMethodCallExpression;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.plan.StatementReplacement;
+import net.odyssi.log4jb.util.ConsolePrintCalls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reports {@code System.out.print()} / {@code System.out.println()} calls and replaces them with guarded
+ * debug-level log statements.
+ */
+public class SystemOutPrintInspection extends ConsolePrintInspection {
+
+    @Override
+    protected @NotNull String getDescription(@NotNull PsiMethodCallExpression call) {
+        return "<code>#ref</code> writes to the console instead of the logger #loc";
+    }
+
+    @Override
+    protected boolean isReported(@NotNull PsiMethodCallExpression call) {
+        return ConsolePrintCalls.isPrintCall(call, ConsolePrintCalls.SYSTEM_OUT);
+    }
+
+    @Override
+    protected @Nullable StatementReplacement createReplacement(@NotNull PsiMethodCallExpression call,
+                                                               @NotNull LoggingStrategy strategy) {
+        return ConsolePrintCalls.createReplacement(call, ConsolePrintCalls.SYSTEM_OUT, strategy, LoggingStrategy::getGuardedDebugStatement);
+    }
+}
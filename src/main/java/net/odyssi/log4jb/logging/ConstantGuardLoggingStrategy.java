@@ -0,0 +1,115 @@
+package net.odyssi.log4jb.logging;
+
+import net.odyssi.log4jb.util.ConstantGuards;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link LoggingStrategy} decorator that additionally guards trace- and debug-level statements with a per-class
+ * compile-time constant, such as {@code if(LOG4JB_DEBUG && logger.isDebugEnabled()) { ... }}.
+ * <p>
+ * The constant is a {@code private static final boolean} field initialized from the shared {@code Log4jbFlags}
+ * class (see {@link ConstantGuards}). While the flag is {@code false}, javac drops the whole statement, so
+ * production builds carry no trace of it; development builds flip the flag. Statements the wrapped strategy already
+ * guards get the flag added to their condition; all others are wrapped in a new {@code if}.
+ */
+public class ConstantGuardLoggingStrategy implements LoggingStrategy {
+
+    private static final List<String> GUARDED_LEVELS = List.of("trace", "debug");
+
+    private final LoggingStrategy delegate;
+
+    public ConstantGuardLoggingStrategy(LoggingStrategy delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the levels whose statements are guarded by a constant.
+     */
+    public List<String> getGuardedLevels() {
+        return GUARDED_LEVELS;
+    }
+
+    @Override
+    public String getLoggerFieldDeclaration(String className) {
+        return delegate.getLoggerFieldDeclaration(className);
+    }
+
+    @Override
+    public String getLoggerFieldName() {
+        return delegate.getLoggerFieldName();
+    }
+
+    @Override
+    public String getLoggerTypeName() {
+        return delegate.getLoggerTypeName();
+    }
+
+    @Override
+    public String getLoggerHolderClassName() {
+        return delegate.getLoggerHolderClassName();
+    }
+
+    @Override
+    public LoggingStrategy withNonCapturableLocals(Set<String> nonCapturableLocals) {
+        final LoggingStrategy contextual = delegate.withNonCapturableLocals(nonCapturableLocals);
+        return contextual == delegate ? this : new ConstantGuardLoggingStrategy(contextual);
+    }
+
+    @Override
+    public String getGuardedDebugStatement(String message, String args) {
+        return guard("debug", delegate.getGuardedDebugStatement(message, args));
+    }
+
+    @Override
+    public String getErrorStatement(String message, String args) {
+        return delegate.getErrorStatement(message, args);
+    }
+
+    @Override
+    public String getWarnStatement(String message, String args) {
+        return delegate.getWarnStatement(message, args);
+    }
+
+    @Override
+    public String getLogStatement(String level, String message, String args) {
+        return guard(level, delegate.getLogStatement(level, message, args));
+    }
+
+    @Override
+    public String getLogStatement(String level, String message, String args, int every, int atMostEverySeconds) {
+        return guard(level, delegate.getLogStatement(level, message, args, every, atMostEverySeconds));
+    }
+
+    @Override
+    public String getLevelEnabledCheck(String level) {
+        final String check = delegate.getLevelEnabledCheck(level);
+        return GUARDED_LEVELS.contains(level) ? ConstantGuards.getFlagFieldName(level) + " && " + check : check;
+    }
+
+    @Override
+    public boolean shouldGuard(String level, String args) {
+        return GUARDED_LEVELS.contains(level) || delegate.shouldGuard(level, args);
+    }
+
+    /**
+     * Adds the flag to a statement of the delegate. A statement the delegate guards with its level check, i.e. one
+     * that starts with {@code if(<check>)}, gets the combined condition {@code if(<flag> && <check>)} in front of
+     * the same block; any other statement is wrapped in {@code if(<flag>) { ... }}. The condition is matched as a
+     * whole, so the contents of the statement, including string literals, are never parsed.
+     */
+    private String guard(String level, String statement) {
+        if (!GUARDED_LEVELS.contains(level)) {
+            return statement;
+        }
+        final String flag = ConstantGuards.getFlagFieldName(level);
+        final String check = delegate.getLevelEnabledCheck(level);
+        final String delegateGuard = "if(" + check + ")";
+        if (statement.startsWith(delegateGuard)) {
+            final String block = statement.substring(delegateGuard.length());
+            return "if(" + flag + " && " + check + ")" + block;
+        }
+        return "if(" + flag + ") { " + statement + " }";
+    }
+}
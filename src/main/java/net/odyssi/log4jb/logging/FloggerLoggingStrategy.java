@@ -0,0 +1,162 @@
+package net.odyssi.log4jb.logging;
+
+import net.odyssi.log4jb.util.ArgumentCost;
+import net.odyssi.log4jb.util.LogArguments;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Flogger implementation of {@link LoggingStrategy}.
+ * <p>
+ * Generates {@code logger.atFine().log("msg %s", arg);} chains on a {@code FluentLogger.forEnclosingClass()} logger.
+ * Levels are mapped to trace&nbsp;&rarr;&nbsp;atFinest, debug&nbsp;&rarr;&nbsp;atFine, info&nbsp;&rarr;&nbsp;atInfo,
+ * warn&nbsp;&rarr;&nbsp;atWarning and error/fatal&nbsp;&rarr;&nbsp;atSevere. Flogger formats lazily and its
+ * {@code atXxx()} returns a no-op API for disabled levels, so no guard blocks are needed; computed arguments are
+ * additionally wrapped in {@code LazyArgs.lazy()} so they are not evaluated either. {@code {}} placeholders become
+ * printf-style {@code %s}, and a trailing argument without a placeholder is passed to {@code withCause()}.
+ * A lazy argument cannot capture a local that is not effectively final (see {@link #withNonCapturableLocals(Set)}),
+ * so a statement that would need one is guarded by {@code atXxx().isEnabled()} instead and passes its arguments
+ * as plain values.
+ * <p>
+ * Rate-limited statements add Flogger's per-call-site {@code every(n)} and {@code atMostEvery(n, SECONDS)} to the chain.
+ */
+public class FloggerLoggingStrategy implements LoggingStrategy {
+
+    private static final String LOGGER_FIELD_NAME = "logger";
+    private static final String LOGGER_TYPE = "com.google.common.flogger.FluentLogger";
+    private static final String LAZY_ARGS = "com.google.common.flogger.LazyArgs";
+
+    private final Set<String> nonCapturableLocals;
+
+    public FloggerLoggingStrategy() {
+        this(Set.of());
+    }
+
+    private FloggerLoggingStrategy(Set<String> nonCapturableLocals) {
+        this.nonCapturableLocals = Set.copyOf(nonCapturableLocals);
+    }
+
+    @Override
+    public LoggingStrategy withNonCapturableLocals(Set<String> nonCapturableLocals) {
+        return nonCapturableLocals.isEmpty() ? this : new FloggerLoggingStrategy(nonCapturableLocals);
+    }
+
+    @Override
+    public String getLoggerFieldDeclaration(String className) {
+        // The logger resolves its class from the call site, so the class name is not needed.
+        return String.format(
+                "private static final %s %s = %s.forEnclosingClass();",
+                LOGGER_TYPE, LOGGER_FIELD_NAME, LOGGER_TYPE
+        );
+    }
+
+    @Override
+    public String getLoggerFieldName() {
+        return LOGGER_FIELD_NAME;
+    }
+
+    @Override
+    public String getLoggerTypeName() {
+        return LOGGER_TYPE;
+    }
+
+    @Override
+    public String getGuardedDebugStatement(String message, String args) {
+        return getLogStatement("debug", message, args);
+    }
+
+    @Override
+    public String getErrorStatement(String message, String args) {
+        return getLogStatement("error", message, args);
+    }
+
+    @Override
+    public String getWarnStatement(String message, String args) {
+        return getLogStatement("warn", message, args);
+    }
+
+    @Override
+    public String getLogStatement(String level, String message, String args) {
+        return getLogStatement(level, message, args, 0, 0);
+    }
+
+    @Override
+    public String getLogStatement(String level, String message, String args, int every, int atMostEverySeconds) {
+        final List<String> arguments = LogArguments.split(args);
+        final String cause = arguments.size() > LogArguments.countPlaceholders(message)
+                ? arguments.remove(arguments.size() - 1)
+                : null;
+
+        final StringBuilder statement = new StringBuilder()
+                .append(LOGGER_FIELD_NAME).append('.').append(toFloggerLevel(level)).append("()");
+        if (every > 0) {
+            statement.append(".every(").append(every).append(')');
+        }
+        if (atMostEverySeconds > 0) {
+            statement.append(".atMostEvery(").append(atMostEverySeconds).append(", java.util.concurrent.TimeUnit.SECONDS)");
+        }
+        if (cause != null) {
+            statement.append(".withCause(").append(cause).append(')');
+        }
+
+        if (arguments.isEmpty()) {
+            // Without arguments, Flogger logs the message literally.
+            return statement.append(".log(\"").append(message).append("\");").toString();
+        }
+        final boolean guarded = needsGuard(arguments);
+        statement.append(".log(\"").append(message.replace("%", "%%").replace("{}", "%s")).append('"');
+        for (String argument : arguments) {
+            statement.append(", ");
+            if (guarded || !isLazy(argument)) {
+                statement.append(argument);
+            } else {
+                statement.append(LAZY_ARGS).append(".lazy(() -> ").append(argument).append(')');
+            }
+        }
+        statement.append(");");
+        return guarded
+                ? String.format("if(%s) { %s }", getLevelEnabledCheck(level), statement)
+                : statement.toString();
+    }
+
+    private boolean isLazy(String argument) {
+        return !ArgumentCost.classify(argument).isCheap() && !LogArguments.hasSideEffects(argument);
+    }
+
+    /**
+     * Returns whether an argument that would be lazy refers to a local the lambda cannot capture.
+     */
+    private boolean needsGuard(List<String> arguments) {
+        for (String argument : arguments) {
+            if (isLazy(argument) && LogArguments.anyReferences(List.of(argument), nonCapturableLocals)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getLevelEnabledCheck(String level) {
+        return String.format("%s.%s().isEnabled()", LOGGER_FIELD_NAME, toFloggerLevel(level));
+    }
+
+    /**
+     * Flogger's {@code atXxx()} returns a no-op API for disabled levels, so a level only needs an explicit guard block
+     * when an argument cannot be lazy.
+     */
+    @Override
+    public boolean shouldGuard(String level, String args) {
+        return needsGuard(LogArguments.split(args));
+    }
+
+    private String toFloggerLevel(String level) {
+        return switch (level) {
+            case "trace" -> "atFinest";
+            case "debug" -> "atFine";
+            case "warn" -> "atWarning";
+            case "error", "fatal" -> "atSevere";
+            default -> "atInfo";
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package net.odyssi.log4jb.logging;
+
+import net.odyssi.log4jb.util.LogArguments;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code java.util.logging} implementation of {@link LoggingStrategy}, for code that cannot depend on a logging library.
+ * <p>
+ * Levels are mapped to trace&nbsp;&rarr;&nbsp;FINER, debug&nbsp;&rarr;&nbsp;FINE, info&nbsp;&rarr;&nbsp;INFO,
+ * warn&nbsp;&rarr;&nbsp;WARNING and error/fatal&nbsp;&rarr;&nbsp;SEVERE. JUL has no parameterized messages, so
+ * placeholders are replaced by a string concatenation, which is passed as a {@code Supplier<String>} so it is only
+ * built when the level is loggable. Constant messages are passed as plain strings. A trailing argument without a
+ * placeholder, such as a caught exception, is passed as the {@code Throwable} of {@code Logger.log(Level, ...)}.
+ * Arguments with side effects cannot be deferred, and a supplier cannot capture a local that is not effectively final
+ * (see {@link #withNonCapturableLocals(Set)}), so those statements get an {@code isLoggable} guard and a plain
+ * message instead.
+ */
+public class JulLoggingStrategy implements LoggingStrategy {
+
+    private static final String LOGGER_FIELD_NAME = "logger";
+    private static final String LOGGER_TYPE = "java.util.logging.Logger";
+    private static final String LEVEL_TYPE = "java.util.logging.Level";
+
+    private final Set<String> nonCapturableLocals;
+
+    public JulLoggingStrategy() {
+        this(Set.of());
+    }
+
+    private JulLoggingStrategy(Set<String> nonCapturableLocals) {
+        this.nonCapturableLocals = Set.copyOf(nonCapturableLocals);
+    }
+
+    @Override
+    public LoggingStrategy withNonCapturableLocals(Set<String> nonCapturableLocals) {
+        return nonCapturableLocals.isEmpty() ? this : new JulLoggingStrategy(nonCapturableLocals);
+    }
+
+    @Override
+    public String getLoggerFieldDeclaration(String className) {
+        return String.format(
+                "private static final %s %s = %s.getLogger(%s.class.getName());",
+                LOGGER_TYPE, LOGGER_FIELD_NAME, LOGGER_TYPE, className
+        );
+    }
+
+    @Override
+    public String getLoggerFieldName() {
+        return LOGGER_FIELD_NAME;
+    }
+
+    @Override
+    public String getLoggerTypeName() {
+        return LOGGER_TYPE;
+    }
+
+    @Override
+    public String getGuardedDebugStatement(String message, String args) {
+        return getLogStatement("debug", message, args);
+    }
+
+    @Override
+    public String getErrorStatement(String message, String args) {
+        return getLogStatement("error", message, args);
+    }
+
+    @Override
+    public String getWarnStatement(String message, String args) {
+        return getLogStatement("warn", message, args);
+    }
+
+    @Override
+    public String getLogStatement(String level, String message, String args) {
+        final List<String> arguments = LogArguments.split(args);
+        final String julLevel = toJulLevel(level);
+        final String cause = arguments.size() > LogArguments.countPlaceholders(message)
+                ? arguments.remove(arguments.size() - 1)
+                : null;
+        final String text = LogArguments.concatenate(message, arguments);
+        final boolean guarded = LogArguments.anyHasSideEffects(arguments) || (cause != null && LogArguments.hasSideEffects(cause))
+                || LogArguments.anyReferences(arguments, nonCapturableLocals);
+
+        final String call;
+        if (cause != null) {
+            call = arguments.isEmpty() || guarded
+                    ? String.format("%s.log(%s.%s, %s, %s);", LOGGER_FIELD_NAME, LEVEL_TYPE, julLevel, text, cause)
+                    : String.format("%s.log(%s.%s, %s, () -> %s);", LOGGER_FIELD_NAME, LEVEL_TYPE, julLevel, cause, text);
+        } else {
+            call = arguments.isEmpty() || guarded
+                    ? String.format("%s.%s(%s);", LOGGER_FIELD_NAME, julLevel.toLowerCase(), text)
+                    : String.format("%s.%s(() -> %s);", LOGGER_FIELD_NAME, julLevel.toLowerCase(), text);
+        }
+        if (guarded) {
+            return String.format("if(%s.isLoggable(%s.%s)) { %s }", LOGGER_FIELD_NAME, LEVEL_TYPE, julLevel, call);
+        }
+        return call;
+    }
+
+    @Override
+    public String getLevelEnabledCheck(String level) {
+        return String.format("%s.isLoggable(%s.%s)", LOGGER_FIELD_NAME, LEVEL_TYPE, toJulLevel(level));
+    }
+
+    /**
+     * Messages are built lazily by suppliers, so only statements with side-effecting arguments, or
+     * arguments a supplier cannot capture, need a guard block.
+     */
+    @Override
+    public boolean shouldGuard(String level, String args) {
+        final List<String> arguments = LogArguments.split(args);
+        return LogArguments.anyHasSideEffects(arguments) || LogArguments.anyReferences(arguments, nonCapturableLocals);
+    }
+
+    private String toJulLevel(String level) {
+        return switch (level) {
+            case "trace" -> "FINER";
+            case "debug" -> "FINE";
+            case "warn" -> "WARNING";
+            case "error", "fatal" -> "SEVERE";
+            default -> "INFO";
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package net.odyssi.log4jb.logging;
+
+import net.odyssi.log4jb.util.LoggerFields;
+
+import java.util.Set;
+
+/**
+ * A {@link LoggingStrategy} decorator that declares the logger with the initialization-on-demand holder idiom:
+ * <pre>
+ * private static final class Log4jbLoggerHolder {
+ *     private static final Logger logger = LoggerFactory.getLogger(MyClass.class);
+ * }
+ * </pre>
+ * The JVM initializes the holder, and so looks up the logger and possibly bootstraps the logging framework, only
+ * when the first log statement runs, not as part of the enclosing class's {@code <clinit>}. This keeps logging off
+ * the startup path of classes that never log on it, at the cost of qualifying every use as
+ * {@code Log4jbLoggerHolder.logger}.
+ * <p>
+ * Strategies that derive the logger name from the calling class, such as Flogger's {@code forEnclosingClass()},
+ * would name the logger after the holder, so the settings never apply this decorator to them (see
+ * {@link LoggingFramework#supportsLazyLogger()}).
+ */
+public class LazyLoggerStrategy implements LoggingStrategy {
+
+    private final LoggingStrategy delegate;
+
+    public LazyLoggerStrategy(LoggingStrategy delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the whole holder class declaration, wrapping the delegate's field declaration.
+     */
+    @Override
+    public String getLoggerFieldDeclaration(String className) {
+        return "private static final class " + LoggerFields.HOLDER_CLASS_NAME + " {\n"
+                + delegate.getLoggerFieldDeclaration(className) + "\n}";
+    }
+
+    @Override
+    public String getLoggerFieldName() {
+        return delegate.getLoggerFieldName();
+    }
+
+    @Override
+    public String getLoggerTypeName() {
+        return delegate.getLoggerTypeName();
+    }
+
+    @Override
+    public String getLoggerHolderClassName() {
+        return LoggerFields.HOLDER_CLASS_NAME;
+    }
+
+    @Override
+    public LoggingStrategy withNonCapturableLocals(Set<String> nonCapturableLocals) {
+        final LoggingStrategy contextual = delegate.withNonCapturableLocals(nonCapturableLocals);
+        return contextual == delegate ? this : new LazyLoggerStrategy(contextual);
+    }
+
+    @Override
+    public String getGuardedDebugStatement(String message, String args) {
+        return qualify(delegate.getGuardedDebugStatement(message, args));
+    }
+
+    @Override
+    public String getErrorStatement(String message, String args) {
+        return qualify(delegate.getErrorStatement(message, args));
+    }
+
+    @Override
+    public String getWarnStatement(String message, String args) {
+        return qualify(delegate.getWarnStatement(message, args));
+    }
+
+    @Override
+    public String getLogStatement(String level, String message, String args) {
+        return qualify(delegate.getLogStatement(level, message, args));
+    }
+
+    @Override
+    public String getLogStatement(String level, String message, String args, int every, int atMostEverySeconds) {
+        return qualify(delegate.getLogStatement(level, message, args, every, atMostEverySeconds));
+    }
+
+    @Override
+    public String getLevelEnabledCheck(String level) {
+        return qualify(delegate.getLevelEnabledCheck(level));
+    }
+
+    @Override
+    public boolean shouldGuard(String level, String args) {
+        return delegate.shouldGuard(level, args);
+    }
+
+    /**
+     * Qualifies every use of the logger field in the statement with the holder class, leaving string and character
+     * literals and member accesses such as {@code this.logger} untouched.
+     */
+    private String qualify(String statement) {
+        final String loggerUse = delegate.getLoggerFieldName() + ".";
+        final StringBuilder result = new StringBuilder(statement.length() + 32);
+        char quote = 0;
+        for (int i = 0; i < statement.length(); i++) {
+            final char c = statement.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && i + 1 < statement.length()) {
+                    result.append(c).append(statement.charAt(++i));
+                    continue;
+                }
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (statement.startsWith(loggerUse, i) && (i == 0 || !isPartOfName(statement.charAt(i - 1)))) {
+                result.append(LoggerFields.HOLDER_CLASS_NAME).append('.');
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    private static boolean isPartOfName(char c) {
+        return c == '.' || Character.isJavaIdentifierPart(c);
+    }
+}
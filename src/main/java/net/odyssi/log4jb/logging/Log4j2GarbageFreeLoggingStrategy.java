@@ -0,0 +1,97 @@
+package net.odyssi.log4jb.logging;
+
+import net.odyssi.log4jb.util.ArgumentCost;
+import net.odyssi.log4jb.util.LogArguments;
+import net.odyssi.log4jb.util.LogDeferral;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Log4j 2 implementation of {@link LoggingStrategy} for garbage-free logging.
+ * <p>
+ * Log4j 2 has non-varargs overloads for up to {@value #MAX_UNROLLED_PARAMETERS} parameters, which avoid
+ * allocating an {@code Object[]} on every call. This strategy never emits lambda suppliers (a capturing lambda is
+ * an allocation too) and keeps every call within the unrolled overloads:
+ * <ul>
+ *     <li>Calls with cheap arguments (see {@link ArgumentCost}) are emitted unguarded.</li>
+ *     <li>Calls with expensive arguments are guarded at any level, so the arguments are only evaluated when
+ *     the level is enabled.</li>
+ *     <li>Calls with more than {@value #MAX_UNROLLED_PARAMETERS} arguments are split at the message placeholders
+ *     into several calls behind a single guard.</li>
+ * </ul>
+ * Primitive arguments are still boxed by the call; see the "Boxed log argument" inspection.
+ */
+public class Log4j2GarbageFreeLoggingStrategy extends Log4j2LoggingStrategy {
+
+    public static final int MAX_UNROLLED_PARAMETERS = 10;
+
+    private static final String PLACEHOLDER = "{}";
+
+    /**
+     * Never emits lambdas, so no local needs to be capturable.
+     */
+    @Override
+    public LoggingStrategy withNonCapturableLocals(Set<String> nonCapturableLocals) {
+        return this;
+    }
+
+    @Override
+    public String getLogStatement(String level, String message, String args) {
+        final List<String> arguments = LogArguments.split(args);
+        final List<String> calls = splitCalls(level, message, arguments);
+
+        if (calls.size() == 1 && !shouldGuard(level, args)) {
+            return calls.get(0);
+        }
+
+        final String loggerName = getLoggerFieldName();
+        final String capitalizedLevel = level.substring(0, 1).toUpperCase() + level.substring(1);
+        return String.format("if(%s.is%sEnabled()) { %s }", loggerName, capitalizedLevel, String.join(" ", calls));
+    }
+
+    /**
+     * Splits the message after every {@value #MAX_UNROLLED_PARAMETERS}th placeholder, so each call stays within
+     * the unrolled overloads. Arguments beyond the last placeholder (e.g., a trailing throwable) go to the last call.
+     */
+    private List<String> splitCalls(String level, String message, List<String> arguments) {
+        if (arguments.size() <= MAX_UNROLLED_PARAMETERS) {
+            return List.of(call(level, message, arguments));
+        }
+
+        final List<String> calls = new ArrayList<>();
+        int segmentStart = 0;
+        int argumentIndex = 0;
+        int placeholdersInSegment = 0;
+        int from = 0;
+        int position;
+        while ((position = message.indexOf(PLACEHOLDER, from)) >= 0 && argumentIndex + placeholdersInSegment < arguments.size()) {
+            from = position + PLACEHOLDER.length();
+            if (++placeholdersInSegment == MAX_UNROLLED_PARAMETERS) {
+                calls.add(call(level, message.substring(segmentStart, from),
+                        arguments.subList(argumentIndex, argumentIndex + MAX_UNROLLED_PARAMETERS)));
+                argumentIndex += MAX_UNROLLED_PARAMETERS;
+                segmentStart = from;
+                placeholdersInSegment = 0;
+            }
+        }
+        if (segmentStart < message.length() || argumentIndex < arguments.size()) {
+            calls.add(call(level, message.substring(segmentStart), arguments.subList(argumentIndex, arguments.size())));
+        }
+        return calls;
+    }
+
+    /**
+     * Lambdas allocate, so expensive arguments are guarded rather than supplied.
+     */
+    @Override
+    public boolean shouldGuard(String level, String args) {
+        return LogDeferral.choose(LogArguments.split(args), false) == LogDeferral.GUARD;
+    }
+
+    private String call(String level, String message, List<String> arguments) {
+        final String argsStr = arguments.isEmpty() ? "" : ", " + String.join(", ", arguments);
+        return String.format("%s.%s(\"%s\"%s);", getLoggerFieldName(), level, message, argsStr);
+    }
+}
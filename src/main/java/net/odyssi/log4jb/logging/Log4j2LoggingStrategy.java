@@ -0,0 +1,124 @@
+package net.odyssi.log4jb.logging;
+
+import net.odyssi.log4jb.util.ArgumentCost;
+import net.odyssi.log4jb.util.LogArguments;
+import net.odyssi.log4jb.util.LogDeferral;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Log4j 2 implementation of {@link LoggingStrategy}.
+ * <p>
+ * Instead of wrapping statements in {@code if(logger.isDebugEnabled())} blocks, statements with expensive
+ * arguments (see {@link ArgumentCost}) pass them as lambda suppliers ({@code logger.debug("msg {}", () -> compute())}),
+ * so they are only evaluated once Log4j has checked the level. This applies at every level, so a
+ * {@code logger.warn(..., buildReport())} does not build the report while warnings are off. Statements whose
+ * arguments are all cheap, such as variables or getters, are emitted as plain parameterized calls. Arguments with
+ * side effects ({@code ++}, {@code --}, assignments) still get a guard, since deferring them would change when
+ * they run.
+ * <p>
+ * Lambdas can only capture effectively final locals, so a statement whose expensive arguments refer to a local that
+ * is not (see {@link #withNonCapturableLocals(Set)}) is guarded instead. Log4j 2 has no overload taking suppliers
+ * and a {@code Throwable}, so a statement with a trailing argument without a placeholder, such as a caught
+ * exception, is guarded as well rather than supplying the exception.
+ */
+public class Log4j2LoggingStrategy implements LoggingStrategy {
+
+    private static final String LOGGER_FIELD_NAME = "logger";
+    private static final String LOGGER_TYPE = "org.apache.logging.log4j.Logger";
+    private static final String LOGGER_FACTORY = "org.apache.logging.log4j.LogManager";
+
+    private final Set<String> nonCapturableLocals;
+
+    public Log4j2LoggingStrategy() {
+        this(Set.of());
+    }
+
+    private Log4j2LoggingStrategy(Set<String> nonCapturableLocals) {
+        this.nonCapturableLocals = Set.copyOf(nonCapturableLocals);
+    }
+
+    @Override
+    public LoggingStrategy withNonCapturableLocals(Set<String> nonCapturableLocals) {
+        return nonCapturableLocals.isEmpty() ? this : new Log4j2LoggingStrategy(nonCapturableLocals);
+    }
+
+    @Override
+    public String getLoggerFieldDeclaration(String className) {
+        return String.format(
+                "private static final %s %s = %s.getLogger(%s.class);",
+                LOGGER_TYPE, LOGGER_FIELD_NAME, LOGGER_FACTORY, className
+        );
+    }
+
+    @Override
+    public String getLoggerFieldName() {
+        return LOGGER_FIELD_NAME;
+    }
+
+    @Override
+    public String getLoggerTypeName() {
+        return LOGGER_TYPE;
+    }
+
+    @Override
+    public String getGuardedDebugStatement(String message, String args) {
+        return getLogStatement("debug", message, args);
+    }
+
+    @Override
+    public String getErrorStatement(String message, String args) {
+        return getLogStatement("error", message, args);
+    }
+
+    @Override
+    public String getWarnStatement(String message, String args) {
+        return getLogStatement("warn", message, args);
+    }
+
+    @Override
+    public String getLogStatement(String level, String message, String args) {
+        final List<String> arguments = LogArguments.split(args);
+        final String argsStr = args.isEmpty() ? "" : ", " + args;
+
+        final LogDeferral deferral = chooseDeferral(message, arguments);
+        if (deferral == LogDeferral.GUARD) {
+            String capitalizedLevel = level.substring(0, 1).toUpperCase() + level.substring(1);
+            return String.format(
+                    "if(%s.is%sEnabled()) { %s.%s(\"%s\"%s); }",
+                    LOGGER_FIELD_NAME, capitalizedLevel, LOGGER_FIELD_NAME, level, message, argsStr
+            );
+        }
+        if (deferral == LogDeferral.SUPPLIER) {
+            // Log4j 2 has no overload mixing plain values and suppliers, so every argument becomes a supplier.
+            final String suppliers = arguments.stream().map(argument -> "() -> " + argument).collect(Collectors.joining(", "));
+            return String.format("%s.%s(\"%s\", %s);", LOGGER_FIELD_NAME, level, message, suppliers);
+        }
+        return String.format("%s.%s(\"%s\"%s);", LOGGER_FIELD_NAME, level, message, argsStr);
+    }
+
+    private LogDeferral chooseDeferral(String message, List<String> arguments) {
+        final LogDeferral deferral = LogDeferral.choose(arguments, true, nonCapturableLocals);
+        if (deferral == LogDeferral.SUPPLIER && arguments.size() > LogArguments.countPlaceholders(message)) {
+            return LogDeferral.GUARD;
+        }
+        return deferral;
+    }
+
+    @Override
+    public String getLevelEnabledCheck(String level) {
+        String capitalizedLevel = level.substring(0, 1).toUpperCase() + level.substring(1);
+        return String.format("%s.is%sEnabled()", LOGGER_FIELD_NAME, capitalizedLevel);
+    }
+
+    /**
+     * Log4j 2 checks the level inside every call and accepts suppliers, so only arguments with side effects need
+     * an explicit guard block.
+     */
+    @Override
+    public boolean shouldGuard(String level, String args) {
+        return LogDeferral.choose(LogArguments.split(args), true, nonCapturableLocals) == LogDeferral.GUARD;
+    }
+}
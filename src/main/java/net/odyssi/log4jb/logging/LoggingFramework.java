@@ -0,0 +1,45 @@
+package net.odyssi.log4jb.logging;
+
+import java.util.function.Supplier;
+
+/**
+ * The logging frameworks Log4JB can generate code for, as selected in the settings.
+ */
+public enum LoggingFramework {
+
+    SLF4J("SLF4J", Slf4jLoggingStrategy::new),
+    SLF4J_FLUENT("SLF4J 2 (fluent API)", Slf4jFluentLoggingStrategy::new),
+    LOG4J2("Log4j 2 (lambda suppliers)", Log4j2LoggingStrategy::new),
+    LOG4J2_GARBAGE_FREE("Log4j 2 (garbage-free)", Log4j2GarbageFreeLoggingStrategy::new),
+    JUL("java.util.logging", JulLoggingStrategy::new),
+    SYSTEM_LOGGER("System.Logger", SystemLoggerLoggingStrategy::new),
+    FLOGGER("Flogger", FloggerLoggingStrategy::new);
+
+    private final String displayName;
+    private final Supplier<LoggingStrategy> strategyFactory;
+
+    LoggingFramework(String displayName, Supplier<LoggingStrategy> strategyFactory) {
+        this.displayName = displayName;
+        this.strategyFactory = strategyFactory;
+    }
+
+    /**
+     * Creates a new strategy instance for this framework.
+     */
+    public LoggingStrategy createStrategy() {
+        return strategyFactory.get();
+    }
+
+    /**
+     * Returns whether loggers of this framework can be declared in a holder class by {@link LazyLoggerStrategy}.
+     * Flogger's {@code forEnclosingClass()} names the logger after the class declaring it, which would be the holder.
+     */
+    public boolean supportsLazyLogger() {
+        return this != FLOGGER;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -1,5 +1,7 @@
 package net.odyssi.log4jb.logging;
 
+import java.util.Set;
+
 /**
  * Abstraction for generating logging framework-specific code.
  * <p>
@@ -30,7 +32,28 @@ public interface LoggingStrategy {
     String getLoggerTypeName();
 
     /**
-     * Generates a guarded debug-level log statement.
+     * Returns the name of the nested class holding the logger field when the logger is declared lazily, or
+     * {@code null} if the field is declared directly in the class.
+     */
+    default String getLoggerHolderClassName() {
+        return null;
+    }
+
+    /**
+     * Returns a strategy for statements inserted where the given local variables and parameters are not effectively
+     * final. Generated lambdas cannot capture those, so its statements fall back to a guard or a plain argument
+     * wherever they would pass one of them to a lambda. Strategies that never generate lambdas return themselves.
+     *
+     * @param nonCapturableLocals The names of the locals and parameters a lambda cannot capture at the insertion point
+     * @return The strategy to generate those statements with
+     */
+    default LoggingStrategy withNonCapturableLocals(Set<String> nonCapturableLocals) {
+        return this;
+    }
+
+    /**
+     * Generates a debug-level log statement whose arguments are only evaluated when debug is enabled,
+     * either through a guard block or through lazily supplied arguments.
      * Example: "if(logger.isDebugEnabled()) { logger.debug("msg"); }"
      *
      * @param message The log message (may contain {} placeholders)
@@ -70,10 +93,39 @@ public interface LoggingStrategy {
     String getLogStatement(String level, String message, String args);
 
     /**
-     * Returns whether the given log level should be guarded with an isXxxEnabled() check.
+     * Generates a log statement at the specified level that is only emitted every {@code every} calls and at most
+     * once every {@code atMostEverySeconds} seconds per call site. Frameworks without built-in rate limiting
+     * ignore both limits.
+     *
+     * @param level              The log level (e.g., "debug", "info", "warn", "error")
+     * @param message            The log message (may contain {} placeholders)
+     * @param args               Comma-separated argument expressions, or empty string if none
+     * @param every              Log only every n-th call, or {@code 0} for no limit
+     * @param atMostEverySeconds Log at most once per this many seconds, or {@code 0} for no limit
+     * @return The complete statement text
+     */
+    default String getLogStatement(String level, String message, String args, int every, int atMostEverySeconds) {
+        return getLogStatement(level, message, args);
+    }
+
+    /**
+     * Returns a boolean expression that is {@code true} when the given level is enabled, for generated code that
+     * does work of its own only for enabled levels, such as reading the clock.
+     * Example: "logger.isDebugEnabled()"
+     *
+     * @param level The log level (e.g., "debug", "info", "warn", "error")
+     * @return The expression text
+     */
+    String getLevelEnabledCheck(String level);
+
+    /**
+     * Returns whether a statement at the given level with the given arguments is wrapped in an isXxxEnabled()
+     * guard. The decision follows the {@link net.odyssi.log4jb.util.ArgumentCost cost} of the arguments rather than
+     * the level: a statement whose arguments are cheap is not worth guarding at any level.
      *
      * @param level The log level (e.g., "debug", "info", "warn", "error")
-     * @return true if the level should be guarded
+     * @param args  Comma-separated argument expressions, or empty string if none
+     * @return true if the statement should be guarded
      */
-    boolean shouldGuard(String level);
+    boolean shouldGuard(String level, String args);
 }
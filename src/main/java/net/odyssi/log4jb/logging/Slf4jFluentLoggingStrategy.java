@@ -0,0 +1,105 @@
+package net.odyssi.log4jb.logging;
+
+import net.odyssi.log4jb.util.ArgumentCost;
+import net.odyssi.log4jb.util.LogArguments;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SLF4J 2.x fluent-API implementation of {@link LoggingStrategy}.
+ * <p>
+ * Generates {@code logger.atDebug().setMessage("msg {}").addArgument(() -> compute()).log();} chains. When a level
+ * is disabled, {@code atXxx()} returns a no-op builder, so no guard block is needed. Computed arguments are
+ * passed as suppliers so they are not evaluated in that case; literals and variable references, as well as
+ * arguments with side effects, are passed as plain values. Arguments beyond the message placeholders, such as
+ * a caught exception, are passed to {@code setCause()}.
+ * <p>
+ * A supplier cannot capture a local that is not effectively final (see {@link #withNonCapturableLocals(Set)}), so a
+ * chain that would supply one is guarded by {@code isXxxEnabled()} instead and passes its arguments as plain values.
+ */
+public class Slf4jFluentLoggingStrategy extends Slf4jLoggingStrategy {
+
+    private final Set<String> nonCapturableLocals;
+
+    public Slf4jFluentLoggingStrategy() {
+        this(Set.of());
+    }
+
+    private Slf4jFluentLoggingStrategy(Set<String> nonCapturableLocals) {
+        this.nonCapturableLocals = Set.copyOf(nonCapturableLocals);
+    }
+
+    @Override
+    public LoggingStrategy withNonCapturableLocals(Set<String> nonCapturableLocals) {
+        return nonCapturableLocals.isEmpty() ? this : new Slf4jFluentLoggingStrategy(nonCapturableLocals);
+    }
+
+    @Override
+    public String getGuardedDebugStatement(String message, String args) {
+        return getLogStatement("debug", message, args);
+    }
+
+    @Override
+    public String getErrorStatement(String message, String args) {
+        return getLogStatement("error", message, args);
+    }
+
+    @Override
+    public String getWarnStatement(String message, String args) {
+        return getLogStatement("warn", message, args);
+    }
+
+    @Override
+    public String getLogStatement(String level, String message, String args) {
+        final List<String> arguments = LogArguments.split(args);
+        final int placeholderCount = LogArguments.countPlaceholders(message);
+        final String capitalizedLevel = level.substring(0, 1).toUpperCase() + level.substring(1);
+        final boolean guarded = needsGuard(arguments, placeholderCount);
+
+        final StringBuilder statement = new StringBuilder()
+                .append(getLoggerFieldName()).append(".at").append(capitalizedLevel).append("()")
+                .append(".setMessage(\"").append(message).append("\")");
+        for (int i = 0; i < arguments.size(); i++) {
+            final String argument = arguments.get(i);
+            if (i >= placeholderCount && i == arguments.size() - 1) {
+                statement.append(".setCause(").append(argument).append(")");
+            } else if (guarded || !isSupplied(argument)) {
+                statement.append(".addArgument(").append(argument).append(")");
+            } else {
+                statement.append(".addArgument(() -> ").append(argument).append(")");
+            }
+        }
+        statement.append(".log();");
+        return guarded
+                ? String.format("if(%s) { %s }", getLevelEnabledCheck(level), statement)
+                : statement.toString();
+    }
+
+    private boolean isSupplied(String argument) {
+        return !ArgumentCost.classify(argument).isCheap() && !LogArguments.hasSideEffects(argument);
+    }
+
+    /**
+     * Returns whether an argument that would be supplied refers to a local the supplier cannot capture.
+     */
+    private boolean needsGuard(List<String> arguments, int placeholderCount) {
+        for (int i = 0; i < arguments.size(); i++) {
+            final boolean cause = i >= placeholderCount && i == arguments.size() - 1;
+            if (!cause && isSupplied(arguments.get(i)) && LogArguments.anyReferences(List.of(arguments.get(i)), nonCapturableLocals)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The fluent builder is a no-op for disabled levels, so a level only needs an explicit guard block when an
+     * argument cannot be supplied.
+     */
+    @Override
+    public boolean shouldGuard(String level, String args) {
+        final List<String> arguments = LogArguments.split(args);
+        return needsGuard(arguments, arguments.size());
+    }
+}
@@ -1,10 +1,16 @@
 package net.odyssi.log4jb.logging;
 
+import net.odyssi.log4jb.util.ArgumentCost;
+import net.odyssi.log4jb.util.LogArguments;
+import net.odyssi.log4jb.util.LogDeferral;
+
 /**
  * SLF4J implementation of {@link LoggingStrategy}.
  * <p>
- * Generates SLF4J-style logging statements using parameterized messages ({} placeholders)
- * and guarded debug/trace/info statements. Error and warn levels are not guarded.
+ * Generates SLF4J-style logging statements using parameterized messages ({} placeholders). SLF4J 1.x has no
+ * lazy arguments, so statements whose arguments are expensive to evaluate (see {@link ArgumentCost}) are wrapped
+ * in an {@code isXxxEnabled()} guard, at any level. Statements with only cheap arguments are left unguarded,
+ * since SLF4J checks the level inside the call anyway.
  */
 public class Slf4jLoggingStrategy implements LoggingStrategy {
 
@@ -33,6 +39,9 @@ public class Slf4jLoggingStrategy implements LoggingStrategy {
     @Override
     public String getGuardedDebugStatement(String message, String args) {
         String argsStr = args.isEmpty() ? "" : ", " + args;
+        if (!shouldGuard("debug", args)) {
+            return String.format("%s.debug(\"%s\"%s);", LOGGER_FIELD_NAME, message, argsStr);
+        }
         return String.format(
                 "if(%s.isDebugEnabled()) { %s.debug(\"%s\"%s); }",
                 LOGGER_FIELD_NAME, LOGGER_FIELD_NAME, message, argsStr
@@ -41,19 +50,17 @@ public class Slf4jLoggingStrategy implements LoggingStrategy {
 
     @Override
     public String getErrorStatement(String message, String args) {
-        String argsStr = args.isEmpty() ? "" : ", " + args;
-        return String.format("%s.error(\"%s\"%s);", LOGGER_FIELD_NAME, message, argsStr);
+        return getLogStatement("error", message, args);
     }
 
     @Override
     public String getWarnStatement(String message, String args) {
-        String argsStr = args.isEmpty() ? "" : ", " + args;
-        return String.format("%s.warn(\"%s\"%s);", LOGGER_FIELD_NAME, message, argsStr);
+        return getLogStatement("warn", message, args);
     }
 
     @Override
     public String getLogStatement(String level, String message, String args) {
-        if (shouldGuard(level)) {
+        if (shouldGuard(level, args)) {
             String capitalizedLevel = level.substring(0, 1).toUpperCase() + level.substring(1);
             String argsStr = args.isEmpty() ? "" : ", " + args;
             return String.format(
@@ -66,11 +73,13 @@ public class Slf4jLoggingStrategy implements LoggingStrategy {
     }
 
     @Override
-    public boolean shouldGuard(String level) {
-        return switch (level) {
-            case "debug", "trace", "info" -> true;
-            case "warn", "error" -> false;
-            default -> true;
-        };
+    public String getLevelEnabledCheck(String level) {
+        String capitalizedLevel = level.substring(0, 1).toUpperCase() + level.substring(1);
+        return String.format("%s.is%sEnabled()", LOGGER_FIELD_NAME, capitalizedLevel);
+    }
+
+    @Override
+    public boolean shouldGuard(String level, String args) {
+        return LogDeferral.choose(LogArguments.split(args), false) == LogDeferral.GUARD;
     }
 }
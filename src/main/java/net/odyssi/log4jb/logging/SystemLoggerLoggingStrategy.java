@@ -0,0 +1,119 @@
+package net.odyssi.log4jb.logging;
+
+import net.odyssi.log4jb.util.LogArguments;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code System.Logger} (JEP 264) implementation of {@link LoggingStrategy}, for modules that should not depend on
+ * any logging library.
+ * <p>
+ * The logger is resolved once through {@code System.getLogger}. Every statement passes its message as a
+ * {@code Supplier<String>} to {@code log(Level, Supplier)}, so nothing is built when the level is disabled;
+ * constant messages become non-capturing lambdas, which the JVM allocates only once. Placeholders are replaced by a
+ * string concatenation inside the supplier. A trailing argument without a placeholder, such as a caught exception,
+ * is passed to the {@code log(Level, Supplier, Throwable)} overload. Arguments with side effects cannot be deferred,
+ * and a supplier cannot capture a local that is not effectively final (see {@link #withNonCapturableLocals(Set)}), so
+ * those statements get an {@code isLoggable} guard and a plain message instead.
+ */
+public class SystemLoggerLoggingStrategy implements LoggingStrategy {
+
+    private static final String LOGGER_FIELD_NAME = "logger";
+    private static final String LOGGER_TYPE = "java.lang.System.Logger";
+    private static final String LEVEL_TYPE = "System.Logger.Level";
+
+    private final Set<String> nonCapturableLocals;
+
+    public SystemLoggerLoggingStrategy() {
+        this(Set.of());
+    }
+
+    private SystemLoggerLoggingStrategy(Set<String> nonCapturableLocals) {
+        this.nonCapturableLocals = Set.copyOf(nonCapturableLocals);
+    }
+
+    @Override
+    public LoggingStrategy withNonCapturableLocals(Set<String> nonCapturableLocals) {
+        return nonCapturableLocals.isEmpty() ? this : new SystemLoggerLoggingStrategy(nonCapturableLocals);
+    }
+
+    @Override
+    public String getLoggerFieldDeclaration(String className) {
+        return String.format(
+                "private static final %s %s = System.getLogger(%s.class.getName());",
+                LOGGER_TYPE, LOGGER_FIELD_NAME, className
+        );
+    }
+
+    @Override
+    public String getLoggerFieldName() {
+        return LOGGER_FIELD_NAME;
+    }
+
+    @Override
+    public String getLoggerTypeName() {
+        return LOGGER_TYPE;
+    }
+
+    @Override
+    public String getGuardedDebugStatement(String message, String args) {
+        return getLogStatement("debug", message, args);
+    }
+
+    @Override
+    public String getErrorStatement(String message, String args) {
+        return getLogStatement("error", message, args);
+    }
+
+    @Override
+    public String getWarnStatement(String message, String args) {
+        return getLogStatement("warn", message, args);
+    }
+
+    @Override
+    public String getLogStatement(String level, String message, String args) {
+        final List<String> arguments = LogArguments.split(args);
+        final String systemLevel = LEVEL_TYPE + "." + toSystemLevel(level);
+        final String cause = arguments.size() > LogArguments.countPlaceholders(message)
+                ? arguments.remove(arguments.size() - 1)
+                : null;
+        final String text = LogArguments.concatenate(message, arguments);
+        final boolean guarded = LogArguments.anyHasSideEffects(arguments) || (cause != null && LogArguments.hasSideEffects(cause))
+                || LogArguments.anyReferences(arguments, nonCapturableLocals);
+
+        final String messageArgument = guarded ? text : "() -> " + text;
+        final String call = cause == null
+                ? String.format("%s.log(%s, %s);", LOGGER_FIELD_NAME, systemLevel, messageArgument)
+                : String.format("%s.log(%s, %s, %s);", LOGGER_FIELD_NAME, systemLevel, messageArgument, cause);
+        if (guarded) {
+            return String.format("if(%s.isLoggable(%s)) { %s }", LOGGER_FIELD_NAME, systemLevel, call);
+        }
+        return call;
+    }
+
+    @Override
+    public String getLevelEnabledCheck(String level) {
+        return String.format("%s.isLoggable(%s.%s)", LOGGER_FIELD_NAME, LEVEL_TYPE, toSystemLevel(level));
+    }
+
+    /**
+     * Messages are always supplied lazily, so only statements with side-effecting arguments, or
+     * arguments a supplier cannot capture, need a guard block.
+     */
+    @Override
+    public boolean shouldGuard(String level, String args) {
+        final List<String> arguments = LogArguments.split(args);
+        return LogArguments.anyHasSideEffects(arguments) || LogArguments.anyReferences(arguments, nonCapturableLocals);
+    }
+
+    private String toSystemLevel(String level) {
+        return switch (level) {
+            case "trace" -> "TRACE";
+            case "debug" -> "DEBUG";
+            case "warn" -> "WARNING";
+            case "error", "fatal" -> "ERROR";
+            default -> "INFO";
+        };
+    }
+}
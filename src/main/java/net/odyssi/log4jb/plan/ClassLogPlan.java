@@ -0,0 +1,83 @@
+package net.odyssi.log4jb.plan;
+
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiStatement;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.util.ConstantGuards;
+import net.odyssi.log4jb.util.GeneratedLogStatements;
+import net.odyssi.log4jb.util.LoggerFields;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The complete set of changes needed to instrument a class, collected by a single analysis pass.
+ *
+ * @param psiClass         The class to instrument
+ * @param loggerToDeclare  The strategy whose logger field (and constant-guard flags) must be declared, or {@code null}
+ *                         if they already exist
+ * @param insertions       The statements to insert, in traversal order
+ * @param markInsertions   Whether each inserted statement is followed by the generated-statement marker
+ */
+public record ClassLogPlan(PsiClass psiClass, @Nullable LoggingStrategy loggerToDeclare,
+                           List<LogInsertion> insertions, boolean markInsertions) {
+
+    /**
+     * Returns whether applying the plan would change anything.
+     */
+    public boolean isEmpty() {
+        return loggerToDeclare == null && insertions.isEmpty();
+    }
+
+    /**
+     * Applies the plan to the PSI, shortening class references in the inserted statements. Must be called inside a
+     * write action.
+     */
+    public void apply() {
+        if (!psiClass.isValid()) {
+            return;
+        }
+        if (loggerToDeclare != null) {
+            if (LoggerFields.findLoggerField(psiClass, loggerToDeclare) == null) {
+                LoggerFields.addLoggerField(psiClass, loggerToDeclare);
+            }
+            ConstantGuards.declareFlags(psiClass, loggerToDeclare);
+        }
+
+        final PsiElementFactory factory = JavaPsiFacade.getElementFactory(psiClass.getProject());
+        final JavaCodeStyleManager codeStyleManager = JavaCodeStyleManager.getInstance(psiClass.getProject());
+        for (LogInsertion insertion : insertions) {
+            if (!insertion.anchor().isValid()) {
+                continue;
+            }
+            final PsiStatement statement = (PsiStatement) codeStyleManager.shortenClassReferences(insertion.apply(factory));
+            if (markInsertions) {
+                GeneratedLogStatements.addMarker(statement);
+            }
+        }
+    }
+
+    /**
+     * Converts the plan into document text edits for {@link DocumentEditPlan}. Must be called inside a read action.
+     * The logger field goes right after the opening brace of the class; its fully-qualified type, like those in the
+     * inserted statements, is left for the reference-shortening pass of the file. Constant-guard flags are not supported here, since they may
+     * require generating the flags class.
+     */
+    public List<TextEdit> toTextEdits() {
+        final List<TextEdit> edits = new ArrayList<>(insertions.size() + 1);
+        final PsiElement lBrace = psiClass.getLBrace();
+        if (loggerToDeclare != null && lBrace != null && LoggerFields.findLoggerField(psiClass, loggerToDeclare) == null) {
+            edits.add(new TextEdit(lBrace.getTextRange().getEndOffset(),
+                    "\n" + loggerToDeclare.getLoggerFieldDeclaration(psiClass.getName()), true));
+        }
+        for (LogInsertion insertion : insertions) {
+            edits.addAll(insertion.toTextEdits(markInsertions));
+        }
+        return edits;
+    }
+}
@@ -0,0 +1,143 @@
+package net.odyssi.log4jb.plan;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.RangeMarker;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * All text edits for one file, applied to its {@link Document} in a single pass.
+ * <p>
+ * Inserting statements through the PSI one at a time makes the IDE reparse and reformat after every insertion.
+ * This plan instead inserts plain text in descending offset order (so earlier offsets stay valid), commits the
+ * document once, and then shortens class references within the inserted text and reformats the inserted ranges
+ * once for the whole file. Only the inserted elements are shortened, never the user's code between them.
+ *
+ * @param file              The file to edit
+ * @param modificationStamp The document modification stamp the offsets were computed against
+ * @param edits             The edits, in analysis order
+ */
+public record DocumentEditPlan(PsiFile file, long modificationStamp, List<TextEdit> edits) {
+
+    /**
+     * Converts the class plans of a file into a document edit plan. Must be called inside a read action.
+     *
+     * @return The plan, or {@code null} if the file has no committed document to compute offsets against
+     */
+    @Nullable
+    public static DocumentEditPlan create(PsiFile file, List<ClassLogPlan> classPlans) {
+        final PsiDocumentManager documentManager = PsiDocumentManager.getInstance(file.getProject());
+        final Document document = documentManager.getDocument(file);
+        if (document == null || !documentManager.isCommitted(document)) {
+            return null;
+        }
+
+        final List<TextEdit> edits = new ArrayList<>();
+        for (ClassLogPlan classPlan : classPlans) {
+            edits.addAll(classPlan.toTextEdits());
+        }
+        return new DocumentEditPlan(file, document.getModificationStamp(), List.copyOf(edits));
+    }
+
+    public boolean isEmpty() {
+        return edits.isEmpty();
+    }
+
+    /**
+     * Applies the edits. Must be called inside a write command.
+     *
+     * @return {@code false} if the document changed since the offsets were computed and nothing was applied
+     */
+    public boolean apply() {
+        final Project project = file.getProject();
+        final PsiDocumentManager documentManager = PsiDocumentManager.getInstance(project);
+        final Document document = file.isValid() ? documentManager.getDocument(file) : null;
+        if (document == null || document.getModificationStamp() != modificationStamp) {
+            return false;
+        }
+
+        // Descending offsets keep the remaining offsets valid. Reversing first makes edits sharing an
+        // offset (the sort is stable) end up in their original order.
+        final List<TextEdit> sorted = new ArrayList<>(edits);
+        Collections.reverse(sorted);
+        sorted.sort(Comparator.comparingInt(TextEdit::offset).reversed());
+
+        final List<RangeMarker> inserted = new ArrayList<>(sorted.size());
+        final List<RangeMarker> toShorten = new ArrayList<>();
+        for (TextEdit edit : sorted) {
+            document.insertString(edit.offset(), edit.text());
+            final RangeMarker marker = document.createRangeMarker(edit.offset(), edit.offset() + edit.text().length());
+            inserted.add(marker);
+            if (edit.shortenReferences()) {
+                toShorten.add(marker);
+            }
+        }
+        documentManager.commitDocument(document);
+
+        try {
+            // The elements are collected before shortening any of them, since adding imports shifts the offsets.
+            final List<PsiElement> elementsToShorten = new ArrayList<>();
+            for (RangeMarker marker : toShorten) {
+                if (marker.isValid()) {
+                    elementsToShorten.addAll(findElementsInRange(file, marker.getTextRange()));
+                }
+            }
+            if (!elementsToShorten.isEmpty()) {
+                final JavaCodeStyleManager codeStyleManager = JavaCodeStyleManager.getInstance(project);
+                for (PsiElement element : elementsToShorten) {
+                    if (element.isValid()) {
+                        codeStyleManager.shortenClassReferences(element);
+                    }
+                }
+                documentManager.doPostponedOperationsAndUnblockDocument(document);
+                documentManager.commitDocument(document);
+            }
+
+            final List<TextRange> ranges = new ArrayList<>(inserted.size());
+            for (RangeMarker marker : inserted) {
+                if (marker.isValid()) {
+                    ranges.add(marker.getTextRange());
+                }
+            }
+            CodeStyleManager.getInstance(project).reformatText(file, ranges);
+        } finally {
+            inserted.forEach(RangeMarker::dispose);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the outermost elements lying entirely within the range, in document order, skipping whitespace.
+     */
+    private static List<PsiElement> findElementsInRange(PsiFile file, TextRange range) {
+        final List<PsiElement> elements = new ArrayList<>();
+        int offset = range.getStartOffset();
+        while (offset < range.getEndOffset()) {
+            PsiElement element = file.findElementAt(offset);
+            if (element == null) {
+                break;
+            }
+            while (!(element.getParent() instanceof PsiFile) && element.getParent() != null
+                    && range.contains(element.getParent().getTextRange())) {
+                element = element.getParent();
+            }
+            if (!(element instanceof PsiWhiteSpace) && range.contains(element.getTextRange())) {
+                elements.add(element);
+            }
+            offset = element.getTextRange().getEndOffset();
+        }
+        return elements;
+    }
+}
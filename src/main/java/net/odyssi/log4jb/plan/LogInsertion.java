@@ -0,0 +1,86 @@
+package net.odyssi.log4jb.plan;
+
+import com.intellij.psi.PsiBlockStatement;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiStatement;
+import net.odyssi.log4jb.util.GeneratedLogStatements;
+
+import java.util.List;
+
+/**
+ * A single statement to be inserted next to an anchor element, as decided by an analysis pass.
+ *
+ * @param anchor        The element the statement is inserted next to (a brace, or a statement)
+ * @param placement     Whether the statement goes before or after the anchor
+ * @param statementText The text of the statement to insert
+ */
+public record LogInsertion(PsiElement anchor, Placement placement, String statementText) {
+
+    public enum Placement {
+        BEFORE,
+        AFTER
+    }
+
+    public static LogInsertion before(PsiElement anchor, String statementText) {
+        return new LogInsertion(anchor, Placement.BEFORE, statementText);
+    }
+
+    public static LogInsertion after(PsiElement anchor, String statementText) {
+        return new LogInsertion(anchor, Placement.AFTER, statementText);
+    }
+
+    /**
+     * Inserts the statement into the PSI. Must be called inside a write action. A statement anchor that is the
+     * direct body of an {@code if}, {@code else} or loop is wrapped in a block first.
+     *
+     * @return The inserted statement
+     */
+    public PsiStatement apply(PsiElementFactory factory) {
+        final PsiElement target = anchor instanceof PsiStatement statement ? ensureInCodeBlock(statement, factory) : anchor;
+        final PsiStatement statement = factory.createStatementFromText(statementText, target);
+        final PsiElement parent = target.getParent();
+        return (PsiStatement) (placement == Placement.BEFORE
+                ? parent.addBefore(statement, target)
+                : parent.addAfter(statement, target));
+    }
+
+    /**
+     * Converts the insertion into text edits at the anchor's current offsets. Must be called inside a read action.
+     * The line break is placed on the anchor's side; indentation is left to the reformat after applying, and
+     * fully-qualified class references in the statement to the reference shortening. A statement anchor that is the
+     * direct body of an {@code if}, {@code else} or loop gets braces around it and the inserted statement.
+     *
+     * @param marked Whether the statement is followed by the generated-statement marker
+     */
+    public List<TextEdit> toTextEdits(boolean marked) {
+        final String text = marked ? statementText + " " + GeneratedLogStatements.MARKER : statementText;
+        final int start = anchor.getTextRange().getStartOffset();
+        final int end = anchor.getTextRange().getEndOffset();
+        if (anchor instanceof PsiStatement && !(anchor.getParent() instanceof PsiCodeBlock)) {
+            return placement == Placement.BEFORE
+                    ? List.of(new TextEdit(start, "{\n" + text + "\n", true), new TextEdit(end, "\n}", false))
+                    : List.of(new TextEdit(start, "{\n", false), new TextEdit(end, "\n" + text + "\n}", true));
+        }
+        return placement == Placement.BEFORE
+                ? List.of(new TextEdit(start, text + "\n", true))
+                : List.of(new TextEdit(end, "\n" + text, true));
+    }
+
+    /**
+     * Wraps a statement that is the direct body of an {@code if}, {@code else} or loop in a block, so statements can
+     * be inserted next to it. Must be called inside a write action.
+     *
+     * @return The statement, now inside a code block
+     */
+    public static PsiStatement ensureInCodeBlock(PsiStatement statement, PsiElementFactory factory) {
+        if (statement.getParent() instanceof PsiCodeBlock) {
+            return statement;
+        }
+        final PsiBlockStatement block = (PsiBlockStatement) factory.createStatementFromText("{}", statement);
+        block.getCodeBlock().add(statement);
+        final PsiBlockStatement replaced = (PsiBlockStatement) statement.replace(block);
+        return replaced.getCodeBlock().getStatements()[0];
+    }
+}
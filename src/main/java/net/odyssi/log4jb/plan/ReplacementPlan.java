@@ -0,0 +1,46 @@
+package net.odyssi.log4jb.plan;
+
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElementFactory;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.util.LoggerFields;
+
+import java.util.List;
+
+/**
+ * The statement replacements for one file, plus the classes that need a logger field for them to compile.
+ *
+ * @param loggerClasses The classes in which the strategy's logger field must exist
+ * @param strategy      The logging strategy the replacements were generated with
+ * @param replacements  The replacements, in traversal order
+ */
+public record ReplacementPlan(List<PsiClass> loggerClasses, LoggingStrategy strategy,
+                              List<StatementReplacement> replacements) {
+
+    public boolean isEmpty() {
+        return replacements.isEmpty();
+    }
+
+    /**
+     * Applies the plan to the PSI. Must be called inside a write action.
+     */
+    public void apply() {
+        for (PsiClass psiClass : loggerClasses) {
+            if (psiClass.isValid() && LoggerFields.findLoggerField(psiClass, strategy) == null) {
+                LoggerFields.addLoggerField(psiClass, strategy);
+            }
+        }
+
+        PsiElementFactory factory = null;
+        for (StatementReplacement replacement : replacements) {
+            if (!replacement.target().isValid()) {
+                continue;
+            }
+            if (factory == null) {
+                factory = JavaPsiFacade.getElementFactory(replacement.target().getProject());
+            }
+            replacement.apply(factory);
+        }
+    }
+}
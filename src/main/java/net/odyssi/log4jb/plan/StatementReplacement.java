@@ -0,0 +1,23 @@
+package net.odyssi.log4jb.plan;
+
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiStatement;
+
+/**
+ * A single statement to be replaced by a log statement, as decided by an analysis pass.
+ *
+ * @param target        The statement to replace
+ * @param statementText The text of the replacement statement
+ */
+public record StatementReplacement(PsiStatement target, String statementText) {
+
+    /**
+     * Replaces the statement in the PSI. Must be called inside a write action.
+     *
+     * @return The replacement statement
+     */
+    public PsiStatement apply(PsiElementFactory factory) {
+        final PsiStatement statement = factory.createStatementFromText(statementText, target);
+        return (PsiStatement) target.replace(statement);
+    }
+}
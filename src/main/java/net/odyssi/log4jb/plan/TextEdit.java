@@ -0,0 +1,11 @@
+package net.odyssi.log4jb.plan;
+
+/**
+ * A plain text insertion into a document, computed from a PSI analysis pass.
+ *
+ * @param offset            The document offset the text is inserted at
+ * @param text              The text to insert
+ * @param shortenReferences Whether the inserted text contains fully-qualified class references to be shortened
+ */
+public record TextEdit(int offset, String text, boolean shortenReferences) {
+}
@@ -0,0 +1,110 @@
+package net.odyssi.log4jb.settings;
+
+import com.intellij.openapi.options.Configurable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.ui.components.JBCheckBox;
+import com.intellij.util.ui.FormBuilder;
+import net.odyssi.log4jb.logging.LoggingFramework;
+import net.odyssi.log4jb.visitors.MethodInstrumentation;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * The "Tools | Log4JB" settings page.
+ */
+public class Log4jbConfigurable implements Configurable {
+
+    private final Project project;
+
+    private ComboBox<LoggingFramework> loggingFramework;
+    private ComboBox<MethodInstrumentation> methodInstrumentation;
+    private JBCheckBox markGeneratedStatements;
+    private JBCheckBox documentEdits;
+    private JBCheckBox constantGuards;
+    private JBCheckBox lazyLogger;
+
+    public Log4jbConfigurable(Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public @Nls(capitalization = Nls.Capitalization.Title) String getDisplayName() {
+        return "Log4JB";
+    }
+
+    @Override
+    public @Nullable JComponent createComponent() {
+        loggingFramework = new ComboBox<>(LoggingFramework.values());
+        methodInstrumentation = new ComboBox<>(MethodInstrumentation.values());
+        markGeneratedStatements = new JBCheckBox("Mark generated statements with a // log4jb comment");
+        documentEdits = new JBCheckBox("Apply class logging as batched document edits (faster on large classes)");
+        constantGuards = new JBCheckBox("Guard trace/debug statements with compile-time constants from Log4jbFlags");
+        lazyLogger = new JBCheckBox("Declare loggers lazily in a holder class (faster startup)");
+        loggingFramework.addItemListener(event -> updateLazyLoggerEnabled());
+
+        return FormBuilder.createFormBuilder()
+                .addLabeledComponent("Logging framework:", loggingFramework)
+                .addLabeledComponent("\"Log this method\" generates:", methodInstrumentation)
+                .addComponent(markGeneratedStatements)
+                .addComponent(documentEdits)
+                .addComponent(constantGuards)
+                .addComponent(lazyLogger)
+                .addComponentFillVertically(new JPanel(), 0)
+                .getPanel();
+    }
+
+    @Override
+    public boolean isModified() {
+        final Log4jbSettings settings = Log4jbSettings.getInstance(project);
+        return loggingFramework.getSelectedItem() != settings.getLoggingFramework()
+                || methodInstrumentation.getSelectedItem() != settings.getMethodInstrumentation()
+                || markGeneratedStatements.isSelected() != settings.isMarkGeneratedStatements()
+                || documentEdits.isSelected() != settings.isDocumentEdits()
+                || constantGuards.isSelected() != settings.isConstantGuards()
+                || lazyLogger.isSelected() != settings.isLazyLogger();
+    }
+
+    @Override
+    public void apply() {
+        final Log4jbSettings settings = Log4jbSettings.getInstance(project);
+        settings.setLoggingFramework((LoggingFramework) loggingFramework.getSelectedItem());
+        settings.setMethodInstrumentation((MethodInstrumentation) methodInstrumentation.getSelectedItem());
+        settings.setMarkGeneratedStatements(markGeneratedStatements.isSelected());
+        settings.setDocumentEdits(documentEdits.isSelected());
+        settings.setConstantGuards(constantGuards.isSelected());
+        settings.setLazyLogger(lazyLogger.isSelected());
+    }
+
+    @Override
+    public void reset() {
+        final Log4jbSettings settings = Log4jbSettings.getInstance(project);
+        loggingFramework.setSelectedItem(settings.getLoggingFramework());
+        methodInstrumentation.setSelectedItem(settings.getMethodInstrumentation());
+        markGeneratedStatements.setSelected(settings.isMarkGeneratedStatements());
+        documentEdits.setSelected(settings.isDocumentEdits());
+        constantGuards.setSelected(settings.isConstantGuards());
+        lazyLogger.setSelected(settings.isLazyLogger());
+        updateLazyLoggerEnabled();
+    }
+
+    /**
+     * Disables the lazy logger option for frameworks that do not support it, which the settings ignore it for.
+     */
+    private void updateLazyLoggerEnabled() {
+        final LoggingFramework framework = (LoggingFramework) loggingFramework.getSelectedItem();
+        lazyLogger.setEnabled(framework == null || framework.supportsLazyLogger());
+    }
+
+    @Override
+    public void disposeUIResources() {
+        loggingFramework = null;
+        methodInstrumentation = null;
+        markGeneratedStatements = null;
+        documentEdits = null;
+        constantGuards = null;
+        lazyLogger = null;
+    }
+}
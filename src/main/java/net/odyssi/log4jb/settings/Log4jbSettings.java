@@ -0,0 +1,153 @@
+package net.odyssi.log4jb.settings;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.project.Project;
+import net.odyssi.log4jb.logging.ConstantGuardLoggingStrategy;
+import net.odyssi.log4jb.logging.LazyLoggerStrategy;
+import net.odyssi.log4jb.logging.LoggingFramework;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.visitors.MethodInstrumentation;
+import net.odyssi.log4jb.visitors.SlowCallThreshold;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Project-level Log4JB settings, stored in {@code .idea/log4jb.xml} so they can be shared with the team.
+ */
+@Service(Service.Level.PROJECT)
+@State(name = "Log4JBSettings", storages = @Storage("log4jb.xml"))
+public final class Log4jbSettings implements PersistentStateComponent<Log4jbSettings.SettingsState> {
+
+    private SettingsState state = new SettingsState();
+
+    public static Log4jbSettings getInstance(@NotNull Project project) {
+        return project.getService(Log4jbSettings.class);
+    }
+
+    @Override
+    public @NotNull SettingsState getState() {
+        return state;
+    }
+
+    @Override
+    public void loadState(@NotNull SettingsState state) {
+        this.state = state;
+    }
+
+    /**
+     * Returns the logging framework generated code targets.
+     */
+    public LoggingFramework getLoggingFramework() {
+        return state.loggingFramework == null ? LoggingFramework.SLF4J : state.loggingFramework;
+    }
+
+    public void setLoggingFramework(LoggingFramework loggingFramework) {
+        state.loggingFramework = loggingFramework;
+    }
+
+    /**
+     * Returns a strategy for the configured logging framework, with lazy logger declaration and constant guards
+     * if enabled. Lazy logger declaration is ignored for frameworks that do not support it.
+     *
+     * @see LoggingFramework#supportsLazyLogger()
+     */
+    public LoggingStrategy getLoggingStrategy() {
+        final LoggingFramework framework = getLoggingFramework();
+        LoggingStrategy strategy = framework.createStrategy();
+        if (state.lazyLogger && framework.supportsLazyLogger()) {
+            strategy = new LazyLoggerStrategy(strategy);
+        }
+        return state.constantGuards ? new ConstantGuardLoggingStrategy(strategy) : strategy;
+    }
+
+    /**
+     * Returns whether loggers are declared in a nested holder class, so they are created on first use instead of
+     * when the class is initialized.
+     */
+    public boolean isLazyLogger() {
+        return state.lazyLogger;
+    }
+
+    public void setLazyLogger(boolean lazyLogger) {
+        state.lazyLogger = lazyLogger;
+    }
+
+    /**
+     * Returns whether trace/debug statements are additionally guarded by compile-time constants, so they can be
+     * compiled out of production builds.
+     */
+    public boolean isConstantGuards() {
+        return state.constantGuards;
+    }
+
+    public void setConstantGuards(boolean constantGuards) {
+        state.constantGuards = constantGuards;
+    }
+
+    /**
+     * Returns what "Log this method" generates: log statements, or an alternative such as JFR events.
+     */
+    public MethodInstrumentation getMethodInstrumentation() {
+        return state.methodInstrumentation == null ? MethodInstrumentation.LOG_STATEMENTS : state.methodInstrumentation;
+    }
+
+    public void setMethodInstrumentation(MethodInstrumentation methodInstrumentation) {
+        state.methodInstrumentation = methodInstrumentation;
+    }
+
+    /**
+     * Returns the slow-call threshold last chosen in the "Log this method" / "Log this class" dialog, used as the
+     * default the next time.
+     */
+    public SlowCallThreshold getSlowCallThreshold() {
+        final String level = SlowCallThreshold.LEVELS.contains(state.slowCallLevel)
+                ? state.slowCallLevel
+                : SlowCallThreshold.DEFAULT.level();
+        return new SlowCallThreshold(Math.max(0, state.slowCallThresholdMillis), level);
+    }
+
+    public void setSlowCallThreshold(SlowCallThreshold threshold) {
+        state.slowCallThresholdMillis = threshold.millis();
+        state.slowCallLevel = threshold.level();
+    }
+
+    /**
+     * Returns whether generated statements are followed by a {@code // log4jb} marker comment.
+     */
+    public boolean isMarkGeneratedStatements() {
+        return state.markGeneratedStatements;
+    }
+
+    public void setMarkGeneratedStatements(boolean markGeneratedStatements) {
+        state.markGeneratedStatements = markGeneratedStatements;
+    }
+
+    /**
+     * Returns whether class instrumentation is applied as batched text edits on the document, with a single
+     * commit, reference-shortening and reformat pass per file, instead of one PSI insertion per statement.
+     * Not used together with constant guards, whose flags class may have to be generated.
+     */
+    public boolean isDocumentEdits() {
+        return state.documentEdits;
+    }
+
+    public void setDocumentEdits(boolean documentEdits) {
+        state.documentEdits = documentEdits;
+    }
+
+    /**
+     * The serialized settings. Fields must stay public for the XML serializer.
+     */
+    public static class SettingsState {
+        public LoggingFramework loggingFramework = LoggingFramework.SLF4J;
+        public MethodInstrumentation methodInstrumentation = MethodInstrumentation.LOG_STATEMENTS;
+        public boolean markGeneratedStatements = false;
+        public boolean documentEdits = false;
+        public boolean constantGuards = false;
+        public boolean lazyLogger = false;
+        public long slowCallThresholdMillis = SlowCallThreshold.DEFAULT.millis();
+        public String slowCallLevel = SlowCallThreshold.DEFAULT.level();
+    }
+}
@@ -0,0 +1,158 @@
+package net.odyssi.log4jb.util;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The estimated cost of evaluating a log argument expression, from cheapest to most expensive.
+ * <p>
+ * Like {@link LogArguments}, the classification is purely lexical, since strategies only receive source text.
+ * Reads and plain getters are cheap enough to evaluate even when the level is disabled: the JIT inlines them,
+ * and guarding or deferring them costs more bytecode than it saves. Everything from {@link #CONCATENATION} on
+ * allocates or runs arbitrary code, and should only be evaluated once the level is known to be enabled.
+ */
+public enum ArgumentCost {
+
+    /**
+     * A literal, a class literal or a constant such as {@code Foo.MAX_SIZE}.
+     */
+    CONSTANT,
+    /**
+     * A local variable, parameter or {@code this}.
+     */
+    LOCAL_READ,
+    /**
+     * A (qualified) field read or an array element read.
+     */
+    FIELD_READ,
+    /**
+     * A chain of argument-less getters, such as {@code order.getCustomer().getName()} or {@code items.size()}.
+     */
+    GETTER,
+    /**
+     * A string concatenation or other binary operation.
+     */
+    CONCATENATION,
+    /**
+     * Any other method call, object creation or expression.
+     */
+    CALL,
+    /**
+     * Formatting of arrays or collections, such as {@code Arrays.toString(values)} or {@code String.format(...)}.
+     */
+    FORMATTING;
+
+    private static final String IDENTIFIER = "[\\p{javaJavaIdentifierStart}][\\p{javaJavaIdentifierPart}]*";
+    private static final String GETTER_CALL = "(?:(?:get|is|has)\\p{javaUpperCase}[\\p{javaJavaIdentifierPart}]*|size|length)\\(\\)";
+    private static final Pattern LITERAL = Pattern.compile("-?(0[xX][0-9a-fA-F_]+|0[bB][01_]+|[0-9][0-9_]*(\\.[0-9_]*)?([eE][+-]?[0-9]+)?|\\.[0-9]+)[lLfFdD]?|\"([^\"\\\\]|\\\\.)*\"|'([^'\\\\]|\\\\.)+'|null|true|false");
+    private static final Pattern CONSTANT_REFERENCE = Pattern.compile("(" + IDENTIFIER + "\\.)+(\\p{javaUpperCase}[\\p{javaUpperCase}\\p{Digit}_]*|class)");
+    private static final Pattern LOCAL = Pattern.compile(IDENTIFIER);
+    private static final Pattern FIELD = Pattern.compile(IDENTIFIER + "(\\." + IDENTIFIER + ")+|" + IDENTIFIER + "(\\." + IDENTIFIER + ")*\\[(" + IDENTIFIER + "|[0-9]+)]");
+    private static final Pattern GETTER_CHAIN = Pattern.compile("(" + IDENTIFIER + "\\.)*" + GETTER_CALL + "(\\." + GETTER_CALL + ")*");
+    private static final List<String> FORMATTING_MARKERS = List.of("Arrays.", "String.format(", "String.join(",
+            ".formatted(", ".stream()", "Collectors.", "List.of(", "Set.of(", "Map.of(", "StringBuilder");
+    private static final Pattern ARRAY_CREATION = Pattern.compile("new\\s+[\\w.<>]+\\s*\\[");
+
+    /**
+     * Returns whether the argument is cheap enough to evaluate unconditionally.
+     */
+    public boolean isCheap() {
+        return compareTo(GETTER) <= 0;
+    }
+
+    /**
+     * Classifies a single argument expression.
+     */
+    public static ArgumentCost classify(String expression) {
+        final String trimmed = stripParentheses(expression.trim());
+        if (LITERAL.matcher(trimmed).matches() || CONSTANT_REFERENCE.matcher(trimmed).matches()) {
+            return CONSTANT;
+        }
+        if ("this".equals(trimmed) || LOCAL.matcher(trimmed).matches()) {
+            return LOCAL_READ;
+        }
+        if (FIELD.matcher(trimmed).matches()) {
+            return FIELD_READ;
+        }
+        if (GETTER_CHAIN.matcher(trimmed).matches()) {
+            return GETTER;
+        }
+        for (String marker : FORMATTING_MARKERS) {
+            if (trimmed.contains(marker)) {
+                return FORMATTING;
+            }
+        }
+        if (ARRAY_CREATION.matcher(trimmed).find()) {
+            return FORMATTING;
+        }
+        return hasTopLevelOperator(trimmed) ? CONCATENATION : CALL;
+    }
+
+    /**
+     * Returns the cost of the most expensive argument, or {@link #CONSTANT} if there are none.
+     */
+    public static ArgumentCost classifyAll(List<String> arguments) {
+        ArgumentCost cost = CONSTANT;
+        for (String argument : arguments) {
+            final ArgumentCost argumentCost = classify(argument);
+            if (argumentCost.compareTo(cost) > 0) {
+                cost = argumentCost;
+            }
+        }
+        return cost;
+    }
+
+    private static String stripParentheses(String expression) {
+        String result = expression;
+        while (result.length() > 1 && result.charAt(0) == '(' && closingParenthesis(result) == result.length() - 1) {
+            result = result.substring(1, result.length() - 1).trim();
+        }
+        return result;
+    }
+
+    private static int closingParenthesis(String expression) {
+        int depth = 0;
+        for (int i = 0; i < expression.length(); i++) {
+            final char c = expression.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether the expression has a binary {@code +}, {@code -}, {@code *}, {@code /} or {@code %}
+     * operator outside of parentheses and literals. A leading sign is not an operator.
+     */
+    private static boolean hasTopLevelOperator(String expression) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < expression.length(); i++) {
+            final char c = expression.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"', '\'' -> quote = c;
+                case '(', '[', '{' -> depth++;
+                case ')', ']', '}' -> depth--;
+                case '+', '-', '*', '/', '%' -> {
+                    if (depth == 0 && i > 0) {
+                        return true;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return false;
+    }
+}
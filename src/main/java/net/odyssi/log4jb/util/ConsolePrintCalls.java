@@ -0,0 +1,172 @@
+package net.odyssi.log4jb.util;
+
+import com.intellij.psi.*;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiTreeUtil;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.plan.StatementReplacement;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared, stateless analysis of {@code System.out} / {@code System.err} print calls and
+ * {@code Throwable.printStackTrace()} calls, used by the replacement visitors and the inspections.
+ * <p>
+ * Everything here only reads the PSI, and the enclosing method signature is looked up per call instead of
+ * being tracked in visitor state, so the analysis can run concurrently on several files inside read actions.
+ */
+public final class ConsolePrintCalls {
+
+    public static final String SYSTEM_OUT = "System.out";
+    public static final String SYSTEM_ERR = "System.err";
+
+    private ConsolePrintCalls() {
+        // Utility class
+    }
+
+    /**
+     * Creates the log statement text from a message and comma-separated arguments, e.g.
+     * {@code LoggingStrategy::getGuardedDebugStatement}. It is given the strategy {@linkplain LambdaCaptures adapted}
+     * to the locals a lambda can capture at the replaced call.
+     */
+    @FunctionalInterface
+    public interface StatementFactory {
+        String create(LoggingStrategy strategy, String message, String args);
+    }
+
+    /**
+     * Returns whether the expression is a {@code print} or {@code println} call on the given stream.
+     *
+     * @param expression The call to check
+     * @param stream     {@link #SYSTEM_OUT} or {@link #SYSTEM_ERR}
+     */
+    public static boolean isPrintCall(PsiMethodCallExpression expression, String stream) {
+        final PsiReferenceExpression methodExpression = expression.getMethodExpression();
+        final String methodName = methodExpression.getReferenceName();
+        if (!"println".equals(methodName) && !"print".equals(methodName)) {
+            return false;
+        }
+        final PsiExpression qualifier = methodExpression.getQualifierExpression();
+        return qualifier != null && stream.equals(qualifier.getText());
+    }
+
+    /**
+     * Returns whether the expression is a no-argument {@code printStackTrace()} call on a {@code Throwable},
+     * which prints to {@code System.err}.
+     */
+    public static boolean isPrintStackTraceCall(PsiMethodCallExpression expression) {
+        final PsiReferenceExpression methodExpression = expression.getMethodExpression();
+        if (!"printStackTrace".equals(methodExpression.getReferenceName())
+                || expression.getArgumentList().getExpressionCount() != 0) {
+            return false;
+        }
+        final PsiExpression qualifier = methodExpression.getQualifierExpression();
+        return qualifier != null && InheritanceUtil.isInheritor(qualifier.getType(), CommonClassNames.JAVA_LANG_THROWABLE);
+    }
+
+    /**
+     * Returns whether a print or {@code printStackTrace()} call has a shape that can be rewritten: it is a statement
+     * of its own and has at most one argument. This is a cheap syntactic check, so the replacement itself only needs
+     * to be computed when a fix is applied.
+     */
+    public static boolean isReplaceable(PsiMethodCallExpression expression) {
+        return expression.getParent() instanceof PsiExpressionStatement
+                && expression.getArgumentList().getExpressionCount() <= 1;
+    }
+
+    /**
+     * Computes the log statement replacing a {@code printStackTrace()} call, logging the throwable as the cause.
+     *
+     * @param expression       The candidate call
+     * @param strategy         The configured logging strategy
+     * @param statementFactory Creates the log statement text from a message and comma-separated arguments
+     * @return The replacement, or {@code null} if the call is not a replaceable {@code printStackTrace()} call
+     */
+    @Nullable
+    public static StatementReplacement createStackTraceReplacement(PsiMethodCallExpression expression, LoggingStrategy strategy,
+                                                                   StatementFactory statementFactory) {
+        if (!isPrintStackTraceCall(expression)
+                || !(expression.getParent() instanceof PsiExpressionStatement statement)) {
+            return null;
+        }
+        final PsiMethod method = PsiTreeUtil.getParentOfType(expression, PsiMethod.class);
+        final String methodSignature = method == null ? "" : MethodSignatureBuilder.buildCached(method);
+        final String message = GeneratedLogMessages.of(methodSignature, GeneratedLogMessages.CAUGHT_EXCEPTION);
+        final PsiExpression throwable = expression.getMethodExpression().getQualifierExpression();
+        return new StatementReplacement(statement, create(statementFactory, strategy, expression, message, throwable.getText()));
+    }
+
+    /**
+     * Computes the log statement replacing a print call, converting string literals and concatenations into
+     * a parameterized message prefixed with the enclosing method signature.
+     *
+     * @param expression       The candidate call
+     * @param stream           {@link #SYSTEM_OUT} or {@link #SYSTEM_ERR}
+     * @param strategy         The configured logging strategy
+     * @param statementFactory Creates the log statement text from a message and comma-separated arguments
+     * @return The replacement, or {@code null} if the call is not a replaceable print call on the stream
+     */
+    @Nullable
+    public static StatementReplacement createReplacement(PsiMethodCallExpression expression, String stream,
+                                                         LoggingStrategy strategy, StatementFactory statementFactory) {
+        if (!isPrintCall(expression, stream)
+                || !(expression.getParent() instanceof PsiExpressionStatement statement)) {
+            return null;
+        }
+
+        final PsiMethod method = PsiTreeUtil.getParentOfType(expression, PsiMethod.class);
+        final String methodSignature = method == null ? "" : MethodSignatureBuilder.buildCached(method);
+        final PsiExpression[] arguments = expression.getArgumentList().getExpressions();
+
+        if (arguments.length == 0) {
+            final String message = GeneratedLogMessages.of(methodSignature, GeneratedLogMessages.EMPTY_LINE);
+            return new StatementReplacement(statement, statementFactory.create(strategy, message, ""));
+        }
+        if (arguments.length > 1) {
+            return null;
+        }
+
+        final StringBuilder messageFormat = new StringBuilder(methodSignature).append(GeneratedLogMessages.SEPARATOR);
+        final List<String> logArguments = new ArrayList<>();
+        final PsiExpression[] operands = arguments[0] instanceof PsiPolyadicExpression polyadicExpression
+                ? polyadicExpression.getOperands()
+                : arguments;
+        for (PsiExpression operand : operands) {
+            if (operand instanceof PsiLiteralExpression literal && literal.getValue() instanceof String strValue) {
+                messageFormat.append(strValue);
+            } else {
+                messageFormat.append("{}");
+                logArguments.add(operand.getText());
+            }
+        }
+        return new StatementReplacement(statement,
+                create(statementFactory, strategy, expression, messageFormat.toString(), String.join(", ", logArguments)));
+    }
+
+    /**
+     * Collects the replacements for every print call on the stream below the given scope.
+     * Must be called inside a read action; does not modify the PSI.
+     */
+    public static List<StatementReplacement> collectReplacements(PsiElement scope, String stream, LoggingStrategy strategy,
+                                                                 StatementFactory statementFactory) {
+        final List<StatementReplacement> replacements = new ArrayList<>();
+        scope.accept(new JavaRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitMethodCallExpression(PsiMethodCallExpression expression) {
+                super.visitMethodCallExpression(expression);
+                final StatementReplacement replacement = createReplacement(expression, stream, strategy, statementFactory);
+                if (replacement != null) {
+                    replacements.add(replacement);
+                }
+            }
+        });
+        return replacements;
+    }
+
+    private static String create(StatementFactory statementFactory, LoggingStrategy strategy, PsiElement context,
+                                 String message, String args) {
+        return statementFactory.create(LambdaCaptures.forStatementAt(strategy, context, args), message, args);
+    }
+}
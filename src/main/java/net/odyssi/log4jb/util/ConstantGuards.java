@@ -0,0 +1,139 @@
+package net.odyssi.log4jb.util;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.psi.*;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.PsiShortNamesCache;
+import net.odyssi.log4jb.logging.ConstantGuardLoggingStrategy;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Declaration and recognition of the compile-time constant guards generated by {@link ConstantGuardLoggingStrategy}.
+ * <p>
+ * Each instrumented class gets one {@code private static final boolean LOG4JB_<LEVEL>} field per guarded level,
+ * initialized from the matching constant of a shared {@value #FLAGS_CLASS_NAME} class. Both are constant variables,
+ * so a guard on them is a compile-time constant. The flags class is generated next to the first class that needs it
+ * and reused by every other class that can see it: a class in a module (or a source root, such as main sources next
+ * to test sources) that cannot see an existing flags class gets its own.
+ */
+public final class ConstantGuards {
+
+    public static final String FLAGS_CLASS_NAME = "Log4jbFlags";
+    private static final String FLAG_FIELD_PREFIX = "LOG4JB_";
+
+    private ConstantGuards() {
+        // Utility class
+    }
+
+    /**
+     * Returns the name of the per-class flag field for a level, e.g. {@code LOG4JB_DEBUG}.
+     */
+    public static String getFlagFieldName(String level) {
+        return FLAG_FIELD_PREFIX + level.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns whether the expression is an unqualified reference to a flag field.
+     */
+    public static boolean isFlagReference(@Nullable PsiExpression expression) {
+        return expression instanceof PsiReferenceExpression reference
+                && reference.getQualifierExpression() == null
+                && reference.getReferenceName() != null
+                && reference.getReferenceName().startsWith(FLAG_FIELD_PREFIX);
+    }
+
+    /**
+     * Returns whether the field is a flag field.
+     */
+    public static boolean isFlagField(PsiField field) {
+        return field.getName().startsWith(FLAG_FIELD_PREFIX) && PsiTypes.booleanType().equals(field.getType());
+    }
+
+    /**
+     * Returns whether the class declares every flag field the strategy's statements rely on. Always true for
+     * strategies without constant guards.
+     */
+    public static boolean hasFlags(PsiClass psiClass, LoggingStrategy strategy) {
+        if (!(strategy instanceof ConstantGuardLoggingStrategy constantGuards)) {
+            return true;
+        }
+        for (String level : constantGuards.getGuardedLevels()) {
+            if (psiClass.findFieldByName(getFlagFieldName(level), false) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Declares the missing flag fields of the strategy in the class, generating the flags class first if the
+     * project has none. Does nothing for strategies without constant guards. Must be called inside a write action.
+     */
+    public static void declareFlags(PsiClass psiClass, LoggingStrategy strategy) {
+        if (!(strategy instanceof ConstantGuardLoggingStrategy constantGuards) || hasFlags(psiClass, strategy)) {
+            return;
+        }
+        final String flagsClassName = findOrCreateFlagsClass(psiClass);
+        final PsiElementFactory factory = JavaPsiFacade.getElementFactory(psiClass.getProject());
+        for (String level : constantGuards.getGuardedLevels()) {
+            final String fieldName = getFlagFieldName(level);
+            if (psiClass.findFieldByName(fieldName, false) == null) {
+                final PsiField field = factory.createFieldFromText(String.format("private static final boolean %s = %s.%s;",
+                        fieldName, flagsClassName, level.toUpperCase(Locale.ROOT)), psiClass);
+                JavaCodeStyleManager.getInstance(psiClass.getProject()).shortenClassReferences(psiClass.add(field));
+            }
+        }
+    }
+
+    /**
+     * Returns the qualified name of a flags class the given class can use, creating it in the package of the given
+     * class if none is visible from it yet.
+     */
+    private static String findOrCreateFlagsClass(PsiClass context) {
+        final var project = context.getProject();
+        final PsiClass[] existing = PsiShortNamesCache.getInstance(project)
+                .getClassesByName(FLAGS_CLASS_NAME, getFlagsClassScope(context));
+        if (existing.length > 0 && existing[0].getQualifiedName() != null) {
+            return existing[0].getQualifiedName();
+        }
+
+        final PsiFile containingFile = context.getContainingFile();
+        final String packageName = containingFile instanceof PsiJavaFile javaFile ? javaFile.getPackageName() : "";
+        final PsiDirectory directory = containingFile.getContainingDirectory();
+        if (directory != null && directory.findFile(FLAGS_CLASS_NAME + ".java") == null) {
+            final String text = (packageName.isEmpty() ? "" : "package " + packageName + ";\n\n") +
+                    "/**\n" +
+                    " * Compile-time switches for the trace/debug statements generated by Log4JB with constant guards.\n" +
+                    " * While a flag is {@code false}, javac removes the guarded statements from the bytecode; set it to\n" +
+                    " * {@code true} in development builds.\n" +
+                    " */\n" +
+                    "public final class " + FLAGS_CLASS_NAME + " {\n\n" +
+                    "    public static final boolean TRACE = false;\n" +
+                    "    public static final boolean DEBUG = false;\n\n" +
+                    "    private " + FLAGS_CLASS_NAME + "() {\n" +
+                    "    }\n" +
+                    "}\n";
+            directory.add(PsiFileFactory.getInstance(project).createFileFromText(FLAGS_CLASS_NAME + ".java", JavaFileType.INSTANCE, text));
+        }
+        return packageName.isEmpty() ? FLAGS_CLASS_NAME : packageName + "." + FLAGS_CLASS_NAME;
+    }
+
+    /**
+     * Returns the scope in which a flags class can be used by the given class: the sources of its module and the
+     * modules it depends on, restricted to what the class can resolve, so that production code does not pick up a
+     * flags class generated in test sources.
+     */
+    private static GlobalSearchScope getFlagsClassScope(PsiClass context) {
+        final Module module = ModuleUtilCore.findModuleForPsiElement(context);
+        final GlobalSearchScope sources = module != null
+                ? module.getModuleWithDependenciesScope()
+                : GlobalSearchScope.projectScope(context.getProject());
+        return sources.intersectWith(context.getResolveScope());
+    }
+}
@@ -0,0 +1,52 @@
+package net.odyssi.log4jb.util;
+
+import java.util.List;
+
+/**
+ * Shared knowledge about the shape of log messages generated by Log4JB.
+ * <p>
+ * Generated messages always start with the method signature followed by {@link #SEPARATOR}, for example
+ * {@code "processOrder(String,int) - start"}.
+ */
+public final class GeneratedLogMessages {
+
+    public static final String SEPARATOR = " - ";
+
+    public static final String START = "start";
+    public static final String END = "end";
+    public static final String CAUGHT_EXCEPTION = "caught exception";
+    public static final String EXCEPTION_IGNORED = "exception ignored";
+    public static final String EMPTY_LINE = "(empty line)";
+
+    private static final List<String> FIXED_SUFFIXES = List.of(START, END, CAUGHT_EXCEPTION, EXCEPTION_IGNORED, EMPTY_LINE);
+
+    private GeneratedLogMessages() {
+        // Utility class
+    }
+
+    /**
+     * Builds a generated message for the given signature, e.g. {@code "doWork() - start"}.
+     */
+    public static String of(String methodSignature, String suffix) {
+        return methodSignature + SEPARATOR + suffix;
+    }
+
+    /**
+     * Returns whether the message looks like it was generated by Log4JB, either because it carries the
+     * signature of its enclosing method or because it ends with one of the fixed generated suffixes.
+     *
+     * @param message         The literal log message
+     * @param methodSignature The signature of the enclosing method, or an empty string if unknown
+     */
+    public static boolean isGenerated(String message, String methodSignature) {
+        final int separatorIndex = message.indexOf(SEPARATOR);
+        if (separatorIndex == -1) {
+            return false;
+        }
+        if (!methodSignature.isEmpty() && message.startsWith(methodSignature + SEPARATOR)) {
+            return true;
+        }
+        final String suffix = message.substring(message.lastIndexOf(SEPARATOR) + SEPARATOR.length());
+        return FIXED_SUFFIXES.contains(suffix);
+    }
+}
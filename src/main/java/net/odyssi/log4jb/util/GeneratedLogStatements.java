@@ -0,0 +1,250 @@
+package net.odyssi.log4jb.util;
+
+import com.intellij.psi.*;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+
+/**
+ * Structural recognition of log statements generated by Log4JB.
+ * <p>
+ * Instead of searching the text of a whole method body, each candidate statement is matched by shape: an
+ * optional {@code if} guard on the logger and/or a constant-guard flag wrapping a single call on the logger, whose literal message argument
+ * equals the expected message. Every check looks at a single statement only, so detecting existing statements
+ * at every insertion point of a method is linear in the number of insertion points, and arbitrary strings that
+ * merely contain {@code "- start"} are never mistaken for generated statements.
+ * <p>
+ * Generated statements can optionally be followed by a {@link #MARKER} comment, which identifies them in
+ * constant time even if the logger field has since been renamed.
+ */
+public final class GeneratedLogStatements {
+
+    public static final String MARKER = "// log4jb";
+
+    private static final Set<String> LEVELS = Set.of("trace", "debug", "info", "warn", "error", "fatal");
+    private static final Set<String> LOG_METHOD_NAMES = Set.of("trace", "debug", "info", "warn", "error", "fatal",
+            "finest", "finer", "fine", "config", "warning", "severe", "log");
+
+    private GeneratedLogStatements() {
+        // Utility class
+    }
+
+    /**
+     * Returns whether the statement is a generated log statement on the given logger with exactly the given message.
+     *
+     * @param statement  The statement to check, may be {@code null}
+     * @param loggerName The name of the logger field
+     * @param message    The expected literal message
+     */
+    public static boolean isLogStatement(@Nullable PsiStatement statement, String loggerName, String message) {
+        if (statement == null) {
+            return false;
+        }
+        final PsiMethodCallExpression call = getLoggerCall(statement, isMarked(statement) ? null : loggerName);
+        return call != null && message.equals(getMessage(call));
+    }
+
+    /**
+     * Returns whether the statement is a log statement on the given logger at one of the given levels,
+     * regardless of its message.
+     */
+    public static boolean isLogStatementAtLevel(@Nullable PsiStatement statement, String loggerName, String... levels) {
+        if (statement == null) {
+            return false;
+        }
+        final PsiMethodCallExpression call = getLoggerCall(statement, loggerName);
+        if (call == null) {
+            return false;
+        }
+        final String level = getLevel(call);
+        for (String candidate : levels) {
+            if (candidate.equals(level)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the logger call made by the statement, unwrapping a single-statement {@code if} guard.
+     *
+     * @param statement  The statement
+     * @param loggerName The name of the logger field, or {@code null} to accept any receiver
+     * @return The logger call, or {@code null} if the statement is not a (guarded) logger call
+     */
+    @Nullable
+    public static PsiMethodCallExpression getLoggerCall(PsiStatement statement, @Nullable String loggerName) {
+        PsiStatement candidate = statement;
+        if (candidate instanceof PsiIfStatement ifStatement) {
+            if (ifStatement.getElseBranch() != null || !isGuardCondition(ifStatement.getCondition(), loggerName)) {
+                return null;
+            }
+            candidate = ifStatement.getThenBranch();
+            if (candidate instanceof PsiBlockStatement blockStatement) {
+                final PsiStatement[] statements = blockStatement.getCodeBlock().getStatements();
+                candidate = statements.length == 1 ? statements[0] : null;
+            }
+        }
+        if (candidate instanceof PsiExpressionStatement expressionStatement
+                && expressionStatement.getExpression() instanceof PsiMethodCallExpression call
+                && isLoggerCall(call, loggerName)) {
+            return call;
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the condition guards a log statement: a level check on the logger, a constant-guard flag
+     * (see {@link ConstantGuards}), or a conjunction of those.
+     */
+    private static boolean isGuardCondition(@Nullable PsiExpression condition, @Nullable String loggerName) {
+        if (condition instanceof PsiPolyadicExpression polyadic && JavaTokenType.ANDAND.equals(polyadic.getOperationTokenType())) {
+            for (PsiExpression operand : polyadic.getOperands()) {
+                if (!ConstantGuards.isFlagReference(operand) && !isLoggerCall(operand, loggerName)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return ConstantGuards.isFlagReference(condition) || isLoggerCall(condition, loggerName);
+    }
+
+    /**
+     * Returns whether the expression is a method call whose call chain starts at the given logger field, either
+     * directly or through a {@linkplain LoggerFields#isHolderReference(PsiExpression) logger holder}.
+     */
+    public static boolean isLoggerCall(@Nullable PsiExpression expression, @Nullable String loggerName) {
+        if (!(expression instanceof PsiMethodCallExpression call)) {
+            return false;
+        }
+        final String name = getLoggerName(call);
+        return name != null && (loggerName == null || loggerName.equals(name));
+    }
+
+    /**
+     * Returns the name of the field a call chain starts at, such as {@code logger} for
+     * {@code logger.atFine().log(...)} or {@code Log4jbLoggerHolder.logger.debug(...)}.
+     *
+     * @return The name, or {@code null} if the chain does not start at an unqualified or holder-qualified field
+     */
+    @Nullable
+    public static String getLoggerName(PsiMethodCallExpression call) {
+        PsiExpression qualifier = call.getMethodExpression().getQualifierExpression();
+        while (qualifier instanceof PsiMethodCallExpression qualifierCall) {
+            qualifier = qualifierCall.getMethodExpression().getQualifierExpression();
+        }
+        if (qualifier instanceof PsiReferenceExpression reference
+                && (reference.getQualifierExpression() == null || LoggerFields.isHolderReference(reference.getQualifierExpression()))) {
+            return reference.getReferenceName();
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the call emits a log message on the given logger in any of the supported frameworks: a plain
+     * call such as {@code logger.debug(...)} or {@code logger.fine(...)}, {@code logger.log(Level.FINE, ...)}, or
+     * the final {@code log(...)} of a fluent chain such as {@code logger.atFine().log(...)}. Level checks and the
+     * intermediate links of a chain are not log calls. Works without resolving references.
+     *
+     * @param call       The call to check
+     * @param loggerName The name of the logger field, or {@code null} to accept any receiver
+     */
+    public static boolean isLogCall(PsiMethodCallExpression call, @Nullable String loggerName) {
+        return LOG_METHOD_NAMES.contains(call.getMethodExpression().getReferenceName())
+                && isLoggerCall(call, loggerName)
+                && LEVELS.contains(getLevel(call));
+    }
+
+    /**
+     * Returns the level of a logger call: the name of a plain call such as {@code logger.warn(...)}, the level
+     * selected by the link on the logger of a fluent chain such as {@code logger.atWarn()...log()}, or the level
+     * constant passed to {@code logger.log(Level.WARNING, ...)}. {@code java.util.logging} level names are
+     * normalized, so {@code logger.severe(...)} is at level {@code "error"}.
+     */
+    @Nullable
+    public static String getLevel(PsiMethodCallExpression call) {
+        PsiMethodCallExpression current = call;
+        while (current.getMethodExpression().getQualifierExpression() instanceof PsiMethodCallExpression qualifierCall) {
+            current = qualifierCall;
+        }
+        final String name = current.getMethodExpression().getReferenceName();
+        if (current != call && name != null && name.length() > 2 && name.startsWith("at")) {
+            return normalizeLevel(name.substring(2));
+        }
+        final PsiExpression[] arguments = call.getArgumentList().getExpressions();
+        if ("log".equals(name) && arguments.length > 0 && arguments[0] instanceof PsiReferenceExpression levelReference) {
+            return normalizeLevel(levelReference.getReferenceName());
+        }
+        return normalizeLevel(name);
+    }
+
+    @Nullable
+    private static String normalizeLevel(@Nullable String level) {
+        if (level == null) {
+            return null;
+        }
+        return switch (level.toLowerCase()) {
+            case "finest", "finer" -> "trace";
+            case "fine" -> "debug";
+            case "config" -> "info";
+            case "warning" -> "warn";
+            case "severe" -> "error";
+            default -> level.toLowerCase();
+        };
+    }
+
+    /**
+     * Returns the literal message of a logger call: the first string literal argument found along the call chain,
+     * or the literal returned by a message supplier such as {@code () -> "msg"}.
+     *
+     * @return The message, or {@code null} if no call in the chain has a literal string argument
+     */
+    @Nullable
+    public static String getMessage(PsiMethodCallExpression call) {
+        final PsiLiteralExpression literal = getMessageLiteral(call);
+        return literal == null ? null : (String) literal.getValue();
+    }
+
+    /**
+     * Returns the literal holding the message of a logger call, as described for {@link #getMessage}.
+     *
+     * @return The literal, or {@code null} if no call in the chain has a literal string argument
+     */
+    @Nullable
+    public static PsiLiteralExpression getMessageLiteral(PsiMethodCallExpression call) {
+        PsiExpression current = call;
+        PsiLiteralExpression message = null;
+        while (current instanceof PsiMethodCallExpression currentCall) {
+            for (PsiExpression argument : currentCall.getArgumentList().getExpressions()) {
+                final PsiExpression candidate = argument instanceof PsiLambdaExpression lambda
+                        && lambda.getBody() instanceof PsiExpression body ? body : argument;
+                if (candidate instanceof PsiLiteralExpression literal && literal.getValue() instanceof String) {
+                    // Keep walking: the message closest to the logger wins for fluent call chains.
+                    message = literal;
+                    break;
+                }
+            }
+            current = currentCall.getMethodExpression().getQualifierExpression();
+        }
+        return message;
+    }
+
+    /**
+     * Returns whether the statement is immediately followed by the {@link #MARKER} comment on the same line.
+     */
+    public static boolean isMarked(PsiStatement statement) {
+        PsiElement next = statement.getNextSibling();
+        if (next instanceof PsiWhiteSpace && !next.textContains('\n')) {
+            next = next.getNextSibling();
+        }
+        return next instanceof PsiComment && MARKER.equals(next.getText());
+    }
+
+    /**
+     * Adds the {@link #MARKER} comment right after a statement that has just been inserted.
+     */
+    public static void addMarker(PsiStatement statement) {
+        final PsiElementFactory factory = JavaPsiFacade.getElementFactory(statement.getProject());
+        statement.getParent().addAfter(factory.createCommentFromText(MARKER, statement), statement);
+    }
+}
@@ -0,0 +1,86 @@
+package net.odyssi.log4jb.util;
+
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Decides which local variables a generated lambda may capture at an insertion point.
+ * <p>
+ * Strategies only receive argument text, so they cannot tell whether a supplier such as {@code () -> compute(i)}
+ * would compile. This class looks at the PSI around the insertion point and hands the strategy the names of the
+ * locals and parameters that are not effectively final, through {@link LoggingStrategy#withNonCapturableLocals(Set)}.
+ * The check is conservative: a local without an initializer counts as not effectively final.
+ */
+public final class LambdaCaptures {
+
+    private LambdaCaptures() {
+        // Utility class
+    }
+
+    /**
+     * Returns the strategy to generate a statement with the given arguments at the given place. Must be called inside
+     * a read action.
+     *
+     * @param strategy The configured strategy
+     * @param context  The element the statement is inserted next to, or replaces
+     * @param args     Comma-separated argument expressions, or empty string if none
+     */
+    public static LoggingStrategy forStatementAt(LoggingStrategy strategy, PsiElement context, String args) {
+        if (args.isBlank()) {
+            return strategy;
+        }
+        final Set<String> names = findNonCapturableLocals(context, LogArguments.referencedNames(args));
+        return names.isEmpty() ? strategy : strategy.withNonCapturableLocals(names);
+    }
+
+    /**
+     * Returns those of the given names that resolve, at the context, to a local variable or parameter that is not
+     * effectively final. Must be called inside a read action.
+     */
+    public static Set<String> findNonCapturableLocals(PsiElement context, Collection<String> names) {
+        final Set<String> result = new LinkedHashSet<>();
+        final PsiResolveHelper resolveHelper = JavaPsiFacade.getInstance(context.getProject()).getResolveHelper();
+        for (String name : names) {
+            final PsiVariable variable = resolveHelper.resolveReferencedVariable(name, context);
+            if ((variable instanceof PsiLocalVariable || variable instanceof PsiParameter) && !isEffectivelyFinal(variable)) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the local variable or parameter is final or effectively final, i.e. never assigned after its
+     * declaration. Must be called inside a read action.
+     */
+    public static boolean isEffectivelyFinal(PsiVariable variable) {
+        if (variable.hasModifierProperty(PsiModifier.FINAL) || variable instanceof PsiResourceVariable) {
+            return true;
+        }
+        final PsiElement scope;
+        if (variable instanceof PsiParameter parameter) {
+            scope = parameter.getDeclarationScope();
+        } else if (variable instanceof PsiLocalVariable && variable.hasInitializer()) {
+            scope = PsiTreeUtil.getParentOfType(variable, PsiCodeBlock.class, PsiForStatement.class);
+        } else {
+            return false;
+        }
+        if (scope == null) {
+            return false;
+        }
+        for (PsiReferenceExpression reference : PsiTreeUtil.findChildrenOfType(scope, PsiReferenceExpression.class)) {
+            if (variable.getName().equals(reference.getReferenceName())
+                    && PsiUtil.isAccessedForWriting(reference)
+                    && reference.isReferenceTo(variable)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,240 @@
+package net.odyssi.log4jb.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for the comma-separated argument expressions passed to a {@code LoggingStrategy}.
+ * <p>
+ * Strategies only receive source text, so these checks are purely lexical: they split argument lists, detect side
+ * effects and build concatenations. How expensive an argument is to evaluate is estimated by {@link ArgumentCost}.
+ */
+public final class LogArguments {
+
+    private static final Pattern QUALIFIED_NAME = Pattern.compile("[\\p{javaJavaIdentifierStart}][\\p{javaJavaIdentifierPart}]*(\\.[\\p{javaJavaIdentifierStart}][\\p{javaJavaIdentifierPart}]*)*");
+    private static final Pattern NUMBER = Pattern.compile("-?(0[xXbB])?[0-9a-fA-F_.]+[lLfFdD]?");
+    private static final Pattern STRING_OR_CHAR = Pattern.compile("\"([^\"\\\\]|\\\\.)*\"|'([^'\\\\]|\\\\.)+'");
+
+    private static final String PLACEHOLDER = "{}";
+
+    private LogArguments() {
+        // Utility class
+    }
+
+    /**
+     * Splits comma-separated argument expressions at top-level commas, ignoring commas inside parentheses,
+     * brackets, braces and string or character literals.
+     *
+     * @param args The comma-separated expressions, may be empty
+     * @return The trimmed expressions; empty if {@code args} is blank
+     */
+    public static List<String> split(String args) {
+        final List<String> result = new ArrayList<>();
+        if (args == null || args.isBlank()) {
+            return result;
+        }
+
+        int depth = 0;
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < args.length(); i++) {
+            final char c = args.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"', '\'' -> quote = c;
+                case '(', '[', '{' -> depth++;
+                case ')', ']', '}' -> depth--;
+                case ',' -> {
+                    if (depth == 0) {
+                        result.add(args.substring(start, i).trim());
+                        start = i + 1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        result.add(args.substring(start).trim());
+        return result;
+    }
+
+    /**
+     * Returns whether the expression is cheap and side-effect free to evaluate eagerly: a literal, {@code this},
+     * or a (qualified) variable or field reference.
+     */
+    public static boolean isSimple(String expression) {
+        final String trimmed = expression.trim();
+        return "this".equals(trimmed)
+                || QUALIFIED_NAME.matcher(trimmed).matches()
+                || NUMBER.matcher(trimmed).matches()
+                || STRING_OR_CHAR.matcher(trimmed).matches();
+    }
+
+    /**
+     * Returns whether the expression may modify state ({@code ++}, {@code --} or an assignment), in which case
+     * deferring or skipping its evaluation would change the program's behaviour.
+     */
+    public static boolean hasSideEffects(String expression) {
+        if (expression.contains("++") || expression.contains("--")) {
+            return true;
+        }
+        for (int i = 0; i < expression.length(); i++) {
+            if (expression.charAt(i) != '=') {
+                continue;
+            }
+            final char previous = i > 0 ? expression.charAt(i - 1) : ' ';
+            final char next = i + 1 < expression.length() ? expression.charAt(i + 1) : ' ';
+            if (next == '=') {
+                i++; // skip "=="
+            } else if (previous != '!' && previous != '<' && previous != '>' && previous != '=') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether any argument {@link #hasSideEffects(String) has side effects}.
+     */
+    public static boolean anyHasSideEffects(List<String> arguments) {
+        for (String argument : arguments) {
+            if (hasSideEffects(argument)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the simple names the expression may refer to as variables: identifiers outside string and character
+     * literals that are not the member part of a qualified name or method reference (the {@code b} in {@code a.b} or
+     * {@code A::b}). Keywords are not filtered out, as no variable can be named after one.
+     */
+    public static Set<String> referencedNames(String expression) {
+        final Set<String> names = new LinkedHashSet<>();
+        char quote = 0;
+        char previous = 0;
+        for (int i = 0; i < expression.length(); i++) {
+            final char c = expression.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                final int start = i;
+                while (i + 1 < expression.length() && Character.isJavaIdentifierPart(expression.charAt(i + 1))) {
+                    i++;
+                }
+                if (previous != '.' && previous != ':') {
+                    names.add(expression.substring(start, i + 1));
+                }
+                previous = 'a';
+                continue;
+            } else if (Character.isDigit(c)) {
+                // Skip the rest of a number literal, so suffixes such as the L in 10L are not taken for names.
+                while (i + 1 < expression.length() && Character.isJavaIdentifierPart(expression.charAt(i + 1))) {
+                    i++;
+                }
+            }
+            if (!Character.isWhitespace(c)) {
+                previous = c;
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Returns whether any of the arguments {@linkplain #referencedNames(String) refers to} one of the given names.
+     */
+    public static boolean anyReferences(List<String> arguments, Collection<String> names) {
+        if (names.isEmpty()) {
+            return false;
+        }
+        for (String argument : arguments) {
+            for (String name : referencedNames(argument)) {
+                if (names.contains(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of {@code {}} placeholders in a message.
+     */
+    public static int countPlaceholders(String message) {
+        int count = 0;
+        for (int index = message.indexOf(PLACEHOLDER); index >= 0; index = message.indexOf(PLACEHOLDER, index + PLACEHOLDER.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Builds a string concatenation expression from a message whose {@code {}} placeholders are replaced by the
+     * arguments, for frameworks without parameterized messages. Arguments without a placeholder are appended,
+     * separated by {@code ", "}. Non-simple arguments are parenthesized so operator precedence is kept.
+     *
+     * @param message   The message text, as it appears inside a string literal
+     * @param arguments The argument expressions
+     * @return The concatenation, or just the quoted message if there are no arguments
+     */
+    public static String concatenate(String message, List<String> arguments) {
+        if (arguments.isEmpty()) {
+            return "\"" + message + "\"";
+        }
+
+        final StringBuilder expression = new StringBuilder();
+        int argumentIndex = 0;
+        int start = 0;
+        for (int index = message.indexOf(PLACEHOLDER); index >= 0 && argumentIndex < arguments.size();
+             index = message.indexOf(PLACEHOLDER, start)) {
+            appendLiteral(expression, message.substring(start, index), argumentIndex == 0);
+            appendArgument(expression, arguments.get(argumentIndex++));
+            start = index + PLACEHOLDER.length();
+        }
+        String remainder = message.substring(start);
+        while (argumentIndex < arguments.size()) {
+            appendLiteral(expression, remainder + ", ", argumentIndex == 0 && expression.isEmpty());
+            appendArgument(expression, arguments.get(argumentIndex++));
+            remainder = "";
+        }
+        if (!remainder.isEmpty()) {
+            expression.append(" + \"").append(remainder).append('"');
+        }
+        return expression.toString();
+    }
+
+    private static void appendLiteral(StringBuilder expression, String literal, boolean first) {
+        // The leading operand must be a string, or "a + b" would be an arithmetic addition.
+        if (literal.isEmpty() && !first) {
+            return;
+        }
+        if (!expression.isEmpty()) {
+            expression.append(" + ");
+        }
+        expression.append('"').append(literal).append('"');
+    }
+
+    private static void appendArgument(StringBuilder expression, String argument) {
+        expression.append(" + ").append(isSimple(argument) ? argument : "(" + argument + ")");
+    }
+}
@@ -0,0 +1,57 @@
+package net.odyssi.log4jb.util;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * How a log statement defers the evaluation of its arguments until the level is known to be enabled, as chosen
+ * from the {@link ArgumentCost} of the arguments.
+ */
+public enum LogDeferral {
+
+    /**
+     * A plain call; all arguments are cheap, so a guard would only add bytecode.
+     */
+    NONE,
+    /**
+     * The call is wrapped in an {@code if} on the level.
+     */
+    GUARD,
+    /**
+     * Expensive arguments are passed as lambda suppliers.
+     */
+    SUPPLIER;
+
+    /**
+     * Chooses the deferral for a statement with the given arguments.
+     * <ul>
+     *     <li>Arguments with side effects are guarded, since a supplier would change when they run.</li>
+     *     <li>Cheap arguments are passed as they are.</li>
+     *     <li>Otherwise, a supplier is used if the framework supports one, and a guard if not.</li>
+     * </ul>
+     *
+     * @param arguments         The argument expressions
+     * @param supportsSuppliers Whether the framework accepts lazily supplied arguments
+     */
+    public static LogDeferral choose(List<String> arguments, boolean supportsSuppliers) {
+        return choose(arguments, supportsSuppliers, Set.of());
+    }
+
+    /**
+     * Chooses the deferral for a statement with the given arguments, at a place where the given local variables
+     * are not effectively final. A lambda cannot capture those, so a supplier referring to one becomes a guard.
+     *
+     * @param arguments           The argument expressions
+     * @param supportsSuppliers   Whether the framework accepts lazily supplied arguments
+     * @param nonCapturableLocals The names of the locals and parameters a lambda cannot capture here
+     */
+    public static LogDeferral choose(List<String> arguments, boolean supportsSuppliers, Set<String> nonCapturableLocals) {
+        if (LogArguments.anyHasSideEffects(arguments)) {
+            return GUARD;
+        }
+        if (ArgumentCost.classifyAll(arguments).isCheap()) {
+            return NONE;
+        }
+        return supportsSuppliers && !LogArguments.anyReferences(arguments, nonCapturableLocals) ? SUPPLIER : GUARD;
+    }
+}
@@ -0,0 +1,148 @@
+package net.odyssi.log4jb.util;
+
+import com.intellij.psi.*;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Shared logic for recognising and declaring the logger field of a class.
+ * <p>
+ * Strategies with a {@linkplain LoggingStrategy#getLoggerHolderClassName() logger holder} declare the field in a
+ * private nested {@value #HOLDER_CLASS_NAME} class instead, so the logger is only created when the holder is first
+ * used rather than when the class itself is initialized.
+ */
+public final class LoggerFields {
+
+    public static final String HOLDER_CLASS_NAME = "Log4jbLoggerHolder";
+
+    private LoggerFields() {
+        // Utility class
+    }
+
+    /**
+     * Returns whether the field is a logger field for the given strategy, either because it has the strategy's
+     * logger field name or because it is typed as the strategy's logger type (e.g., {@code LOG}, {@code LOGGER}).
+     *
+     * @param field    The field to check
+     * @param strategy The logging strategy
+     */
+    public static boolean isLoggerField(PsiField field, LoggingStrategy strategy) {
+        if (strategy.getLoggerHolderClassName() != null && !isHolderClass(field.getContainingClass())) {
+            return false;
+        }
+        return strategy.getLoggerFieldName().equals(field.getName()) || hasLoggerType(field, strategy);
+    }
+
+    /**
+     * Returns whether the field is typed as the strategy's logger type.
+     */
+    private static boolean hasLoggerType(PsiField field, LoggingStrategy strategy) {
+        final String loggerTypeName = strategy.getLoggerTypeName();
+        final String simpleTypeName = loggerTypeName.contains(".")
+                ? loggerTypeName.substring(loggerTypeName.lastIndexOf('.') + 1)
+                : loggerTypeName;
+
+        final String canonicalText = field.getType().getCanonicalText();
+        if (loggerTypeName.equals(canonicalText)) {
+            return true;
+        }
+        // When the type cannot be fully resolved (e.g., in some environments),
+        // fall back to checking the simple name against the file's imports.
+        if (simpleTypeName.equals(canonicalText)) {
+            PsiFile containingFile = field.getContainingFile();
+            if (containingFile instanceof PsiJavaFile javaFile && javaFile.getImportList() != null) {
+                for (PsiImportStatement importStatement : javaFile.getImportList().getImportStatements()) {
+                    if (loggerTypeName.equals(importStatement.getQualifiedName())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the logger field declared directly in the class, or {@code null} if there is none. A field with the
+     * strategy's logger field name only counts if it is also typed as the strategy's logger, so an unrelated field
+     * that happens to be called {@code logger} is never treated (or removed) as the logger.
+     *
+     * @param psiClass The class to search
+     * @param strategy The logging strategy
+     */
+    @Nullable
+    public static PsiField findLoggerField(PsiClass psiClass, LoggingStrategy strategy) {
+        final String holderClassName = strategy.getLoggerHolderClassName();
+        if (holderClassName != null) {
+            final PsiClass holder = psiClass.findInnerClassByName(holderClassName, false);
+            final PsiField field = holder == null ? null : holder.findFieldByName(strategy.getLoggerFieldName(), false);
+            return field != null && hasLoggerType(field, strategy) ? field : null;
+        }
+        final PsiField byName = psiClass.findFieldByName(strategy.getLoggerFieldName(), false);
+        if (byName != null && hasLoggerType(byName, strategy)) {
+            return byName;
+        }
+        for (PsiField field : psiClass.getFields()) {
+            if (isLoggerField(field, strategy)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the strategy's logger field declaration to the class and shortens its fully-qualified references.
+     *
+     * @param psiClass The class to add the field to
+     * @param strategy The logging strategy
+     * @return The added field
+     */
+    public static PsiField addLoggerField(PsiClass psiClass, LoggingStrategy strategy) {
+        final var project = psiClass.getProject();
+        final var factory = JavaPsiFacade.getElementFactory(project);
+        final var codeStyleManager = JavaCodeStyleManager.getInstance(project);
+
+        // Create the logger field from text using fully qualified names.
+        final var loggerFieldText = strategy.getLoggerFieldDeclaration(psiClass.getName());
+        if (strategy.getLoggerHolderClassName() != null) {
+            // The declaration is the whole holder class.
+            final var holder = factory.createClassFromText(loggerFieldText, psiClass).getInnerClasses()[0];
+            final var newHolder = (PsiClass) codeStyleManager.shortenClassReferences(psiClass.add(holder));
+            return newHolder.getFields()[0];
+        }
+        final var loggerField = factory.createFieldFromText(loggerFieldText, psiClass);
+
+        // Add the field to the class
+        final var newField = (PsiField) psiClass.add(loggerField);
+        // The `shortenClassReferences` method will automatically find the fully qualified names,
+        // add the required import statements, and replace them with simple names.
+        return (PsiField) codeStyleManager.shortenClassReferences(newField);
+    }
+
+    /**
+     * Returns whether the class is a logger holder generated for lazy logger declaration.
+     */
+    public static boolean isHolderClass(@Nullable PsiClass psiClass) {
+        return psiClass != null && HOLDER_CLASS_NAME.equals(psiClass.getName());
+    }
+
+    /**
+     * Returns whether the expression is an unqualified reference to a logger holder class, i.e. the qualifier of
+     * {@code Log4jbLoggerHolder.logger}.
+     */
+    public static boolean isHolderReference(@Nullable PsiExpression expression) {
+        return expression instanceof PsiReferenceExpression reference
+                && reference.getQualifierExpression() == null
+                && HOLDER_CLASS_NAME.equals(reference.getReferenceName());
+    }
+
+    /**
+     * Returns the class whose code uses the logger field: the class declaring it, or the class enclosing the
+     * logger holder.
+     */
+    @Nullable
+    public static PsiClass getOwningClass(PsiField loggerField) {
+        final PsiClass containingClass = loggerField.getContainingClass();
+        return isHolderClass(containingClass) ? containingClass.getContainingClass() : containingClass;
+    }
+}
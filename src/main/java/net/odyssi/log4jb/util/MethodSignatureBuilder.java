@@ -3,21 +3,36 @@ package net.odyssi.log4jb.util;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiParameter;
 import com.intellij.psi.PsiType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * Shared utility for building method signature strings used in log messages.
  * <p>
  * Example output: {@code "processOrder(String,int,List)"}
+ * <p>
+ * Callers that may ask for the same method several times (class-wide and project-wide operations)
+ * should prefer {@link #buildCached(PsiMethod)}.
  */
 public final class MethodSignatureBuilder {
 
+    private static final AtomicLong BUILD_COUNT = new AtomicLong();
+
     private MethodSignatureBuilder() {
         // Utility class
     }
 
+    /**
+     * Returns the number of signatures computed so far by {@link #build(PsiMethod)}, for benchmarking the cache.
+     */
+    static long getBuildCount() {
+        return BUILD_COUNT.get();
+    }
+
     /**
      * Builds a human-readable method signature from a PSI method.
      *
@@ -28,6 +43,7 @@ public final class MethodSignatureBuilder {
         if (method == null) {
             return "unknown()";
         }
+        BUILD_COUNT.incrementAndGet();
         final String methodName = method.getName();
         final String parameterTypes = Arrays.stream(method.getParameterList().getParameters())
                 .map(PsiParameter::getType)
@@ -36,4 +52,19 @@ public final class MethodSignatureBuilder {
 
         return String.format("%s(%s)", methodName, parameterTypes);
     }
+
+    /**
+     * Returns the same signature as {@link #build(PsiMethod)}, computed at most once per method until the file
+     * containing it changes. Edits elsewhere in the project leave the cached signature in place.
+     *
+     * @param method The PSI method to build a signature for
+     * @return A string like "methodName(ParamType1,ParamType2)"
+     */
+    public static String buildCached(PsiMethod method) {
+        if (method == null) {
+            return build(null);
+        }
+        return CachedValuesManager.getCachedValue(method, () -> CachedValueProvider.Result.create(
+                build(method), method.getContainingFile()));
+    }
 }
@@ -0,0 +1,130 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.psi.*;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.util.GeneratedLogMessages;
+import net.odyssi.log4jb.util.MethodSignatureBuilder;
+
+import java.util.List;
+
+/**
+ * A PSI visitor that logs a method at the same points as {@link LogMethodVisitor}, but moves every log statement
+ * into a {@code private static} helper method next to it.
+ * <p>
+ * HotSpot decides whether to inline a method by its bytecode size ({@code MaxInlineSize}, {@code FreqInlineSize}),
+ * so every log statement inlined into a small hot method can change which methods get inlined. Here the method
+ * itself only gains a single {@code invokestatic} per log site, such as {@code log4jbStart_process_String();}; the
+ * level check, message and logger call live in the helper, which is cold unless the level is enabled.
+ * <p>
+ * Helpers are named after the method signature, so overloads get their own. A method whose first statement calls
+ * its start helper is considered instrumented and is left alone, as is a catch block that already calls a helper.
+ */
+public class ColdLogHelperMethodVisitor extends JavaRecursiveElementVisitor {
+
+    public static final String HELPER_PREFIX = "log4jb";
+    private static final String EXCEPTION_PARAMETER_NAME = "exception";
+
+    private final PsiMethod psiMethod;
+    private final LoggingStrategy strategy;
+    private final String methodSignature;
+    private final String helperSuffix;
+
+    public ColdLogHelperMethodVisitor(PsiMethod psiMethod, LoggingStrategy strategy) {
+        this.psiMethod = psiMethod;
+        this.strategy = strategy;
+        this.methodSignature = MethodSignatureBuilder.buildCached(psiMethod);
+        this.helperSuffix = methodSignature.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+
+    /**
+     * Returns whether the method is a helper generated by this visitor: a {@code private static void} method
+     * named {@code log4jb<Kind>_<signature>}.
+     */
+    public static boolean isHelperMethod(PsiMethod method) {
+        final String name = method.getName();
+        return name.startsWith(HELPER_PREFIX) && name.indexOf('_') > HELPER_PREFIX.length()
+                && method.hasModifierProperty(PsiModifier.PRIVATE) && method.hasModifierProperty(PsiModifier.STATIC)
+                && PsiTypes.voidType().equals(method.getReturnType());
+    }
+
+    /**
+     * Returns the name of a helper of this method, e.g. {@code log4jbStart_process_String} for the start helper of
+     * {@code process(String)}.
+     */
+    public String getHelperName(String kind) {
+        return HELPER_PREFIX + kind + "_" + helperSuffix;
+    }
+
+    @Override
+    public void visitMethod(PsiMethod method) {
+        final PsiCodeBlock body = method.getBody();
+        final PsiClass containingClass = method.getContainingClass();
+        if (!method.equals(psiMethod) || method.isConstructor() || isHelperMethod(method) || body == null
+                || containingClass == null) {
+            return;
+        }
+
+        final String startHelper = getHelperName("Start");
+        final String endHelper = getHelperName("End");
+        if (!startsWithCallTo(body, startHelper)) {
+            // Helpers are added right after the method, so the last one added comes first.
+            addHelper(containingClass, endHelper, "",
+                    strategy.getGuardedDebugStatement(GeneratedLogMessages.of(methodSignature, GeneratedLogMessages.END), ""));
+            addHelper(containingClass, startHelper, "",
+                    strategy.getGuardedDebugStatement(GeneratedLogMessages.of(methodSignature, GeneratedLogMessages.START), ""));
+            InstrumentationSupport.insertAtEntryAndExits(method, List.of(startHelper + "();"), List.of(endHelper + "();"));
+        }
+
+        final PsiElementFactory factory = JavaPsiFacade.getElementFactory(method.getProject());
+        for (PsiCatchSection catchSection : PsiTreeUtil.findChildrenOfType(body, PsiCatchSection.class)) {
+            final PsiCodeBlock catchBlock = catchSection.getCatchBlock();
+            final PsiParameter exceptionParameter = catchSection.getParameter();
+            if (catchBlock == null || exceptionParameter == null || startsWithCallTo(catchBlock, HELPER_PREFIX)
+                    || !LogMethodVisitor.belongsDirectlyToMethod(catchSection, method)) {
+                continue;
+            }
+
+            final String helper;
+            if (catchBlock.getStatementCount() == 0) {
+                helper = getHelperName("Ignored");
+                addHelper(containingClass, helper, "Throwable " + EXCEPTION_PARAMETER_NAME, strategy.getWarnStatement(
+                        GeneratedLogMessages.of(methodSignature, GeneratedLogMessages.EXCEPTION_IGNORED), EXCEPTION_PARAMETER_NAME));
+            } else {
+                helper = getHelperName("Caught");
+                addHelper(containingClass, helper, "Throwable " + EXCEPTION_PARAMETER_NAME, strategy.getErrorStatement(
+                        GeneratedLogMessages.of(methodSignature, GeneratedLogMessages.CAUGHT_EXCEPTION), EXCEPTION_PARAMETER_NAME));
+            }
+            catchBlock.addAfter(factory.createStatementFromText(helper + "(" + exceptionParameter.getName() + ");", catchBlock),
+                    catchBlock.getLBrace());
+        }
+    }
+
+    /**
+     * Adds a helper method after the instrumented method, unless the class already declares one with that name.
+     */
+    private void addHelper(PsiClass containingClass, String name, String parameters, String statement) {
+        if (containingClass.findMethodsByName(name, false).length > 0) {
+            return;
+        }
+        final PsiElementFactory factory = JavaPsiFacade.getElementFactory(containingClass.getProject());
+        final PsiMethod helper = factory.createMethodFromText(
+                "private static void " + name + "(" + parameters + ") {\n" + statement + "\n}", containingClass);
+        JavaCodeStyleManager.getInstance(containingClass.getProject())
+                .shortenClassReferences(containingClass.addAfter(helper, psiMethod));
+    }
+
+    /**
+     * Returns whether the first statement of the block calls a method whose name starts with the given prefix.
+     */
+    private static boolean startsWithCallTo(PsiCodeBlock block, String namePrefix) {
+        final PsiStatement[] statements = block.getStatements();
+        if (statements.length > 0 && statements[0] instanceof PsiExpressionStatement expressionStatement
+                && expressionStatement.getExpression() instanceof PsiMethodCallExpression call) {
+            final String name = call.getMethodExpression().getReferenceName();
+            return call.getMethodExpression().getQualifierExpression() == null && name != null && name.startsWith(namePrefix);
+        }
+        return false;
+    }
+}
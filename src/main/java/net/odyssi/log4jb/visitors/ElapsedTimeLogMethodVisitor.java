@@ -0,0 +1,86 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiMethod;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.util.GeneratedLogMessages;
+
+import java.util.List;
+
+/**
+ * A PSI visitor that logs a single end statement with the elapsed time of each call, instead of the start and end
+ * statements of {@link LogMethodVisitor}.
+ * <p>
+ * The method reads {@code System.nanoTime()} at entry only when the level is enabled, and its body is wrapped in one
+ * {@code try}/{@code finally} whose {@code finally} block logs, for example, {@code "process(String) - end (3 ms)"}.
+ * This covers every return and every exception with one statement, where {@link LogMethodVisitor} adds one per
+ * return and none for a throw:
+ * <pre>
+ * final long log4jbStart = logger.isDebugEnabled() ? System.nanoTime() : 0L;
+ * try {
+ *     original body
+ * } finally {
+ *     if (log4jbStart != 0L) {
+ *         final long log4jbElapsedMillis = (System.nanoTime() - log4jbStart) / 1_000_000L;
+ *         logger.debug("process(String) - end ({} ms)", log4jbElapsedMillis);
+ *     }
+ * }
+ * </pre>
+ * A disabled level costs one level check per call. In the rare case {@code System.nanoTime()} returns exactly zero,
+ * the call is not logged.
+ */
+public class ElapsedTimeLogMethodVisitor extends MethodBodyWrappingVisitor {
+
+    public static final String START_VARIABLE_NAME = "log4jbStart";
+    protected static final String ELAPSED_VARIABLE_NAME = "log4jbElapsedMillis";
+
+    protected final LoggingStrategy strategy;
+
+    public ElapsedTimeLogMethodVisitor(PsiMethod psiMethod, LoggingStrategy strategy) {
+        super(psiMethod);
+        this.strategy = strategy;
+    }
+
+    /**
+     * Removes the instrumentation added by this visitor from the method, keeping its original body.
+     *
+     * @return {@code false} if the method was not instrumented
+     */
+    public static boolean removeFrom(PsiMethod method) {
+        final PsiCodeBlock body = method.getBody();
+        return body != null && unwrapBody(body, START_VARIABLE_NAME);
+    }
+
+    /**
+     * Returns the level of the end statement.
+     */
+    protected String getLevel() {
+        return "debug";
+    }
+
+    /**
+     * Returns the statement that logs the end of a call whose duration in milliseconds is in
+     * {@value #ELAPSED_VARIABLE_NAME}.
+     */
+    protected String getEndStatement() {
+        return strategy.getLogStatement(getLevel(),
+                GeneratedLogMessages.of(methodSignature, GeneratedLogMessages.END) + " ({} ms)", ELAPSED_VARIABLE_NAME);
+    }
+
+    @Override
+    protected String getLocalVariableName() {
+        return START_VARIABLE_NAME;
+    }
+
+    @Override
+    protected List<String> getPrologueStatements() {
+        return List.of(String.format("final long %s = %s ? System.nanoTime() : 0L;",
+                START_VARIABLE_NAME, strategy.getLevelEnabledCheck(getLevel())));
+    }
+
+    @Override
+    protected List<String> getFinallyStatements() {
+        return List.of(String.format("if (%s != 0L) {\nfinal long %s = (System.nanoTime() - %s) / 1_000_000L;\n%s\n}",
+                START_VARIABLE_NAME, ELAPSED_VARIABLE_NAME, START_VARIABLE_NAME, getEndStatement()));
+    }
+}
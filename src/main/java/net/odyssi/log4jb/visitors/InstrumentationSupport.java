@@ -0,0 +1,175 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.psi.*;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import net.odyssi.log4jb.plan.LogInsertion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers shared by the visitors that instrument methods with something other than log statements.
+ */
+final class InstrumentationSupport {
+
+    private static final String RESULT_VARIABLE_NAME = "log4jbResult";
+
+    private InstrumentationSupport() {
+        // Utility class
+    }
+
+    /**
+     * Returns whether the first statement of the body declares a local variable with the given name, which is how
+     * an already instrumented method is recognised.
+     */
+    static boolean startsWithDeclarationOf(PsiCodeBlock body, String variableName) {
+        final PsiStatement[] statements = body.getStatements();
+        if (statements.length > 0 && statements[0] instanceof PsiDeclarationStatement declaration) {
+            for (PsiElement element : declaration.getDeclaredElements()) {
+                if (element instanceof PsiLocalVariable variable && variableName.equals(variable.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the nested class to the top-level class unless a class with the same name is already declared there.
+     */
+    static void addNestedClassIfMissing(PsiClass topLevelClass, String classText) {
+        final PsiElementFactory factory = JavaPsiFacade.getElementFactory(topLevelClass.getProject());
+        final PsiClass nestedClass = factory.createClassFromText(classText, topLevelClass).getInnerClasses()[0];
+        if (topLevelClass.findInnerClassByName(nestedClass.getName(), false) == null) {
+            JavaCodeStyleManager.getInstance(topLevelClass.getProject()).shortenClassReferences(topLevelClass.add(nestedClass));
+        }
+    }
+
+    /**
+     * Adds the field to the top-level class unless a field with the same name is already declared there. The field
+     * goes before the first member other than an enum constant, so that static initializers and the initializers of
+     * other static fields see it initialized. In an interface, where fields are implicitly public, a {@code private}
+     * modifier is dropped.
+     */
+    static void addFieldIfMissing(PsiClass topLevelClass, String fieldText) {
+        final PsiElementFactory factory = JavaPsiFacade.getElementFactory(topLevelClass.getProject());
+        final PsiField field = factory.createFieldFromText(fieldText, topLevelClass);
+        if (topLevelClass.findFieldByName(field.getName(), false) != null) {
+            return;
+        }
+        if (topLevelClass.isInterface()) {
+            PsiUtil.setModifierProperty(field, PsiModifier.PRIVATE, false);
+        }
+        final PsiElement firstMember = findFirstMember(topLevelClass);
+        final PsiElement added = firstMember != null ? topLevelClass.addBefore(field, firstMember) : topLevelClass.add(field);
+        JavaCodeStyleManager.getInstance(topLevelClass.getProject()).shortenClassReferences(added);
+    }
+
+    private static PsiElement findFirstMember(PsiClass psiClass) {
+        final PsiElement lBrace = psiClass.getLBrace();
+        for (PsiElement child = lBrace == null ? null : lBrace.getNextSibling(); child != null; child = child.getNextSibling()) {
+            if (child instanceof PsiMember && !(child instanceof PsiEnumConstant)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Inserts statements at method entry and before every exit: each direct {@code return} (excluding those in
+     * lambdas and anonymous classes) and the fall-through end. Exit statements are inserted before the
+     * {@code return}, so a returned expression is evaluated after them; a {@code return} that is the direct body
+     * of an {@code if} or loop is wrapped in a block first.
+     *
+     * @return The inserted statements
+     */
+    static List<PsiElement> insertAtEntryAndExits(PsiMethod method, List<String> entryStatements, List<String> exitStatements) {
+        return insertAtEntryAndExits(method, entryStatements, exitStatements, false);
+    }
+
+    /**
+     * Same as {@link #insertAtEntryAndExits(PsiMethod, List, List)}, optionally running the exit statements after
+     * the returned expression: a returned expression other than a literal or a local variable is first evaluated
+     * into a final local, as in {@code final int log4jbResult = compute(); exit statements; return log4jbResult;}.
+     * Visitors that measure the method need this, so the work done by the expression is included.
+     *
+     * @param afterReturnValue Whether the exit statements must run after the returned expression is evaluated
+     * @return The inserted statements
+     */
+    static List<PsiElement> insertAtEntryAndExits(PsiMethod method, List<String> entryStatements, List<String> exitStatements,
+                                                  boolean afterReturnValue) {
+        final PsiCodeBlock body = method.getBody();
+        final List<PsiElement> inserted = new ArrayList<>();
+        if (body == null) {
+            return inserted;
+        }
+        final PsiElementFactory factory = JavaPsiFacade.getElementFactory(method.getProject());
+        final PsiStatement[] statements = body.getStatements();
+        final PsiStatement lastStatement = statements.length == 0 ? null : statements[statements.length - 1];
+
+        // 1. Exits: direct returns, then the fall-through end
+        for (PsiReturnStatement returnStatement : PsiTreeUtil.findChildrenOfType(body, PsiReturnStatement.class)) {
+            if (LogMethodVisitor.belongsDirectlyToMethod(returnStatement, method)) {
+                final PsiStatement anchor = LogInsertion.ensureInCodeBlock(returnStatement, factory);
+                if (afterReturnValue) {
+                    final PsiStatement declaration = evaluateReturnValueFirst((PsiReturnStatement) anchor, method, factory);
+                    if (declaration != null) {
+                        inserted.add(declaration);
+                    }
+                }
+                for (String text : exitStatements) {
+                    inserted.add(anchor.getParent().addBefore(factory.createStatementFromText(text, anchor), anchor));
+                }
+            }
+        }
+        if (!(lastStatement instanceof PsiReturnStatement) && !(lastStatement instanceof PsiThrowStatement)) {
+            for (String text : exitStatements) {
+                inserted.add(body.addBefore(factory.createStatementFromText(text, body), body.getRBrace()));
+            }
+        }
+
+        // 2. Entry
+        PsiElement anchor = body.getLBrace();
+        for (String text : entryStatements) {
+            anchor = body.addAfter(factory.createStatementFromText(text, body), anchor);
+            inserted.add(anchor);
+        }
+        return inserted;
+    }
+
+    /**
+     * Moves the value of the {@code return} into a final local declared just before it, unless evaluating the value
+     * does no work.
+     *
+     * @return The inserted declaration, or {@code null} if the {@code return} was left alone
+     */
+    private static PsiStatement evaluateReturnValueFirst(PsiReturnStatement returnStatement, PsiMethod method,
+                                                         PsiElementFactory factory) {
+        final PsiExpression value = returnStatement.getReturnValue();
+        final PsiType returnType = method.getReturnType();
+        if (value == null || returnType == null || PsiTypes.voidType().equals(returnType) || isTrivial(value)) {
+            return null;
+        }
+        final String name = JavaCodeStyleManager.getInstance(method.getProject())
+                .suggestUniqueVariableName(RESULT_VARIABLE_NAME, returnStatement, true);
+        final PsiStatement declaration = factory.createStatementFromText(
+                String.format("final %s %s = %s;", returnType.getCanonicalText(), name, value.getText()), returnStatement);
+        final PsiStatement added = (PsiStatement) returnStatement.getParent().addBefore(declaration, returnStatement);
+        value.replace(factory.createExpressionFromText(name, returnStatement));
+        return added;
+    }
+
+    private static boolean isTrivial(PsiExpression expression) {
+        final PsiExpression unwrapped = PsiUtil.skipParenthesizedExprDown(expression);
+        if (unwrapped instanceof PsiLiteralExpression) {
+            return true;
+        }
+        if (unwrapped instanceof PsiReferenceExpression reference) {
+            final PsiElement target = reference.resolve();
+            return target instanceof PsiLocalVariable || target instanceof PsiParameter;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,61 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+
+import java.util.List;
+
+/**
+ * A PSI visitor that instruments a method with a Java Flight Recorder event instead of start/end log statements.
+ * <p>
+ * A nested {@code jdk.jfr.Event} subclass, {@value #EVENT_CLASS_NAME}, is added once per top-level class, with a
+ * field holding the method signature. The method then creates the event and calls {@code begin()} at entry, and
+ * before every return and the fall-through end calls {@code end()} and, if {@code shouldCommit()} holds, sets the
+ * signature and calls {@code commit()}. A returned expression is evaluated into a local first, so the event's
+ * duration includes it. When no recording has the event enabled, {@code shouldCommit()} is false
+ * and the JIT can eliminate the allocation, so the instrumentation is nearly free; when it is enabled, each event
+ * carries its start time and duration natively.
+ */
+public class JfrMethodVisitor extends MethodExitInstrumentationVisitor {
+
+    public static final String EVENT_CLASS_NAME = "Log4jbMethodEvent";
+    private static final String EVENT_VARIABLE_NAME = "log4jbEvent";
+
+    public JfrMethodVisitor(PsiMethod psiMethod) {
+        super(psiMethod);
+    }
+
+    @Override
+    protected String getLocalVariableName() {
+        return EVENT_VARIABLE_NAME;
+    }
+
+    @Override
+    protected List<String> getEntryStatements() {
+        return List.of(
+                String.format("final %s %s = new %s();", EVENT_CLASS_NAME, EVENT_VARIABLE_NAME, EVENT_CLASS_NAME),
+                EVENT_VARIABLE_NAME + ".begin();"
+        );
+    }
+
+    @Override
+    protected List<String> getExitStatements() {
+        return List.of(
+                EVENT_VARIABLE_NAME + ".end();",
+                String.format("if(%s.shouldCommit()) { %s.method = \"%s\"; %s.commit(); }",
+                        EVENT_VARIABLE_NAME, EVENT_VARIABLE_NAME, methodSignature, EVENT_VARIABLE_NAME)
+        );
+    }
+
+    @Override
+    protected void declare(PsiClass topLevelClass) {
+        InstrumentationSupport.addNestedClassIfMissing(topLevelClass, String.format(
+                "@jdk.jfr.Label(\"Method Execution\")\n" +
+                "@jdk.jfr.Category(\"Log4JB\")\n" +
+                "static final class %s extends jdk.jfr.Event {\n" +
+                "    @jdk.jfr.Label(\"Method\")\n" +
+                "    String method;\n" +
+                "}",
+                EVENT_CLASS_NAME));
+    }
+}
@@ -0,0 +1,194 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.logging.Slf4jLoggingStrategy;
+import net.odyssi.log4jb.plan.ClassLogPlan;
+import net.odyssi.log4jb.plan.LogInsertion;
+import net.odyssi.log4jb.settings.Log4jbSettings;
+import net.odyssi.log4jb.util.ConstantGuards;
+import net.odyssi.log4jb.util.GeneratedLogMessages;
+import net.odyssi.log4jb.util.GeneratedLogStatements;
+import net.odyssi.log4jb.util.LoggerFields;
+import net.odyssi.log4jb.util.MethodSignatureBuilder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A PSI visitor that instruments a whole class in a single traversal.
+ * <p>
+ * It produces the same result as running {@link DeclareLoggerVisitor} followed by one {@link LogMethodVisitor}
+ * per method, but instead of walking each method several times it visits every element of the class once,
+ * collecting all insertion points (method entry, direct returns, fall-through end, catch blocks) and the
+ * logger-declaration decision into a {@link ClassLogPlan}. The plan is applied afterwards, so the traversal
+ * itself never modifies the tree.
+ * <p>
+ * Member classes are not descended into, matching {@code LogClassAction}, which only instruments the
+ * methods declared directly in the class.
+ */
+public class LogClassVisitor extends JavaRecursiveElementWalkingVisitor {
+
+    private final PsiClass psiClass;
+    private final LoggingStrategy strategy;
+    private final boolean markGeneratedStatements;
+
+    private final Deque<MethodState> methods = new ArrayDeque<>();
+    private final List<LogInsertion> insertions = new ArrayList<>();
+    private boolean loggerDeclared = false;
+    private int visitedElementCount = 0;
+
+    public LogClassVisitor(PsiClass psiClass) {
+        this(psiClass, new Slf4jLoggingStrategy());
+    }
+
+    public LogClassVisitor(PsiClass psiClass, LoggingStrategy strategy) {
+        this.psiClass = psiClass;
+        this.strategy = strategy;
+        this.markGeneratedStatements = Log4jbSettings.getInstance(psiClass.getProject()).isMarkGeneratedStatements();
+    }
+
+    /**
+     * Returns the plan collected by the traversal. Only meaningful after the class has accepted this visitor.
+     */
+    public ClassLogPlan getPlan() {
+        final boolean declared = loggerDeclared && ConstantGuards.hasFlags(psiClass, strategy);
+        return new ClassLogPlan(psiClass, declared ? null : strategy, List.copyOf(insertions), markGeneratedStatements);
+    }
+
+    /**
+     * Returns the number of PSI elements visited, for benchmarking the traversal.
+     */
+    public int getVisitedElementCount() {
+        return visitedElementCount;
+    }
+
+    @Override
+    public void visitElement(PsiElement element) {
+        visitedElementCount++;
+        super.visitElement(element);
+    }
+
+    @Override
+    public void visitClass(PsiClass aClass) {
+        if (aClass.equals(psiClass)) {
+            super.visitClass(aClass);
+            return;
+        }
+        // Member classes are not instrumented; local and anonymous classes inside a logged method are
+        // still visited for their catch blocks, but their return statements are not the method's own.
+        if (methods.isEmpty()) {
+            return;
+        }
+        methods.peek().nestingDepth++;
+        super.visitClass(aClass);
+        methods.peek().nestingDepth--;
+    }
+
+    @Override
+    public void visitLambdaExpression(PsiLambdaExpression expression) {
+        if (methods.isEmpty()) {
+            super.visitLambdaExpression(expression);
+            return;
+        }
+        methods.peek().nestingDepth++;
+        super.visitLambdaExpression(expression);
+        methods.peek().nestingDepth--;
+    }
+
+    @Override
+    public void visitField(PsiField field) {
+        if (!loggerDeclared && psiClass.equals(LoggerFields.getOwningClass(field)) && LoggerFields.isLoggerField(field, strategy)) {
+            loggerDeclared = true;
+        }
+        super.visitField(field);
+    }
+
+    @Override
+    public void visitMethod(PsiMethod method) {
+        final PsiCodeBlock body = method.getBody();
+        if (!methods.isEmpty() || !psiClass.equals(method.getContainingClass()) || method.isConstructor() || body == null) {
+            super.visitMethod(method);
+            return;
+        }
+
+        final MethodState state = new MethodState(MethodSignatureBuilder.buildCached(method));
+        final PsiStatement[] statements = body.getStatements();
+
+        // 1. Method entry
+        if (statements.length == 0 || !GeneratedLogStatements.isLogStatement(statements[0], strategy.getLoggerFieldName(), state.startMessage)) {
+            insertions.add(LogInsertion.after(body.getLBrace(), strategy.getGuardedDebugStatement(state.startMessage, "")));
+        }
+
+        // 2. Direct returns and catch blocks are collected while walking the body.
+        methods.push(state);
+        super.visitMethod(method);
+        methods.pop();
+
+        // 3. Fall-through end
+        final PsiStatement lastStatement = statements.length == 0 ? null : statements[statements.length - 1];
+        if (lastStatement == null
+                || (!(lastStatement instanceof PsiReturnStatement)
+                && !(lastStatement instanceof PsiThrowStatement)
+                && !GeneratedLogStatements.isLogStatement(lastStatement, strategy.getLoggerFieldName(), state.endMessage))) {
+            insertions.add(LogInsertion.before(body.getRBrace(), strategy.getGuardedDebugStatement(state.endMessage, "")));
+        }
+    }
+
+    @Override
+    public void visitReturnStatement(PsiReturnStatement statement) {
+        super.visitReturnStatement(statement);
+
+        final MethodState state = methods.peek();
+        if (state == null || state.nestingDepth > 0) {
+            return;
+        }
+        final PsiStatement previous = PsiTreeUtil.getPrevSiblingOfType(statement, PsiStatement.class);
+        if (!GeneratedLogStatements.isLogStatement(previous, strategy.getLoggerFieldName(), state.endMessage)) {
+            insertions.add(LogInsertion.before(statement, strategy.getGuardedDebugStatement(state.endMessage, "")));
+        }
+    }
+
+    @Override
+    public void visitCatchSection(PsiCatchSection section) {
+        super.visitCatchSection(section);
+
+        final MethodState state = methods.peek();
+        final PsiCodeBlock catchBlock = section.getCatchBlock();
+        final PsiParameter exceptionParameter = section.getParameter();
+        if (state == null || catchBlock == null || exceptionParameter == null) {
+            return;
+        }
+
+        for (PsiStatement statement : catchBlock.getStatements()) {
+            if (GeneratedLogStatements.isLogStatementAtLevel(statement, strategy.getLoggerFieldName(), "warn", "error")) {
+                return;
+            }
+        }
+
+        final String exceptionName = exceptionParameter.getName();
+        final String logStatementText = catchBlock.getStatementCount() == 0
+                ? strategy.getWarnStatement(GeneratedLogMessages.of(state.signature, GeneratedLogMessages.EXCEPTION_IGNORED), exceptionName)
+                : strategy.getErrorStatement(GeneratedLogMessages.of(state.signature, GeneratedLogMessages.CAUGHT_EXCEPTION), exceptionName);
+        insertions.add(LogInsertion.after(catchBlock.getLBrace(), logStatementText));
+    }
+
+    /**
+     * Per-method traversal state for the method currently being instrumented.
+     */
+    private static class MethodState {
+        private final String signature;
+        private final String startMessage;
+        private final String endMessage;
+        private int nestingDepth = 0;
+
+        private MethodState(String signature) {
+            this.signature = signature;
+            this.startMessage = GeneratedLogMessages.of(signature, GeneratedLogMessages.START);
+            this.endMessage = GeneratedLogMessages.of(signature, GeneratedLogMessages.END);
+        }
+    }
+}
@@ -4,8 +4,15 @@ import com.intellij.psi.*;
 import com.intellij.psi.util.PsiTreeUtil;
 import net.odyssi.log4jb.logging.LoggingStrategy;
 import net.odyssi.log4jb.logging.Slf4jLoggingStrategy;
+import net.odyssi.log4jb.plan.LogInsertion;
+import net.odyssi.log4jb.settings.Log4jbSettings;
+import net.odyssi.log4jb.util.GeneratedLogMessages;
+import net.odyssi.log4jb.util.GeneratedLogStatements;
 import net.odyssi.log4jb.util.MethodSignatureBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A PSI visitor that instruments a Java method with start/end and exception log statements.
  * <p>
@@ -13,7 +20,11 @@ import net.odyssi.log4jb.util.MethodSignatureBuilder;
  * - Guarded "start" and "end" log statements at the debug level.
  * - "warn" or "error" log statements to all catch blocks.
  * <p>
- * It avoids adding duplicate log statements if they already appear to exist.
+ * It avoids adding duplicate log statements by structurally matching the statement at each insertion
+ * point (see {@link GeneratedLogStatements}), instead of searching the text of the whole method body.
+ * <p>
+ * {@link #analyze()} computes the insertions as an immutable list of {@link LogInsertion}s without touching the
+ * PSI; accepting the visitor analyzes and then applies them.
  */
 public class LogMethodVisitor extends JavaRecursiveElementVisitor {
 
@@ -22,6 +33,8 @@ public class LogMethodVisitor extends JavaRecursiveElementVisitor {
     private final String methodSignature;
     private final String startMessage;
     private final String endMessage;
+    private final boolean markGeneratedStatements;
+    private int visitedElementCount = 0;
 
     public LogMethodVisitor(PsiMethod psiMethod) {
         this(psiMethod, new Slf4jLoggingStrategy());
@@ -30,65 +43,86 @@ public class LogMethodVisitor extends JavaRecursiveElementVisitor {
     public LogMethodVisitor(PsiMethod psiMethod, LoggingStrategy strategy) {
         this.psiMethod = psiMethod;
         this.strategy = strategy;
-        this.methodSignature = MethodSignatureBuilder.build(psiMethod);
-        this.startMessage = String.format("%s - start", this.methodSignature);
-        this.endMessage = String.format("%s - end", this.methodSignature);
+        this.methodSignature = MethodSignatureBuilder.buildCached(psiMethod);
+        this.startMessage = GeneratedLogMessages.of(this.methodSignature, GeneratedLogMessages.START);
+        this.endMessage = GeneratedLogMessages.of(this.methodSignature, GeneratedLogMessages.END);
+        this.markGeneratedStatements = Log4jbSettings.getInstance(psiMethod.getProject()).isMarkGeneratedStatements();
     }
 
-    @Override
-    public void visitMethod(PsiMethod method) {
-        // Only visit the target method and do not log constructors
-        if (!method.equals(psiMethod) || method.isConstructor() || method.getBody() == null) {
-            return;
+    /**
+     * Returns the number of PSI elements walked by the searches of {@link #analyze()} so far, for benchmarking the
+     * traversal against {@link LogClassVisitor#getVisitedElementCount()}.
+     */
+    public int getVisitedElementCount() {
+        return visitedElementCount;
+    }
+
+    /**
+     * Computes every insertion for the target method without modifying the PSI. Must be called inside a read
+     * action; apart from the element count, the visitor holds no traversal state, so this may run concurrently
+     * with other analyses.
+     *
+     * @return The insertions, or an empty list for constructors and methods without a body
+     */
+    public List<LogInsertion> analyze() {
+        final var body = psiMethod.getBody();
+        if (psiMethod.isConstructor() || body == null) {
+            return List.of();
         }
 
-        final var body = method.getBody();
-        final var factory = JavaPsiFacade.getElementFactory(method.getProject());
-        final var bodyText = body.getText();
+        final var loggerName = strategy.getLoggerFieldName();
+        final var statements = body.getStatements();
+        final var endLogStatementText = strategy.getGuardedDebugStatement(endMessage, "");
+        final List<LogInsertion> insertions = new ArrayList<>();
 
-        // 1. Add "start" log statement (check by message content, not exact statement text)
-        final var startLogStatementText = strategy.getGuardedDebugStatement(startMessage, "");
-        if (!bodyText.contains(startMessage)) {
-            final var startLogStatement = factory.createStatementFromText(startLogStatementText, method);
-            body.addAfter(startLogStatement, body.getLBrace());
+        // 1. Add "start" log statement, unless the first statement already is the generated one
+        if (statements.length == 0 || !GeneratedLogStatements.isLogStatement(statements[0], loggerName, startMessage)) {
+            insertions.add(LogInsertion.after(body.getLBrace(), strategy.getGuardedDebugStatement(startMessage, "")));
         }
 
         // 2. Add "end" log statements before all return statements (excluding those in lambdas/anonymous classes)
-        final var endLogStatementText = strategy.getGuardedDebugStatement(endMessage, "");
-        final var returnStatements = PsiTreeUtil.findChildrenOfType(body, PsiReturnStatement.class);
-        for (PsiReturnStatement returnStatement : returnStatements) {
+        for (PsiReturnStatement returnStatement : findDescendants(body, PsiReturnStatement.class)) {
             // Skip return statements that belong to nested lambdas or anonymous classes
-            if (!belongsDirectlyToMethod(returnStatement, method)) {
+            if (!belongsDirectlyToMethod(returnStatement, psiMethod)) {
                 continue;
             }
-            // Check if the previous sibling already contains the end message
+            // Check if the previous sibling already is the generated end statement
             final var prevStatement = PsiTreeUtil.getPrevSiblingOfType(returnStatement, PsiStatement.class);
-            if (prevStatement != null && prevStatement.getText().contains(endMessage)) {
-                continue;
+            if (!GeneratedLogStatements.isLogStatement(prevStatement, loggerName, endMessage)) {
+                insertions.add(LogInsertion.before(returnStatement, endLogStatementText));
             }
-            final var endLogStatement = factory.createStatementFromText(endLogStatementText, returnStatement);
-            returnStatement.getParent().addBefore(endLogStatement, returnStatement);
         }
 
         // 3. Add "end" log statement at the very end of the method if it can "fall through"
-        if (!bodyText.contains(endMessage)) {
-            final var statements = body.getStatements();
-            if (statements.length == 0) {
-                addFinalEndLog(body, factory);
-            } else {
-                final var lastStatement = statements[statements.length - 1];
-                if (!(lastStatement instanceof PsiReturnStatement) && !(lastStatement instanceof PsiThrowStatement)) {
-                    addFinalEndLog(body, factory);
-                }
-            }
+        final var lastStatement = statements.length == 0 ? null : statements[statements.length - 1];
+        if (lastStatement == null
+                || (!(lastStatement instanceof PsiReturnStatement)
+                && !(lastStatement instanceof PsiThrowStatement)
+                && !GeneratedLogStatements.isLogStatement(lastStatement, loggerName, endMessage))) {
+            insertions.add(LogInsertion.before(body.getRBrace(), endLogStatementText));
         }
 
         // 4. Add logging to all catch blocks.
-        instrumentCatchBlocks(method, factory);
+        analyzeCatchBlocks(insertions);
+        return insertions;
     }
 
-    private void instrumentCatchBlocks(PsiMethod method, PsiElementFactory factory) {
-        for (PsiCatchSection catchSection : PsiTreeUtil.findChildrenOfType(method, PsiCatchSection.class)) {
+    @Override
+    public void visitMethod(PsiMethod method) {
+        // Only visit the target method and do not log constructors
+        if (!method.equals(psiMethod)) {
+            return;
+        }
+
+        final var factory = JavaPsiFacade.getElementFactory(method.getProject());
+        for (LogInsertion insertion : analyze()) {
+            mark(insertion.apply(factory));
+        }
+    }
+
+    private void analyzeCatchBlocks(List<LogInsertion> insertions) {
+        final String loggerName = strategy.getLoggerFieldName();
+        for (PsiCatchSection catchSection : findDescendants(psiMethod, PsiCatchSection.class)) {
             final PsiCodeBlock catchBlock = catchSection.getCatchBlock();
             final PsiParameter exceptionParameter = catchSection.getParameter();
 
@@ -96,6 +130,11 @@ public class LogMethodVisitor extends JavaRecursiveElementVisitor {
                 continue;
             }
 
+            // Avoid adding a duplicate — check for an existing warn/error call on the logger.
+            if (hasWarnOrErrorLog(catchBlock, loggerName)) {
+                continue;
+            }
+
             final String exceptionName = exceptionParameter.getName();
             final String logStatementText;
 
@@ -103,40 +142,60 @@ public class LogMethodVisitor extends JavaRecursiveElementVisitor {
             if (catchBlock.getStatementCount() == 0) {
                 // Empty block: log a warning that the exception is ignored.
                 logStatementText = strategy.getWarnStatement(
-                        this.methodSignature + " - exception ignored", exceptionName);
+                        GeneratedLogMessages.of(this.methodSignature, GeneratedLogMessages.EXCEPTION_IGNORED), exceptionName);
             } else {
                 // Block has statements: log an error.
                 logStatementText = strategy.getErrorStatement(
-                        this.methodSignature + " - caught exception", exceptionName);
+                        GeneratedLogMessages.of(this.methodSignature, GeneratedLogMessages.CAUGHT_EXCEPTION), exceptionName);
             }
 
-            // Avoid adding a duplicate — check for the presence of an existing logger call.
-            final String catchBlockText = catchBlock.getText();
-            final String loggerName = strategy.getLoggerFieldName();
-            if (catchBlockText.contains(loggerName + ".warn(") || catchBlockText.contains(loggerName + ".error(")) {
-                continue;
-            }
+            insertions.add(LogInsertion.after(catchBlock.getLBrace(), logStatementText));
+        }
+    }
 
-            final PsiStatement logStatement = factory.createStatementFromText(logStatementText, catchBlock);
-            catchBlock.addAfter(logStatement, catchBlock.getLBrace());
+    private boolean hasWarnOrErrorLog(PsiCodeBlock catchBlock, String loggerName) {
+        for (PsiStatement statement : catchBlock.getStatements()) {
+            if (GeneratedLogStatements.isLogStatementAtLevel(statement, loggerName, "warn", "error")) {
+                return true;
+            }
         }
+        return false;
     }
 
     /**
-     * Adds the final "end" log statement before the closing brace of a code block.
+     * Returns the descendants of the given type, like {@link PsiTreeUtil#findChildrenOfType}, counting every element
+     * the search walks.
      */
-    private void addFinalEndLog(PsiCodeBlock body, PsiElementFactory factory) {
-        final var endLogStatementText = strategy.getGuardedDebugStatement(endMessage, "");
-        final var endLogStatement = factory.createStatementFromText(endLogStatementText, body);
-        body.addBefore(endLogStatement, body.getRBrace());
+    private <T extends PsiElement> List<T> findDescendants(PsiElement root, Class<T> type) {
+        final List<T> descendants = new ArrayList<>();
+        root.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                visitedElementCount++;
+                if (element != root && type.isInstance(element)) {
+                    descendants.add(type.cast(element));
+                }
+                super.visitElement(element);
+            }
+        });
+        return descendants;
+    }
+
+    /**
+     * Follows a newly inserted statement with the generated-statement marker, if enabled.
+     */
+    private void mark(PsiStatement statement) {
+        if (markGeneratedStatements) {
+            GeneratedLogStatements.addMarker(statement);
+        }
     }
 
     /**
-     * Checks whether a return statement belongs directly to the given method,
+     * Checks whether a statement (or catch section) belongs directly to the given method,
      * as opposed to a nested lambda expression or anonymous class.
      */
-    private boolean belongsDirectlyToMethod(PsiReturnStatement returnStatement, PsiMethod method) {
-        PsiElement parent = returnStatement.getParent();
+    static boolean belongsDirectlyToMethod(PsiElement element, PsiMethod method) {
+        PsiElement parent = element.getParent();
         while (parent != null) {
             if (parent == method) {
                 return true;
@@ -0,0 +1,172 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.psi.*;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import net.odyssi.log4jb.util.MethodSignatureBuilder;
+
+import java.util.List;
+
+/**
+ * Base class for visitors that wrap the whole body of a method in a single {@code try}/{@code finally}, instead of
+ * inserting statements before every exit like {@link MethodExitInstrumentationVisitor}. The {@code finally} block
+ * runs once for every way out of the method, including exceptions.
+ * <p>
+ * The instrumented body has the shape:
+ * <pre>
+ * prologue statements (the first one declares {@link #getLocalVariableName()})
+ * try {
+ *     original body
+ * } catch (Throwable log4jbError) {   // only if {@link #getCatchAllStatements(String)} is not empty
+ *     catch-all statements
+ *     throw log4jbError;
+ * } finally {
+ *     finally statements
+ * }
+ * </pre>
+ * The rethrow is legal without changing the method's {@code throws} clause, since Java only considers the
+ * exceptions the {@code try} block can throw for an effectively final catch parameter. A method whose first
+ * statement already declares the local variable is considered instrumented and is left alone.
+ */
+public abstract class MethodBodyWrappingVisitor extends JavaRecursiveElementVisitor {
+
+    protected static final String ERROR_VARIABLE_NAME = "log4jbError";
+
+    protected final PsiMethod psiMethod;
+    protected final String methodSignature;
+
+    protected MethodBodyWrappingVisitor(PsiMethod psiMethod) {
+        this.psiMethod = psiMethod;
+        this.methodSignature = MethodSignatureBuilder.buildCached(psiMethod);
+    }
+
+    /**
+     * Returns the name of the local variable declared by the first prologue statement.
+     */
+    protected abstract String getLocalVariableName();
+
+    /**
+     * Returns the statements placed before the {@code try}, in order.
+     */
+    protected abstract List<String> getPrologueStatements();
+
+    /**
+     * Returns the statements of the {@code finally} block, in order.
+     */
+    protected abstract List<String> getFinallyStatements();
+
+    /**
+     * Returns the statements run for any exception leaving the method, before it is rethrown; empty for no
+     * catch-all clause.
+     *
+     * @param errorVariable The name of the caught {@code Throwable}
+     */
+    protected List<String> getCatchAllStatements(String errorVariable) {
+        return List.of();
+    }
+
+    /**
+     * Returns the statements inserted at the start of each existing catch block of the method; empty to leave
+     * catch blocks alone.
+     *
+     * @param exceptionName The name of the caught exception
+     */
+    protected List<String> getCatchBlockStatements(String exceptionName) {
+        return List.of();
+    }
+
+    /**
+     * Adds whatever class-level declarations the statements rely on, if they are missing.
+     *
+     * @param topLevelClass The top-level class containing the method
+     */
+    protected void declare(PsiClass topLevelClass) {
+    }
+
+    @Override
+    public void visitMethod(PsiMethod method) {
+        final PsiCodeBlock body = method.getBody();
+        if (!method.equals(psiMethod) || method.isConstructor() || body == null
+                || InstrumentationSupport.startsWithDeclarationOf(body, getLocalVariableName())) {
+            return;
+        }
+
+        final PsiClass topLevelClass = PsiUtil.getTopLevelClass(method);
+        if (topLevelClass != null) {
+            declare(topLevelClass);
+        }
+
+        final PsiElementFactory factory = JavaPsiFacade.getElementFactory(method.getProject());
+        for (PsiCatchSection catchSection : PsiTreeUtil.findChildrenOfType(body, PsiCatchSection.class)) {
+            final PsiCodeBlock catchBlock = catchSection.getCatchBlock();
+            final PsiParameter parameter = catchSection.getParameter();
+            if (catchBlock == null || parameter == null || !LogMethodVisitor.belongsDirectlyToMethod(catchSection, method)) {
+                continue;
+            }
+            PsiElement anchor = catchBlock.getLBrace();
+            for (String text : getCatchBlockStatements(parameter.getName())) {
+                anchor = catchBlock.addAfter(factory.createStatementFromText(text, catchBlock), anchor);
+            }
+        }
+
+        final PsiCodeBlock wrapped = factory.createCodeBlockFromText(buildBodyText(body), method);
+        final PsiElement replaced = body.replace(wrapped);
+        JavaCodeStyleManager.getInstance(method.getProject()).shortenClassReferences(replaced);
+        CodeStyleManager.getInstance(method.getProject()).reformat(replaced);
+    }
+
+    /**
+     * Reverts the wrapping of a method body instrumented by a visitor with the given local variable: the prologue
+     * statements and the {@code try} are replaced by the statements of the {@code try} block. Statements added to
+     * existing catch blocks are left alone.
+     *
+     * @return {@code false} if the body does not have the instrumented shape
+     */
+    static boolean unwrapBody(PsiCodeBlock body, String variableName) {
+        if (!InstrumentationSupport.startsWithDeclarationOf(body, variableName)) {
+            return false;
+        }
+        final PsiStatement[] statements = body.getStatements();
+        int tryIndex = 1;
+        while (tryIndex < statements.length && !(statements[tryIndex] instanceof PsiTryStatement)) {
+            tryIndex++;
+        }
+        if (tryIndex == statements.length) {
+            return false;
+        }
+        final PsiCodeBlock tryBlock = ((PsiTryStatement) statements[tryIndex]).getTryBlock();
+        if (tryBlock == null) {
+            return false;
+        }
+        final PsiElement first = tryBlock.getFirstBodyElement();
+        final PsiElement last = tryBlock.getLastBodyElement();
+        if (first != null && last != null) {
+            body.addRangeBefore(first, last, statements[tryIndex]);
+        }
+        body.deleteChildRange(statements[0], statements[tryIndex]);
+        return true;
+    }
+
+    private String buildBodyText(PsiCodeBlock body) {
+        final String bodyText = body.getText();
+        final PsiJavaToken lBrace = body.getLBrace();
+        final PsiJavaToken rBrace = body.getRBrace();
+        final int start = lBrace == null ? 0 : lBrace.getStartOffsetInParent() + 1;
+        final int end = rBrace == null ? bodyText.length() : rBrace.getStartOffsetInParent();
+
+        final StringBuilder text = new StringBuilder("{\n");
+        getPrologueStatements().forEach(statement -> text.append(statement).append('\n'));
+        text.append("try {").append(bodyText, start, end).append("\n}");
+        final List<String> catchAllStatements = getCatchAllStatements(ERROR_VARIABLE_NAME);
+        if (!catchAllStatements.isEmpty()) {
+            text.append(" catch (Throwable ").append(ERROR_VARIABLE_NAME).append(") {\n");
+            catchAllStatements.forEach(statement -> text.append(statement).append('\n'));
+            text.append("throw ").append(ERROR_VARIABLE_NAME).append(";\n}");
+        }
+        text.append(" finally {\n");
+        getFinallyStatements().forEach(statement -> text.append(statement).append('\n'));
+        return text.append("}\n}").toString();
+    }
+}
@@ -0,0 +1,71 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.psi.*;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.util.PsiUtil;
+import net.odyssi.log4jb.util.MethodSignatureBuilder;
+
+import java.util.List;
+
+/**
+ * Base class for visitors that instrument a method at the same points as {@link LogMethodVisitor} — method entry,
+ * every direct {@code return} and the fall-through end — with something other than log statements.
+ * <p>
+ * The entry statements declare a local variable named {@link #getLocalVariableName()}; a method whose first
+ * statement already declares it is considered instrumented and is left alone. See
+ * {@link InstrumentationSupport#insertAtEntryAndExits(PsiMethod, List, List, boolean)} for where the statements go;
+ * a returned expression is evaluated before the exit statements, so the measured time includes it.
+ */
+public abstract class MethodExitInstrumentationVisitor extends JavaRecursiveElementVisitor {
+
+    protected final PsiMethod psiMethod;
+    protected final String methodSignature;
+
+    protected MethodExitInstrumentationVisitor(PsiMethod psiMethod) {
+        this.psiMethod = psiMethod;
+        this.methodSignature = MethodSignatureBuilder.buildCached(psiMethod);
+    }
+
+    /**
+     * Returns the name of the local variable declared by the entry statements.
+     */
+    protected abstract String getLocalVariableName();
+
+    /**
+     * Returns the statements inserted at method entry, in order. The first one must declare the local variable.
+     */
+    protected abstract List<String> getEntryStatements();
+
+    /**
+     * Returns the statements inserted before every exit of the method, in order. They run after the returned
+     * expression is evaluated.
+     */
+    protected abstract List<String> getExitStatements();
+
+    /**
+     * Adds whatever class-level declarations the statements rely on, if they are missing.
+     *
+     * @param topLevelClass The top-level class containing the method
+     */
+    protected void declare(PsiClass topLevelClass) {
+    }
+
+    @Override
+    public void visitMethod(PsiMethod method) {
+        final PsiCodeBlock body = method.getBody();
+        if (!method.equals(psiMethod) || method.isConstructor() || body == null
+                || InstrumentationSupport.startsWithDeclarationOf(body, getLocalVariableName())) {
+            return;
+        }
+
+        final PsiClass topLevelClass = PsiUtil.getTopLevelClass(method);
+        if (topLevelClass != null) {
+            declare(topLevelClass);
+        }
+
+        final JavaCodeStyleManager codeStyleManager = JavaCodeStyleManager.getInstance(method.getProject());
+        for (PsiElement element : InstrumentationSupport.insertAtEntryAndExits(method, getEntryStatements(), getExitStatements(), true)) {
+            codeStyleManager.shortenClassReferences(element);
+        }
+    }
+}
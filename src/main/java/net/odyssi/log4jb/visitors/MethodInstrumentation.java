@@ -0,0 +1,75 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.psi.JavaElementVisitor;
+import com.intellij.psi.PsiMethod;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+
+/**
+ * What "Log this method" and "Log this class" generate, as selected in the settings.
+ */
+public enum MethodInstrumentation {
+
+    LOG_STATEMENTS("Start/end log statements", true),
+    COLD_LOG_HELPERS("Start/end log statements in cold helper methods", true),
+    ELAPSED_TIME_LOG("Single end log statement with elapsed time", true),
+    SLOW_CALL_LOG("End log statement for calls slower than a threshold", true),
+    JFR_EVENTS("Java Flight Recorder events", false),
+    MICROMETER_TIMER("Micrometer timers", false),
+    OPENTELEMETRY_SPANS("OpenTelemetry spans", false);
+
+    private final String displayName;
+    private final boolean usesLogger;
+
+    MethodInstrumentation(String displayName, boolean usesLogger) {
+        this.displayName = displayName;
+        this.usesLogger = usesLogger;
+    }
+
+    /**
+     * Returns whether the generated code needs the class's logger field.
+     */
+    public boolean usesLogger() {
+        return usesLogger;
+    }
+
+    /**
+     * Returns whether the mode needs a {@link SlowCallThreshold}, which the actions ask for before instrumenting.
+     */
+    public boolean usesThreshold() {
+        return this == SLOW_CALL_LOG;
+    }
+
+    /**
+     * Creates the visitor that instruments the given method in this mode, with the default slow-call threshold.
+     *
+     * @param psiMethod The method to instrument
+     * @param strategy  The configured logging strategy
+     */
+    public JavaElementVisitor createVisitor(PsiMethod psiMethod, LoggingStrategy strategy) {
+        return createVisitor(psiMethod, strategy, SlowCallThreshold.DEFAULT);
+    }
+
+    /**
+     * Creates the visitor that instruments the given method in this mode.
+     *
+     * @param psiMethod The method to instrument
+     * @param strategy  The configured logging strategy
+     * @param threshold The slow-call threshold, used by {@link #SLOW_CALL_LOG} only
+     */
+    public JavaElementVisitor createVisitor(PsiMethod psiMethod, LoggingStrategy strategy, SlowCallThreshold threshold) {
+        return switch (this) {
+            case LOG_STATEMENTS -> new LogMethodVisitor(psiMethod, strategy);
+            case COLD_LOG_HELPERS -> new ColdLogHelperMethodVisitor(psiMethod, strategy);
+            case ELAPSED_TIME_LOG -> new ElapsedTimeLogMethodVisitor(psiMethod, strategy);
+            case SLOW_CALL_LOG -> new SlowCallLogMethodVisitor(psiMethod, strategy, threshold);
+            case JFR_EVENTS -> new JfrMethodVisitor(psiMethod);
+            case MICROMETER_TIMER -> new MicrometerTimerMethodVisitor(psiMethod);
+            case OPENTELEMETRY_SPANS -> new OpenTelemetrySpanMethodVisitor(psiMethod);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,109 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.psi.PsiAnonymousClass;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.util.PsiTreeUtil;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A PSI visitor that times a method with a Micrometer {@code Timer} instead of start/end log statements.
+ * <p>
+ * Each instrumented method gets its own {@code static final} timer field in the top-level class, named after the
+ * method's class and signature (see {@link #getTimerFieldName(String, String)}) and registered once
+ * with the global registry, named {@value #METER_NAME}, tagged with the class and the method signature and
+ * publishing a percentile histogram. The method starts a {@code Timer.Sample} at entry and stops it into that field
+ * before every return and at the fall-through end, after any returned expression is evaluated, so there is no
+ * registry lookup per call and the recorded time includes the whole method.
+ */
+public class MicrometerTimerMethodVisitor extends MethodExitInstrumentationVisitor {
+
+    public static final String METER_NAME = "log4jb.method";
+    private static final String TIMER_TYPE = "io.micrometer.core.instrument.Timer";
+    private static final String SAMPLE_VARIABLE_NAME = "log4jbSample";
+
+    private final String timerFieldName;
+
+    public MicrometerTimerMethodVisitor(PsiMethod psiMethod) {
+        super(psiMethod);
+        this.timerFieldName = getTimerFieldName(getClassPath(psiMethod.getContainingClass()), methodSignature);
+    }
+
+    /**
+     * Returns the name of the timer field for a method signature in a class, e.g.
+     * {@code LOG4JB_TIMER_ORDERS_ITEM_PROCESS_LIST_STRING_INT} for {@code process(List<String>, int)} in the nested
+     * class {@code Orders.Item}. All the timers of a top-level class are declared in it, so both the class and the
+     * signature are part of the name, so that overloads and same-named methods of nested classes get distinct fields.
+     *
+     * @param classPath       The name of the class, prefixed with the names of its enclosing classes, e.g.
+     *                        {@code Orders.Item}
+     * @param methodSignature The signature of the method
+     */
+    public static String getTimerFieldName(String classPath, String methodSignature) {
+        final String name = (classPath + "_" + methodSignature).replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+        return "LOG4JB_TIMER_" + name.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the names of the class and its enclosing classes, outermost first and separated by dots; an anonymous
+     * class is named after its position among the anonymous classes of its enclosing class.
+     */
+    private static String getClassPath(PsiClass psiClass) {
+        final StringBuilder path = new StringBuilder();
+        for (PsiClass current = psiClass; current != null; current = PsiTreeUtil.getParentOfType(current, PsiClass.class)) {
+            final String name = current instanceof PsiAnonymousClass anonymousClass
+                    ? "Anonymous" + getAnonymousIndex(anonymousClass)
+                    : current.getName();
+            path.insert(0, path.isEmpty() ? name : name + ".");
+        }
+        return path.toString();
+    }
+
+    private static int getAnonymousIndex(PsiAnonymousClass anonymousClass) {
+        final PsiClass enclosingClass = PsiTreeUtil.getParentOfType(anonymousClass, PsiClass.class);
+        if (enclosingClass == null) {
+            return 1;
+        }
+        int index = 1;
+        for (PsiAnonymousClass sibling : PsiTreeUtil.findChildrenOfType(enclosingClass, PsiAnonymousClass.class)) {
+            if (sibling == anonymousClass) {
+                return index;
+            }
+            if (PsiTreeUtil.getParentOfType(sibling, PsiClass.class) == enclosingClass) {
+                index++;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    protected String getLocalVariableName() {
+        return SAMPLE_VARIABLE_NAME;
+    }
+
+    @Override
+    protected List<String> getEntryStatements() {
+        return List.of(String.format("final %s.Sample %s = %s.start();", TIMER_TYPE, SAMPLE_VARIABLE_NAME, TIMER_TYPE));
+    }
+
+    @Override
+    protected List<String> getExitStatements() {
+        return List.of(String.format("%s.stop(%s);", SAMPLE_VARIABLE_NAME, timerFieldName));
+    }
+
+    @Override
+    protected void declare(PsiClass topLevelClass) {
+        final PsiClass containingClass = psiMethod.getContainingClass();
+        final String className = containingClass != null && containingClass.getQualifiedName() != null
+                ? containingClass.getQualifiedName()
+                : topLevelClass.getQualifiedName();
+        InstrumentationSupport.addFieldIfMissing(topLevelClass, String.format(
+                "private static final %s %s = %s.builder(\"%s\")" +
+                ".tag(\"class\", \"%s\").tag(\"method\", \"%s\")" +
+                ".publishPercentileHistogram()" +
+                ".register(io.micrometer.core.instrument.Metrics.globalRegistry);",
+                TIMER_TYPE, timerFieldName, TIMER_TYPE, METER_NAME, className, methodSignature));
+    }
+}
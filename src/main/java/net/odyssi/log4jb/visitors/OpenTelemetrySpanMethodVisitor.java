@@ -0,0 +1,75 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+
+import java.util.List;
+
+/**
+ * A PSI visitor that wraps a method in an OpenTelemetry span instead of start/end log statements.
+ * <p>
+ * A {@code static final} {@value #TRACER_FIELD_NAME} field obtained from {@code GlobalOpenTelemetry} is added once
+ * per top-level class, so the generated code reports to whatever SDK the application registers globally (including
+ * an SDK with an in-memory exporter in tests, with no collector running). It is declared before the other members,
+ * so static initializers can call instrumented methods, and is not private in an interface. The method starts a span named after its
+ * signature, makes it current, and closes the scope and ends the span in a {@code finally} block. Exceptions caught
+ * by the method's own catch blocks are recorded on the span instead of being logged, and an exception leaving the
+ * method is recorded and marks the span as failed.
+ */
+public class OpenTelemetrySpanMethodVisitor extends MethodBodyWrappingVisitor {
+
+    public static final String TRACER_FIELD_NAME = "tracer";
+    private static final String SPAN_VARIABLE_NAME = "log4jbSpan";
+    private static final String SCOPE_VARIABLE_NAME = "log4jbScope";
+
+    public OpenTelemetrySpanMethodVisitor(PsiMethod psiMethod) {
+        super(psiMethod);
+    }
+
+    @Override
+    protected String getLocalVariableName() {
+        return SPAN_VARIABLE_NAME;
+    }
+
+    @Override
+    protected List<String> getPrologueStatements() {
+        final PsiClass containingClass = psiMethod.getContainingClass();
+        final String namespace = containingClass != null && containingClass.getQualifiedName() != null
+                ? containingClass.getQualifiedName()
+                : "";
+        return List.of(
+                String.format("final io.opentelemetry.api.trace.Span %s = %s.spanBuilder(\"%s\")" +
+                                ".setAttribute(\"code.namespace\", \"%s\").setAttribute(\"code.function\", \"%s\").startSpan();",
+                        SPAN_VARIABLE_NAME, TRACER_FIELD_NAME, methodSignature, namespace, psiMethod.getName()),
+                String.format("final io.opentelemetry.context.Scope %s = %s.makeCurrent();", SCOPE_VARIABLE_NAME, SPAN_VARIABLE_NAME)
+        );
+    }
+
+    @Override
+    protected List<String> getCatchAllStatements(String errorVariable) {
+        return List.of(
+                String.format("%s.recordException(%s);", SPAN_VARIABLE_NAME, errorVariable),
+                String.format("%s.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR);", SPAN_VARIABLE_NAME)
+        );
+    }
+
+    @Override
+    protected List<String> getCatchBlockStatements(String exceptionName) {
+        return List.of(String.format("%s.recordException(%s);", SPAN_VARIABLE_NAME, exceptionName));
+    }
+
+    @Override
+    protected List<String> getFinallyStatements() {
+        return List.of(
+                SCOPE_VARIABLE_NAME + ".close();",
+                SPAN_VARIABLE_NAME + ".end();"
+        );
+    }
+
+    @Override
+    protected void declare(PsiClass topLevelClass) {
+        InstrumentationSupport.addFieldIfMissing(topLevelClass, String.format(
+                "private static final io.opentelemetry.api.trace.Tracer %s = io.opentelemetry.api.GlobalOpenTelemetry.getTracer(\"%s\");",
+                TRACER_FIELD_NAME, topLevelClass.getQualifiedName()));
+    }
+}
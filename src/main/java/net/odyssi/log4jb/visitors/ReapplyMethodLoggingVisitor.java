@@ -2,66 +2,89 @@ package net.odyssi.log4jb.visitors;
 
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.settings.Log4jbSettings;
+import net.odyssi.log4jb.util.GeneratedLogStatements;
 import net.odyssi.log4jb.util.MethodSignatureBuilder;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 /**
  * A PSI visitor that finds logger calls within methods and ensures the method signature
  * in the log message matches the actual signature of the enclosing method.
+ * <p>
+ * The visitor walks the tree once, keeping a stack of enclosing method signatures. Each logger call is
+ * therefore examined exactly once, against its innermost enclosing method, including calls inside
+ * anonymous and local classes. Cold logging helpers (see {@link ColdLogHelperMethodVisitor}) are skipped, since
+ * their messages carry the signature of the method they were generated for.
  */
 public class ReapplyMethodLoggingVisitor extends JavaRecursiveElementVisitor {
 
-    private static final List<String> LOG_METHODS = Arrays.asList("trace", "debug", "info", "warn", "error");
     private final PsiElementFactory factory;
+    private final String loggerName;
+    private final Deque<String> signatures = new ArrayDeque<>();
+    private int examinedCallCount = 0;
 
     public ReapplyMethodLoggingVisitor(Project project) {
+        this(project, Log4jbSettings.getInstance(project).getLoggingStrategy());
+    }
+
+    public ReapplyMethodLoggingVisitor(Project project, LoggingStrategy strategy) {
         this.factory = JavaPsiFacade.getElementFactory(project);
+        this.loggerName = strategy.getLoggerFieldName();
+    }
+
+    /**
+     * Returns the number of logger calls examined so far.
+     */
+    public int getExaminedCallCount() {
+        return examinedCallCount;
     }
 
     @Override
     public void visitMethod(PsiMethod method) {
-        super.visitMethod(method);
+        if (ColdLogHelperMethodVisitor.isHelperMethod(method)) {
+            return;
+        }
+        signatures.push(MethodSignatureBuilder.buildCached(method));
+        try {
+            super.visitMethod(method);
+        } finally {
+            signatures.pop();
+        }
+    }
 
-        String correctSignature = MethodSignatureBuilder.build(method);
+    @Override
+    public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
+        super.visitMethodCallExpression(expression);
 
-        method.accept(new JavaRecursiveElementVisitor() {
-            @Override
-            public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
-                super.visitMethodCallExpression(expression);
+        if (signatures.isEmpty() || !isLoggerCall(expression)) {
+            return;
+        }
+        examinedCallCount++;
 
-                if (isLoggerCall(expression)) {
-                    PsiExpression[] arguments = expression.getArgumentList().getExpressions();
-                    if (arguments.length > 0 && arguments[0] instanceof PsiLiteralExpression) {
-                        updateLogMessage((PsiLiteralExpression) arguments[0], correctSignature);
-                    }
-                }
-            }
-        });
+        PsiLiteralExpression message = GeneratedLogStatements.getMessageLiteral(expression);
+        if (message != null) {
+            updateLogMessage(message, signatures.peek());
+        }
     }
 
     /**
-     * Checks if a method call is a recognized logging method invoked on the "logger" field.
-     * This verifies both the method name (debug, info, etc.) and that the qualifier
-     * is the "logger" identifier, preventing false positives on unrelated methods.
+     * Checks if a method call is a log call of any supported framework made on the strategy's logger field,
+     * including fluent chains and a logger in a lazy holder class (see {@link GeneratedLogStatements#isLogCall}).
      */
     private boolean isLoggerCall(PsiMethodCallExpression call) {
-        String methodName = call.getMethodExpression().getReferenceName();
-        if (!LOG_METHODS.contains(methodName)) {
+        if (!GeneratedLogStatements.isLogCall(call, loggerName)) {
             return false;
         }
 
-        // Verify the receiver is the "logger" field
         PsiExpression qualifier = call.getMethodExpression().getQualifierExpression();
-        if (!(qualifier instanceof PsiReferenceExpression qualifierRef)) {
-            return false;
+        while (qualifier instanceof PsiMethodCallExpression qualifierCall) {
+            qualifier = qualifierCall.getMethodExpression().getQualifierExpression();
         }
-
-        // Check the qualifier is named "logger"
-        String qualifierName = qualifierRef.getReferenceName();
-        if (!"logger".equals(qualifierName)) {
+        if (!(qualifier instanceof PsiReferenceExpression qualifierRef)) {
             return false;
         }
 
@@ -1,68 +1,207 @@
 package net.odyssi.log4jb.visitors;
 
 import com.intellij.psi.*;
-import com.intellij.psi.search.searches.ReferencesSearch;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.util.Query;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.logging.Slf4jLoggingStrategy;
+import net.odyssi.log4jb.util.ConstantGuards;
+import net.odyssi.log4jb.util.LoggerFields;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * A PSI visitor that removes all SLF4J logging artifacts from a class.
+ * A PSI visitor that removes all logging artifacts from a class.
  * <p>
  * This visitor finds and deletes:
  * <ul>
- *     <li>The {@code logger} field declaration.</li>
+ *     <li>The logger field declaration of the class and of its member classes, recognised by name or by the
+ *     logger type of the configured {@link LoggingStrategy} (so {@code LOG} or {@code LOGGER} fields are found too),
+ *     including the holder class of a lazily declared logger.</li>
  *     <li>All statements that use the logger (e.g., {@code logger.debug(...)}).</li>
- *     <li>Any {@code if} statements that guard logger calls (e.g., {@code if(logger.isDebugEnabled())}).</li>
+ *     <li>Any {@code if} statements that guard logger calls (e.g., {@code if(logger.isDebugEnabled())}), including
+ *     constant guards such as {@code if(LOG4JB_DEBUG)}, and the constant-guard flag fields themselves.</li>
+ *     <li>Cold logging helper methods (see {@link ColdLogHelperMethodVisitor}) and the calls to them.</li>
+ *     <li>The elapsed-time {@code try}/{@code finally} of {@link ElapsedTimeLogMethodVisitor}, restoring the original
+ *     method body.</li>
  * </ul>
+ * Usages are gathered in a single local walk of the class rather than a references search, since a
+ * private logger can only be used inside the file anyway. All statements are then deleted in one batch.
+ * <p>
  * Note: This visitor does not remove imports, as this is best handled by the IDE's "Optimize Imports" feature
  * after the code modifications are complete.
  */
 public class RemoveLoggingVisitor extends JavaRecursiveElementVisitor {
 
+    private final LoggingStrategy strategy;
+
+    public RemoveLoggingVisitor() {
+        this(new Slf4jLoggingStrategy());
+    }
+
+    public RemoveLoggingVisitor(LoggingStrategy strategy) {
+        this.strategy = strategy;
+    }
+
     @Override
     public void visitClass(PsiClass aClass) {
-        super.visitClass(aClass);
-
-        final PsiField loggerField = aClass.findFieldByName("logger", false);
-        if (loggerField == null) {
+        // The whole class, including member classes, is handled here in one go; do not descend further.
+        final Map<String, List<PsiField>> loggerFieldsByName = new LinkedHashMap<>();
+        collectLoggerFields(aClass, loggerFieldsByName);
+        if (loggerFieldsByName.isEmpty()) {
             return;
         }
 
-        // Find all references to the logger field within the scope of the class.
-        final Query<PsiReference> loggerReferences = ReferencesSearch.search(loggerField, aClass.getUseScope());
+        final Set<String> helperNames = new LinkedHashSet<>();
+        final List<PsiMethod> helpers = new ArrayList<>();
+        for (PsiMethod method : PsiTreeUtil.findChildrenOfType(aClass, PsiMethod.class)) {
+            if (ColdLogHelperMethodVisitor.isHelperMethod(method)) {
+                helperNames.add(method.getName());
+                helpers.add(method);
+            } else {
+                ElapsedTimeLogMethodVisitor.removeFrom(method);
+            }
+        }
 
-        for (PsiReference reference : loggerReferences) {
-            final PsiElement element = reference.getElement();
+        final Set<PsiElement> toDelete = new LinkedHashSet<>();
+        aClass.accept(new JavaRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitMethodCallExpression(PsiMethodCallExpression expression) {
+                super.visitMethodCallExpression(expression);
 
-            // Find the enclosing statement for the logger usage.
-            PsiStatement statement = PsiTreeUtil.getParentOfType(element, PsiStatement.class);
-            if (statement == null) {
-                continue;
+                final PsiReferenceExpression methodExpression = expression.getMethodExpression();
+                if (methodExpression.getQualifierExpression() == null && helperNames.contains(methodExpression.getReferenceName())
+                        && expression.getParent() instanceof PsiExpressionStatement statement) {
+                    toDelete.add(statement);
+                }
             }
 
-            // If the statement is an `if` block (a guard condition), we delete the whole block.
-            // Otherwise, we assume it's a simple expression statement like `logger.error(...)`.
-            // In either case, the `statement` is the element to delete.
-            // We check for `if` specifically to handle cases where a logger call might be nested.
-            // The top-most statement containing the reference is what we want.
+            @Override
+            public void visitReferenceExpression(PsiReferenceExpression expression) {
+                super.visitReferenceExpression(expression);
 
-            PsiElement elementToDelete = statement;
+                final List<PsiField> candidates = loggerFieldsByName.get(expression.getReferenceName());
+                if (candidates == null || !isLoggerReference(expression, candidates)) {
+                    return;
+                }
+                final PsiElement statement = getStatementToDelete(expression);
+                if (statement != null) {
+                    toDelete.add(statement);
+                }
+            }
+        });
+
+        for (PsiElement element : toDelete) {
+            if (element.isValid() && !hasAncestorIn(element, toDelete)) {
+                element.delete();
+            }
+        }
 
-            // Check if the parent is the `then` branch of an `if` statement whose condition also uses the logger.
-            if (statement.getParent() instanceof PsiCodeBlock && statement.getParent().getParent() instanceof PsiIfStatement ifStatement) {
-                if (ifStatement.getCondition() != null && ifStatement.getCondition().getText().contains("logger.")) {
-                    elementToDelete = ifStatement;
+        for (PsiMethod helper : helpers) {
+            if (helper.isValid()) {
+                helper.delete();
+            }
+        }
+
+        // Finally, delete the logger fields themselves, along with the constant-guard flags next to them and
+        // the holder class of a lazily declared logger.
+        for (List<PsiField> fields : loggerFieldsByName.values()) {
+            for (PsiField field : fields) {
+                if (!field.isValid()) {
+                    continue;
+                }
+                final PsiClass owningClass = LoggerFields.getOwningClass(field);
+                if (owningClass != null) {
+                    for (PsiField flag : owningClass.getFields()) {
+                        if (ConstantGuards.isFlagField(flag)) {
+                            flag.delete();
+                        }
+                    }
+                }
+                final PsiClass containingClass = field.getContainingClass();
+                if (LoggerFields.isHolderClass(containingClass) && containingClass.getFields().length == 1) {
+                    containingClass.delete();
+                } else {
+                    field.delete();
                 }
             }
+        }
+    }
+
+    private void collectLoggerFields(PsiClass psiClass, Map<String, List<PsiField>> loggerFieldsByName) {
+        final PsiField loggerField = LoggerFields.findLoggerField(psiClass, strategy);
+        if (loggerField != null) {
+            loggerFieldsByName.computeIfAbsent(loggerField.getName(), name -> new ArrayList<>()).add(loggerField);
+        }
+        for (PsiClass innerClass : psiClass.getInnerClasses()) {
+            collectLoggerFields(innerClass, loggerFieldsByName);
+        }
+    }
+
+    /**
+     * Checks whether the reference points to one of the logger fields. Resolution is local to the file,
+     * and an unresolved reference with the logger's name is accepted as well if it is unqualified or qualified
+     * by the logger holder.
+     */
+    private boolean isLoggerReference(PsiReferenceExpression expression, List<PsiField> candidates) {
+        final PsiElement resolved = expression.resolve();
+        if (resolved == null) {
+            return expression.getQualifierExpression() == null || LoggerFields.isHolderReference(expression.getQualifierExpression());
+        }
+        return candidates.contains(resolved);
+    }
 
-            if (elementToDelete.isValid()) {
-                elementToDelete.delete();
+    /**
+     * Returns the statement that contains the logger usage, widened to the enclosing guard {@code if}
+     * when the usage is the only statement of a logger-guarded block.
+     */
+    private PsiElement getStatementToDelete(PsiReferenceExpression reference) {
+        final PsiStatement statement = PsiTreeUtil.getParentOfType(reference, PsiStatement.class);
+        if (statement == null) {
+            // e.g., the field initializer of the logger itself
+            return null;
+        }
+
+        // A usage in the condition of an `if` yields the `if` statement itself. A usage in the body of a
+        // guard block yields the inner statement; widen it to the guard when the block holds nothing else.
+        PsiElement parent = statement.getParent();
+        if (parent instanceof PsiCodeBlock codeBlock && codeBlock.getStatementCount() == 1) {
+            parent = codeBlock.getParent();
+        }
+        if (parent instanceof PsiBlockStatement blockStatement) {
+            parent = blockStatement.getParent();
+        }
+        if (parent instanceof PsiIfStatement ifStatement && ifStatement.getElseBranch() == null
+                && PsiTreeUtil.isAncestor(ifStatement.getThenBranch(), statement, false)
+                && (usesReferenceName(ifStatement.getCondition(), reference.getReferenceName())
+                || ConstantGuards.isFlagReference(ifStatement.getCondition()))) {
+            return ifStatement;
+        }
+        return statement;
+    }
+
+    private boolean usesReferenceName(PsiExpression condition, String name) {
+        if (condition == null) {
+            return false;
+        }
+        for (PsiReferenceExpression reference : PsiTreeUtil.findChildrenOfType(condition, PsiReferenceExpression.class)) {
+            if (name.equals(reference.getReferenceName())) {
+                return true;
             }
         }
+        return false;
+    }
 
-        // Finally, delete the logger field itself.
-        if (loggerField.isValid()) {
-            loggerField.delete();
+    private boolean hasAncestorIn(PsiElement element, Set<PsiElement> candidates) {
+        for (PsiElement parent = element.getParent(); parent != null && !(parent instanceof PsiFile); parent = parent.getParent()) {
+            if (candidates.contains(parent)) {
+                return true;
+            }
         }
+        return false;
     }
-}
\ No newline at end of file
+}
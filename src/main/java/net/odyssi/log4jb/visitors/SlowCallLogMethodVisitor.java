@@ -0,0 +1,47 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.psi.PsiMethod;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+
+/**
+ * A PSI visitor that logs only the calls of a method that take longer than a threshold, so the logging volume
+ * follows the number of slow calls rather than the number of calls.
+ * <p>
+ * The code has the shape of {@link ElapsedTimeLogMethodVisitor}, with the end statement moved behind a comparison
+ * against the threshold:
+ * <pre>
+ * final long log4jbStart = logger.isWarnEnabled() ? System.nanoTime() : 0L;
+ * try {
+ *     original body
+ * } finally {
+ *     if (log4jbStart != 0L) {
+ *         final long log4jbElapsedMillis = (System.nanoTime() - log4jbStart) / 1_000_000L;
+ *         if (log4jbElapsedMillis > 250L) {
+ *             logger.warn("process(String) - slow call ({} ms, threshold 250 ms)", log4jbElapsedMillis);
+ *         }
+ *     }
+ * }
+ * </pre>
+ * The threshold is a literal, chosen per method or per class when the instrumentation is generated.
+ */
+public class SlowCallLogMethodVisitor extends ElapsedTimeLogMethodVisitor {
+
+    private final SlowCallThreshold threshold;
+
+    public SlowCallLogMethodVisitor(PsiMethod psiMethod, LoggingStrategy strategy, SlowCallThreshold threshold) {
+        super(psiMethod, strategy);
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected String getLevel() {
+        return threshold.level();
+    }
+
+    @Override
+    protected String getEndStatement() {
+        final String message = String.format("%s - slow call ({} ms, threshold %d ms)", methodSignature, threshold.millis());
+        return String.format("if (%s > %dL) {\n%s\n}", ELAPSED_VARIABLE_NAME, threshold.millis(),
+                strategy.getLogStatement(getLevel(), message, ELAPSED_VARIABLE_NAME));
+    }
+}
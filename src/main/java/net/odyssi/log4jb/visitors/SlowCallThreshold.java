@@ -0,0 +1,15 @@
+package net.odyssi.log4jb.visitors;
+
+import java.util.List;
+
+/**
+ * When {@link MethodInstrumentation#SLOW_CALL_LOG} logs a call.
+ *
+ * @param millis The duration in milliseconds a call must exceed to be logged
+ * @param level  The level of the log statement, one of {@link #LEVELS}
+ */
+public record SlowCallThreshold(long millis, String level) {
+
+    public static final List<String> LEVELS = List.of("info", "warn");
+    public static final SlowCallThreshold DEFAULT = new SlowCallThreshold(100, "warn");
+}
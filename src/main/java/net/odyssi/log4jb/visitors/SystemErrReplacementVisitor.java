@@ -1,12 +1,11 @@
 package net.odyssi.log4jb.visitors;
 
 import com.intellij.psi.*;
-import com.intellij.psi.util.PsiTreeUtil;
 import net.odyssi.log4jb.logging.LoggingStrategy;
 import net.odyssi.log4jb.logging.Slf4jLoggingStrategy;
-import net.odyssi.log4jb.util.MethodSignatureBuilder;
+import net.odyssi.log4jb.plan.StatementReplacement;
+import net.odyssi.log4jb.util.ConsolePrintCalls;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,11 +14,13 @@ import java.util.List;
  * <p>
  * This visitor intelligently converts string literals and concatenations into
  * parameterized log messages.
+ * <p>
+ * The visitor holds no traversal state. {@link #analyze(PsiElement)} is the read-only analysis phase and may be
+ * called concurrently on different files; accepting the visitor analyzes and replaces each call in place.
  */
 public class SystemErrReplacementVisitor extends JavaRecursiveElementVisitor {
 
     private final LoggingStrategy strategy;
-    private String currentMethodSignature = "";
 
     public SystemErrReplacementVisitor() {
         this(new Slf4jLoggingStrategy());
@@ -29,75 +30,22 @@ public class SystemErrReplacementVisitor extends JavaRecursiveElementVisitor {
         this.strategy = strategy;
     }
 
-    @Override
-    public void visitMethod(PsiMethod method) {
-        this.currentMethodSignature = MethodSignatureBuilder.build(method);
-        super.visitMethod(method);
-        this.currentMethodSignature = "";
+    /**
+     * Computes the replacements for every {@code System.err} print call below the scope without modifying the PSI.
+     * Must be called inside a read action.
+     */
+    public List<StatementReplacement> analyze(PsiElement scope) {
+        return ConsolePrintCalls.collectReplacements(scope, ConsolePrintCalls.SYSTEM_ERR, strategy, LoggingStrategy::getErrorStatement);
     }
 
     @Override
     public void visitMethodCallExpression(PsiMethodCallExpression expression) {
         super.visitMethodCallExpression(expression);
 
-        if (!isSystemErrPrintCall(expression)) {
-            return;
-        }
-
-        final PsiExpressionList argumentList = expression.getArgumentList();
-        final PsiElementFactory factory = JavaPsiFacade.getElementFactory(expression.getProject());
-
-        final String newStatementText;
-
-        if (argumentList.getExpressionCount() == 0) {
-            String message = currentMethodSignature + " - (empty line)";
-            newStatementText = strategy.getErrorStatement(message, "");
-        } else if (argumentList.getExpressionCount() == 1) {
-            final PsiExpression originalArgument = argumentList.getExpressions()[0];
-
-            final StringBuilder messageFormat = new StringBuilder();
-            final List<String> logArguments = new ArrayList<>();
-
-            messageFormat.append(currentMethodSignature).append(" - ");
-
-            if (originalArgument instanceof PsiPolyadicExpression polyadicExpression) {
-                for (PsiExpression operand : polyadicExpression.getOperands()) {
-                    if (operand instanceof PsiLiteralExpression literal && literal.getValue() instanceof String strValue) {
-                        messageFormat.append(strValue);
-                    } else {
-                        messageFormat.append("{}");
-                        logArguments.add(operand.getText());
-                    }
-                }
-            } else {
-                if (originalArgument instanceof PsiLiteralExpression literal && literal.getValue() instanceof String strValue) {
-                    messageFormat.append(strValue);
-                } else {
-                    messageFormat.append("{}");
-                    logArguments.add(originalArgument.getText());
-                }
-            }
-
-            String args = String.join(", ", logArguments);
-            newStatementText = strategy.getErrorStatement(messageFormat.toString(), args);
-        } else {
-            return;
-        }
-
-        final PsiStatement newStatement = factory.createStatementFromText(newStatementText, expression);
-        final PsiStatement parentStatement = PsiTreeUtil.getParentOfType(expression, PsiStatement.class);
-        if (parentStatement != null) {
-            parentStatement.replace(newStatement);
-        }
-    }
-
-    private boolean isSystemErrPrintCall(PsiMethodCallExpression expression) {
-        final PsiReferenceExpression methodExpression = expression.getMethodExpression();
-        final String methodName = methodExpression.getReferenceName();
-        if (!"println".equals(methodName) && !"print".equals(methodName)) {
-            return false;
+        final StatementReplacement replacement =
+                ConsolePrintCalls.createReplacement(expression, ConsolePrintCalls.SYSTEM_ERR, strategy, LoggingStrategy::getErrorStatement);
+        if (replacement != null) {
+            replacement.apply(JavaPsiFacade.getElementFactory(expression.getProject()));
         }
-        final PsiExpression qualifier = methodExpression.getQualifierExpression();
-        return qualifier != null && "System.err".equals(qualifier.getText());
     }
 }
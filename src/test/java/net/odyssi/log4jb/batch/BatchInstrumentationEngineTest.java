@@ -0,0 +1,130 @@
+package net.odyssi.log4jb.batch;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchInstrumentationEngineTest extends LightJavaCodeInsightFixtureTestCase {
+
+    public void testCollectsOnlyJavaFilesBelowRoot() {
+        PsiFile first = myFixture.addFileToProject("pkg/First.java", "package pkg; public class First {}");
+        myFixture.addFileToProject("pkg/sub/Second.java", "package pkg.sub; public class Second {}");
+        myFixture.addFileToProject("pkg/notes.txt", "not java");
+        myFixture.addFileToProject("other/Third.java", "package other; public class Third {}");
+
+        VirtualFile packageDir = first.getVirtualFile().getParent();
+        BatchInstrumentationEngine engine = new BatchInstrumentationEngine(getProject());
+
+        List<VirtualFile> files = ReadAction.compute(() -> engine.collectJavaFiles(List.of(packageDir)));
+
+        List<String> names = new ArrayList<>();
+        for (VirtualFile file : files) {
+            names.add(file.getName());
+        }
+        assertEquals("Should collect Java files in the package and its sub-packages only",
+                2, names.size());
+        assertTrue(names.contains("First.java"));
+        assertTrue(names.contains("Second.java"));
+    }
+
+    public void testAnalyzesAndAppliesEachWindowInFileOrder() {
+        PsiFile first = myFixture.addFileToProject("pkg/First.java", "package pkg; public class First {}");
+        myFixture.addFileToProject("pkg/Second.java", "package pkg; public class Second {}");
+        myFixture.addFileToProject("pkg/Third.java", "package pkg; public class Third {}");
+
+        BatchInstrumentationEngine engine = new BatchInstrumentationEngine(getProject(), 2);
+        List<VirtualFile> files = ReadAction.compute(() ->
+                engine.collectJavaFiles(List.of(first.getVirtualFile().getParent())));
+        RecordingOperation operation = new RecordingOperation(null);
+
+        runInBackground(() -> engine.process(files, operation, new EmptyProgressIndicator()));
+
+        assertEquals("Every file should be analyzed once", 3, operation.analyzed.get());
+        assertEquals("Every plan should be applied once, in file order", classNames(files), operation.applied);
+    }
+
+    public void testCancellationStopsBeforeLaterWindows() {
+        PsiFile first = myFixture.addFileToProject("pkg/First.java", "package pkg; public class First {}");
+        myFixture.addFileToProject("pkg/Second.java", "package pkg; public class Second {}");
+        myFixture.addFileToProject("pkg/Third.java", "package pkg; public class Third {}");
+
+        BatchInstrumentationEngine engine = new BatchInstrumentationEngine(getProject(), 2);
+        List<VirtualFile> files = ReadAction.compute(() ->
+                engine.collectJavaFiles(List.of(first.getVirtualFile().getParent())));
+        EmptyProgressIndicator indicator = new EmptyProgressIndicator();
+        // Cancels the run while the first window is being applied.
+        RecordingOperation operation = new RecordingOperation(indicator);
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        runInBackground(() -> {
+            try {
+                engine.process(files, operation, indicator);
+            } catch (ProcessCanceledException ex) {
+                cancelled.set(true);
+            }
+        });
+
+        assertTrue("The run should end with a cancellation", cancelled.get());
+        assertEquals("Only the first window should be applied", classNames(files.subList(0, 2)), operation.applied);
+        assertEquals("The later window should not be analyzed", 2, operation.analyzed.get());
+    }
+
+    /**
+     * Runs the task on a pooled thread, as the background task does, while the EDT dispatches the apply phase.
+     */
+    private static void runInBackground(Runnable task) {
+        PlatformTestUtil.waitForFuture(ApplicationManager.getApplication().executeOnPooledThread(task), 30_000);
+    }
+
+    private static List<String> classNames(List<VirtualFile> files) {
+        List<String> names = new ArrayList<>();
+        for (VirtualFile file : files) {
+            names.add(file.getNameWithoutExtension());
+        }
+        return names;
+    }
+
+    private static class RecordingOperation implements BatchOperation<PsiClass> {
+
+        private final AtomicInteger analyzed = new AtomicInteger();
+        private final List<String> applied = new ArrayList<>();
+        private final ProgressIndicator indicatorToCancel;
+
+        private RecordingOperation(ProgressIndicator indicatorToCancel) {
+            this.indicatorToCancel = indicatorToCancel;
+        }
+
+        @Override
+        public @NotNull String getCommandName() {
+            return "Record";
+        }
+
+        @Override
+        public PsiClass analyze(@NotNull PsiJavaFile file) {
+            analyzed.incrementAndGet();
+            return file.getClasses()[0];
+        }
+
+        @Override
+        public void apply(@NotNull PsiClass plan) {
+            applied.add(plan.getName());
+            if (indicatorToCancel != null) {
+                indicatorToCancel.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package net.odyssi.log4jb.index;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.util.List;
+
+public class LoggingIndexTest extends LightJavaCodeInsightFixtureTestCase {
+
+    public void testIndexesLoggerFieldsAndCalls() {
+        PsiFile file = myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger LOG = LoggerFactory.getLogger(MyClass.class);\n" +
+                "    public void process(String name) {\n" +
+                "        if (LOG.isDebugEnabled()) {\n" +
+                "            LOG.debug(\"process(String) - start\");\n" +
+                "        }\n" +
+                "        LOG.info(\"Processing {}\", name);\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        LoggingFileData data = LoggingIndex.getFileData(getProject(), file.getVirtualFile());
+
+        assertNotNull("File with a logger should be indexed", data);
+        assertEquals(List.of("LOG"), data.loggerFields());
+        assertEquals("isDebugEnabled() is not a log call", 2, data.callSites().size());
+
+        LoggerCallSite start = data.callSites().get(0);
+        assertEquals("debug", start.level());
+        assertEquals("process(String) - start", start.messageTemplate());
+        assertEquals("process(String)", start.methodSignature());
+        assertTrue("Start message should be recognised as generated", start.generated());
+
+        LoggerCallSite info = data.callSites().get(1);
+        assertEquals("info", info.level());
+        assertFalse("Hand-written message should not be recognised as generated", info.generated());
+    }
+
+    public void testDetectsStaleSignatures() {
+        PsiFile file = myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger logger = LoggerFactory.getLogger(MyClass.class);\n" +
+                "    public void renamed(int count) {\n" +
+                "        logger.debug(\"oldName() - start\");\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        LoggingFileData data = LoggingIndex.getFileData(getProject(), file.getVirtualFile());
+
+        assertNotNull(data);
+        assertTrue("Message with an outdated signature should be stale", data.hasStaleCalls());
+        assertTrue("Outdated message should still be recognised as generated", data.hasGeneratedCalls());
+    }
+
+    public void testSkipsFilesWithoutLogger() {
+        PsiFile file = myFixture.configureByText("Plain.java",
+                "public class Plain {\n" +
+                "    public void doWork() {}\n" +
+                "}\n"
+        );
+
+        assertNull(LoggingIndex.getFileData(getProject(), file.getVirtualFile()));
+        assertFalse(LoggingIndex.getFilesWithLogging(getProject(), GlobalSearchScope.allScope(getProject()))
+                .contains(file.getVirtualFile()));
+    }
+
+    public void testIndexesCallsOfEveryFramework() {
+        PsiFile file = myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    private static final java.util.logging.Logger jul = java.util.logging.Logger.getLogger(\"x\");\n" +
+                "    private static final System.Logger system = System.getLogger(\"x\");\n" +
+                "    private static final com.google.common.flogger.FluentLogger flogger = com.google.common.flogger.FluentLogger.forEnclosingClass();\n" +
+                "    private static final class Log4jbLoggerHolder {\n" +
+                "        private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(MyClass.class);\n" +
+                "    }\n" +
+                "    public void process(String name) {\n" +
+                "        jul.fine(\"old() - start\");\n" +
+                "        jul.log(java.util.logging.Level.SEVERE, \"process(String) - caught exception\");\n" +
+                "        system.log(System.Logger.Level.DEBUG, () -> \"process(String) - end\");\n" +
+                "        flogger.atFine().log(\"process(String) - start\");\n" +
+                "        Log4jbLoggerHolder.logger.atWarn().setMessage(\"process(String) - exception ignored\").log();\n" +
+                "        if (jul.isLoggable(java.util.logging.Level.FINE)) { }\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        LoggingFileData data = LoggingIndex.getFileData(getProject(), file.getVirtualFile());
+
+        assertNotNull(data);
+        assertEquals("Level checks and chain links are not log calls", 5, data.callSites().size());
+        assertEquals(List.of("debug", "error", "debug", "debug", "warn"),
+                data.callSites().stream().map(LoggerCallSite::level).toList());
+        assertEquals("logger", data.callSites().get(4).loggerName());
+        assertEquals("process(String) - exception ignored", data.callSites().get(4).messageTemplate());
+        assertTrue("All messages should be recognised as generated", data.callSites().stream().allMatch(LoggerCallSite::generated));
+        assertTrue("The JUL call with an outdated signature should be stale", data.callSites().get(0).isStale());
+        assertEquals(1, data.callSites().stream().filter(LoggerCallSite::isStale).count());
+    }
+
+    public void testHandWrittenMessageIsNotStale() {
+        PsiFile file = myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger logger = LoggerFactory.getLogger(MyClass.class);\n" +
+                "    public void process() {\n" +
+                "        logger.info(\"Import - done\");\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        LoggingFileData data = LoggingIndex.getFileData(getProject(), file.getVirtualFile());
+
+        assertNotNull(data);
+        assertFalse(data.hasGeneratedCalls());
+        assertFalse("A hand-written message containing the separator is not stale", data.hasStaleCalls());
+    }
+}
@@ -0,0 +1,80 @@
+package net.odyssi.log4jb.inspections;
+
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.util.List;
+
+public class ConsolePrintInspectionTest extends LightJavaCodeInsightFixtureTestCase {
+
+    public void testReportsSystemOutAndFixesAllInFile() {
+        myFixture.enableInspections(new SystemOutPrintInspection());
+        myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public void doWork(String name) {\n" +
+                "        System.out.println(\"Hello \" + <caret>name);\n" +
+                "        System.out.print(\"done\");\n" +
+                "        if (name.isEmpty()) {\n" +
+                "            System.out.println();\n" +
+                "        }\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        List<HighlightInfo> highlights = myFixture.doHighlighting();
+        assertEquals(3, countDescriptions(highlights, "writes to the console"));
+
+        // "Fix all in file" is the quick fix's batch option; it must rewrite every call in one go.
+        myFixture.launchAction(myFixture.findSingleIntention("Fix all "));
+
+        String text = myFixture.getFile().getText();
+        assertFalse(text.contains("System.out"));
+        assertEquals("Logger should be declared once", 1, countOccurrences(text, "LoggerFactory.getLogger"));
+        assertTrue(text.contains("logger.debug(\"doWork(String) - Hello {}\", name)"));
+        assertTrue(text.contains("logger.debug(\"doWork(String) - done\")"));
+        assertTrue(text.contains("doWork(String) - (empty line)"));
+    }
+
+    public void testReportsPrintStackTrace() {
+        myFixture.enableInspections(new SystemErrPrintInspection());
+        myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public void doWork() {\n" +
+                "        try {\n" +
+                "            Integer.parseInt(\"x\");\n" +
+                "        } catch (NumberFormatException e) {\n" +
+                "            e.printStackTrace();\n" +
+                "        }\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        List<HighlightInfo> highlights = myFixture.doHighlighting();
+        assertEquals(1, countDescriptions(highlights, "prints the stack trace"));
+
+        myFixture.getAllQuickFixes().forEach(myFixture::launchAction);
+        String text = myFixture.getFile().getText();
+        assertFalse(text.contains("printStackTrace"));
+        assertTrue(text.contains("logger.error(\"doWork() - caught exception\", e)"));
+    }
+
+    private static int countDescriptions(List<HighlightInfo> highlights, String fragment) {
+        int count = 0;
+        for (HighlightInfo highlight : highlights) {
+            if (highlight.getDescription() != null && highlight.getDescription().contains(fragment)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int countOccurrences(String text, String pattern) {
+        int count = 0;
+        int index = 0;
+        while ((index = text.indexOf(pattern, index)) != -1) {
+            count++;
+            index += pattern.length();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,49 @@
+package net.odyssi.log4jb.inspections;
+
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.util.List;
+
+public class RedundantLogGuardInspectionTest extends LightJavaCodeInsightFixtureTestCase {
+
+    public void testRemovesGuardsAroundCheapStatementsOnly() {
+        myFixture.enableInspections(new RedundantLogGuardInspection());
+        myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger logger = LoggerFactory.getLogger(MyClass.class);\n" +
+                "    private static final boolean LOG4JB_DEBUG = false;\n" +
+                "    public void doWork(String name) {\n" +
+                "        if(logger.isDebugEnabled()) { logger.debug(\"doWork(String) - start\"); }\n" +
+                "        if(LOG4JB_DEBUG && logger.isDebugEnabled()) { logger.debug(\"doWork(String) - name={}\", name); }\n" +
+                "        if(logger.isDebugEnabled()) { logger.debug(\"doWork(String) - report={}\", buildReport()); }\n" +
+                "    }\n" +
+                "    private String buildReport() {\n" +
+                "        return \"\";\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        List<HighlightInfo> highlights = myFixture.doHighlighting();
+        int count = 0;
+        for (HighlightInfo highlight : highlights) {
+            if (highlight.getDescription() != null && highlight.getDescription().contains("Log guard is redundant")) {
+                count++;
+            }
+        }
+        assertEquals("Only the guards around cheap statements should be reported", 2, count);
+
+        myFixture.getAllQuickFixes().stream()
+                .filter(fix -> fix.getFamilyName().equals("Remove redundant log guard"))
+                .forEach(myFixture::launchAction);
+
+        String text = myFixture.getFile().getText();
+        assertTrue(text.contains("logger.debug(\"doWork(String) - start\");"));
+        assertFalse(text.contains("if(logger.isDebugEnabled()) { logger.debug(\"doWork(String) - start\"); }"));
+        assertTrue("Constant guard should be kept", text.contains("if(LOG4JB_DEBUG) { logger.debug(\"doWork(String) - name={}\", name); }"));
+        assertTrue("Expensive statement should stay guarded",
+                text.contains("if(logger.isDebugEnabled()) { logger.debug(\"doWork(String) - report={}\", buildReport()); }"));
+    }
+}
@@ -0,0 +1,42 @@
+package net.odyssi.log4jb.inspections;
+
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.util.List;
+
+public class StaticInitializerLoggingInspectionTest extends LightJavaCodeInsightFixtureTestCase {
+
+    public void testReportsLoggingInStaticInitializerOnly() {
+        myFixture.enableInspections(new StaticInitializerLoggingInspection());
+        myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger logger = LoggerFactory.getLogger(MyClass.class);\n" +
+                "    static {\n" +
+                "        if (logger.isDebugEnabled()) {\n" +
+                "            logger.debug(\"static init\");\n" +
+                "        }\n" +
+                "        Runnable later = () -> logger.debug(\"deferred\");\n" +
+                "    }\n" +
+                "    {\n" +
+                "        logger.debug(\"instance init\");\n" +
+                "    }\n" +
+                "    public void doWork() {\n" +
+                "        logger.debug(\"doWork() - start\");\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        List<HighlightInfo> highlights = myFixture.doHighlighting();
+        int count = 0;
+        for (HighlightInfo highlight : highlights) {
+            if (highlight.getDescription() != null && highlight.getDescription().contains("static initializer")) {
+                count++;
+                assertTrue(highlight.getText(), highlight.getText().contains("static init"));
+            }
+        }
+        assertEquals("Only the log statement run by the static initializer should be reported", 1, count);
+    }
+}
@@ -0,0 +1,61 @@
+package net.odyssi.log4jb.logging;
+
+import junit.framework.TestCase;
+
+public class ConstantGuardLoggingStrategyTest extends TestCase {
+
+    private final ConstantGuardLoggingStrategy strategy = new ConstantGuardLoggingStrategy(new Slf4jLoggingStrategy());
+
+    public void testDelegatesLoggerField() {
+        assertEquals(new Slf4jLoggingStrategy().getLoggerFieldDeclaration("MyService"),
+                strategy.getLoggerFieldDeclaration("MyService"));
+        assertEquals("logger", strategy.getLoggerFieldName());
+        assertEquals("org.slf4j.Logger", strategy.getLoggerTypeName());
+    }
+
+    public void testMergesFlagIntoExistingGuard() {
+        String result = strategy.getGuardedDebugStatement("doWork() - value={}", "compute()");
+        assertEquals("if(LOG4JB_DEBUG && logger.isDebugEnabled()) { logger.debug(\"doWork() - value={}\", compute()); }", result);
+    }
+
+    public void testMergesFlagIntoGuardWithNestedParentheses() {
+        String result = new ConstantGuardLoggingStrategy(new JulLoggingStrategy())
+                .getLogStatement("trace", "doWork() - value={}", "count++");
+        assertTrue(result, result.startsWith("if(LOG4JB_TRACE && logger.isLoggable(java.util.logging.Level.FINER)) {"));
+    }
+
+    public void testMergesFlagWhenLiteralsContainParentheses() {
+        String result = strategy.getGuardedDebugStatement("doWork() - value=( {}", "format(\")\", x)");
+        assertEquals("if(LOG4JB_DEBUG && logger.isDebugEnabled()) { "
+                + "logger.debug(\"doWork() - value=( {}\", format(\")\", x)); }", result);
+
+        String julResult = new ConstantGuardLoggingStrategy(new JulLoggingStrategy())
+                .getLogStatement("debug", "doWork() - ) {}", "count++");
+        assertEquals("if(LOG4JB_DEBUG && logger.isLoggable(java.util.logging.Level.FINE)) { "
+                + "logger.fine(\"doWork() - ) \" + (count++)); }", julResult);
+    }
+
+    public void testWrapsUnguardedStatement() {
+        String result = new ConstantGuardLoggingStrategy(new SystemLoggerLoggingStrategy())
+                .getLogStatement("debug", "doWork() - start", "");
+        assertEquals("if(LOG4JB_DEBUG) { logger.log(System.Logger.Level.DEBUG, () -> \"doWork() - start\"); }", result);
+    }
+
+    public void testLeavesHigherLevelsAlone() {
+        assertEquals(new Slf4jLoggingStrategy().getLogStatement("info", "doWork() - done", ""),
+                strategy.getLogStatement("info", "doWork() - done", ""));
+        assertEquals("logger.error(\"doWork() - failed\", ex);", strategy.getErrorStatement("doWork() - failed", "ex"));
+    }
+
+    public void testShouldGuardTraceAndDebug() {
+        ConstantGuardLoggingStrategy unguarded = new ConstantGuardLoggingStrategy(new Slf4jFluentLoggingStrategy());
+        assertTrue(unguarded.shouldGuard("trace", ""));
+        assertTrue(unguarded.shouldGuard("debug", ""));
+        assertFalse(unguarded.shouldGuard("info", ""));
+    }
+
+    public void testLevelEnabledCheckIncludesFlag() {
+        assertEquals("LOG4JB_DEBUG && logger.isDebugEnabled()", strategy.getLevelEnabledCheck("debug"));
+        assertEquals("logger.isInfoEnabled()", strategy.getLevelEnabledCheck("info"));
+    }
+}
@@ -0,0 +1,73 @@
+package net.odyssi.log4jb.logging;
+
+import junit.framework.TestCase;
+
+import java.util.Set;
+
+public class FloggerLoggingStrategyTest extends TestCase {
+
+    private final FloggerLoggingStrategy strategy = new FloggerLoggingStrategy();
+
+    public void testGetLoggerFieldDeclaration() {
+        assertEquals(
+                "private static final com.google.common.flogger.FluentLogger logger = com.google.common.flogger.FluentLogger.forEnclosingClass();",
+                strategy.getLoggerFieldDeclaration("MyService")
+        );
+    }
+
+    public void testGetLoggerTypeName() {
+        assertEquals("com.google.common.flogger.FluentLogger", strategy.getLoggerTypeName());
+    }
+
+    public void testDebugStatementNoArgs() {
+        String result = strategy.getGuardedDebugStatement("doWork() - start", "");
+        assertEquals("logger.atFine().log(\"doWork() - start\");", result);
+    }
+
+    public void testPlaceholdersBecomePrintfStyle() {
+        String result = strategy.getGuardedDebugStatement("doWork() - name={}, total={}", "name, order.computeTotal()");
+        assertEquals("logger.atFine().log(\"doWork() - name=%s, total=%s\", name, com.google.common.flogger.LazyArgs.lazy(() -> order.computeTotal()));", result);
+    }
+
+    public void testErrorStatementUsesWithCause() {
+        String result = strategy.getErrorStatement("doWork() - caught exception", "ex");
+        assertEquals("logger.atSevere().withCause(ex).log(\"doWork() - caught exception\");", result);
+    }
+
+    public void testWarnStatementUsesWithCause() {
+        String result = strategy.getWarnStatement("doWork() - exception ignored", "ex");
+        assertEquals("logger.atWarning().withCause(ex).log(\"doWork() - exception ignored\");", result);
+    }
+
+    public void testRateLimitedStatement() {
+        String result = strategy.getLogStatement("info", "doWork() - id={}", "id", 100, 1);
+        assertEquals("logger.atInfo().every(100).atMostEvery(1, java.util.concurrent.TimeUnit.SECONDS).log(\"doWork() - id=%s\", id);", result);
+    }
+
+    public void testPercentIsEscapedWhenFormatting() {
+        String result = strategy.getLogStatement("info", "doWork() - 100% of {}", "total");
+        assertEquals("logger.atInfo().log(\"doWork() - 100%% of %s\", total);", result);
+    }
+
+    public void testNonCapturableLocalIsGuardedInsteadOfLazy() {
+        LoggingStrategy contextual = strategy.withNonCapturableLocals(Set.of("i"));
+        assertEquals("if(logger.atFine().isEnabled()) { logger.atFine().log(\"run() - %s\", compute(i)); }",
+                contextual.getLogStatement("debug", "run() - {}", "compute(i)"));
+        assertEquals("logger.atFine().log(\"run() - %s\", i);", contextual.getLogStatement("debug", "run() - {}", "i"));
+        assertTrue(contextual.shouldGuard("debug", "compute(i)"));
+    }
+
+    public void testNoLevelIsGuarded() {
+        assertFalse(strategy.shouldGuard("debug", "compute()"));
+        assertFalse(strategy.shouldGuard("error", "compute()"));
+    }
+
+    public void testOtherStrategiesIgnoreRateLimits() {
+        Slf4jLoggingStrategy slf4j = new Slf4jLoggingStrategy();
+        assertEquals(slf4j.getLogStatement("warn", "msg", "x"), slf4j.getLogStatement("warn", "msg", "x", 100, 1));
+    }
+
+    public void testLevelEnabledCheck() {
+        assertEquals("logger.atFine().isEnabled()", strategy.getLevelEnabledCheck("debug"));
+    }
+}
@@ -0,0 +1,79 @@
+package net.odyssi.log4jb.logging;
+
+import junit.framework.TestCase;
+
+import java.util.Set;
+
+public class JulLoggingStrategyTest extends TestCase {
+
+    private final JulLoggingStrategy strategy = new JulLoggingStrategy();
+
+    public void testGetLoggerFieldDeclaration() {
+        String declaration = strategy.getLoggerFieldDeclaration("MyService");
+        assertEquals(
+                "private static final java.util.logging.Logger logger = java.util.logging.Logger.getLogger(MyService.class.getName());",
+                declaration
+        );
+    }
+
+    public void testGetLoggerTypeName() {
+        assertEquals("java.util.logging.Logger", strategy.getLoggerTypeName());
+    }
+
+    public void testDebugStatementNoArgsIsPlainFine() {
+        String result = strategy.getGuardedDebugStatement("doWork() - start", "");
+        assertEquals("logger.fine(\"doWork() - start\");", result);
+    }
+
+    public void testDebugStatementWithArgsUsesSupplier() {
+        String result = strategy.getGuardedDebugStatement("doWork() - name={}, total={}", "name, order.getTotal()");
+        assertEquals("logger.fine(() -> \"doWork() - name=\" + name + \", total=\" + (order.getTotal()));", result);
+    }
+
+    public void testLevelsAreMapped() {
+        assertEquals("logger.finer(\"msg\");", strategy.getLogStatement("trace", "msg", ""));
+        assertEquals("logger.info(\"msg\");", strategy.getLogStatement("info", "msg", ""));
+        assertEquals("logger.warning(\"msg\");", strategy.getLogStatement("warn", "msg", ""));
+        assertEquals("logger.severe(\"msg\");", strategy.getLogStatement("error", "msg", ""));
+    }
+
+    public void testErrorStatementPassesThrowable() {
+        String result = strategy.getErrorStatement("doWork() - caught exception", "ex");
+        assertEquals("logger.log(java.util.logging.Level.SEVERE, \"doWork() - caught exception\", ex);", result);
+    }
+
+    public void testWarnStatementPassesThrowable() {
+        String result = strategy.getWarnStatement("doWork() - exception ignored", "ex");
+        assertEquals("logger.log(java.util.logging.Level.WARNING, \"doWork() - exception ignored\", ex);", result);
+    }
+
+    public void testThrowableWithArgsUsesSupplier() {
+        String result = strategy.getErrorStatement("doWork() - id={}", "id, ex");
+        assertEquals("logger.log(java.util.logging.Level.SEVERE, ex, () -> \"doWork() - id=\" + id);", result);
+    }
+
+    public void testSideEffectsAreGuarded() {
+        String result = strategy.getGuardedDebugStatement("doWork() - count={}", "count++");
+        assertEquals("if(logger.isLoggable(java.util.logging.Level.FINE)) { logger.fine(\"doWork() - count=\" + (count++)); }", result);
+    }
+
+    public void testLoopVariableIsGuardedInsteadOfSupplied() {
+        LoggingStrategy contextual = strategy.withNonCapturableLocals(Set.of("i"));
+        assertEquals("if(logger.isLoggable(java.util.logging.Level.FINE)) { logger.fine(\"run() - i=\" + i); }",
+                contextual.getGuardedDebugStatement("run() - i={}", "i"));
+        assertEquals("if(logger.isLoggable(java.util.logging.Level.SEVERE)) { "
+                        + "logger.log(java.util.logging.Level.SEVERE, \"run() - i=\" + i, ex); }",
+                contextual.getErrorStatement("run() - i={}", "i, ex"));
+        assertTrue(contextual.shouldGuard("debug", "i"));
+        assertEquals("logger.fine(() -> \"run() - j=\" + j);", contextual.getGuardedDebugStatement("run() - j={}", "j"));
+    }
+
+    public void testNoLevelIsGuarded() {
+        assertFalse(strategy.shouldGuard("debug", "compute()"));
+        assertFalse(strategy.shouldGuard("error", "compute()"));
+    }
+
+    public void testLevelEnabledCheck() {
+        assertEquals("logger.isLoggable(java.util.logging.Level.FINE)", strategy.getLevelEnabledCheck("debug"));
+    }
+}
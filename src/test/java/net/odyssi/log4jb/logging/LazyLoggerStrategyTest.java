@@ -0,0 +1,37 @@
+package net.odyssi.log4jb.logging;
+
+import junit.framework.TestCase;
+
+public class LazyLoggerStrategyTest extends TestCase {
+
+    private final LazyLoggerStrategy strategy = new LazyLoggerStrategy(new Slf4jLoggingStrategy());
+
+    public void testDeclaresLoggerInHolderClass() {
+        assertEquals("private static final class Log4jbLoggerHolder {\n" +
+                "private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(MyService.class);\n" +
+                "}", strategy.getLoggerFieldDeclaration("MyService"));
+        assertEquals("Log4jbLoggerHolder", strategy.getLoggerHolderClassName());
+        assertEquals("logger", strategy.getLoggerFieldName());
+    }
+
+    public void testQualifiesLoggerUsesWithHolder() {
+        String result = strategy.getGuardedDebugStatement("doWork() - value={}", "compute()");
+        assertEquals("if(Log4jbLoggerHolder.logger.isDebugEnabled()) { Log4jbLoggerHolder.logger.debug(\"doWork() - value={}\", compute()); }", result);
+    }
+
+    public void testLeavesLiteralsAndMemberAccessesAlone() {
+        String result = strategy.getErrorStatement("doWork() - logger.flush() failed", "this.logger");
+        assertEquals("Log4jbLoggerHolder.logger.error(\"doWork() - logger.flush() failed\", this.logger);", result);
+    }
+
+    public void testComposesWithConstantGuards() {
+        LoggingStrategy composed = new ConstantGuardLoggingStrategy(strategy);
+        assertEquals("Log4jbLoggerHolder", composed.getLoggerHolderClassName());
+        assertEquals("if(LOG4JB_DEBUG) { Log4jbLoggerHolder.logger.debug(\"doWork() - start\"); }",
+                composed.getGuardedDebugStatement("doWork() - start", ""));
+    }
+
+    public void testQualifiesLevelEnabledCheck() {
+        assertEquals("Log4jbLoggerHolder.logger.isDebugEnabled()", strategy.getLevelEnabledCheck("debug"));
+    }
+}
@@ -0,0 +1,44 @@
+package net.odyssi.log4jb.logging;
+
+import junit.framework.TestCase;
+
+public class Log4j2GarbageFreeLoggingStrategyTest extends TestCase {
+
+    private final Log4j2GarbageFreeLoggingStrategy strategy = new Log4j2GarbageFreeLoggingStrategy();
+
+    public void testDebugStatementNoArgsIsUnguarded() {
+        String result = strategy.getGuardedDebugStatement("doWork() - start", "");
+        assertEquals("logger.debug(\"doWork() - start\");", result);
+    }
+
+    public void testSimpleArgsArePlainAndUnguarded() {
+        String result = strategy.getLogStatement("debug", "doWork() - a={}, b={}, c={}", "a, b, c");
+        assertEquals("logger.debug(\"doWork() - a={}, b={}, c={}\", a, b, c);", result);
+    }
+
+    public void testComputedArgsAreGuardedInsteadOfSupplied() {
+        String result = strategy.getLogStatement("debug", "doWork() - {}", "order.computeTotal()");
+        assertEquals("if(logger.isDebugEnabled()) { logger.debug(\"doWork() - {}\", order.computeTotal()); }", result);
+        assertFalse("Lambdas allocate when capturing", result.contains("->"));
+    }
+
+    public void testMoreThanTenArgsAreSplitBehindOneGuard() {
+        StringBuilder message = new StringBuilder("doWork() -");
+        StringBuilder args = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            message.append(" v").append(i).append("={}");
+            args.append(i == 0 ? "" : ", ").append("v").append(i);
+        }
+
+        String result = strategy.getLogStatement("info", message.toString(), args.toString());
+
+        assertTrue(result.startsWith("if(logger.isInfoEnabled()) { "));
+        assertTrue(result.contains("logger.info(\"doWork() - v0={} v1={} v2={} v3={} v4={} v5={} v6={} v7={} v8={} v9={}\", v0, v1, v2, v3, v4, v5, v6, v7, v8, v9);"));
+        assertTrue(result.contains("logger.info(\" v10={} v11={}\", v10, v11);"));
+    }
+
+    public void testErrorStatementIsPlain() {
+        String result = strategy.getErrorStatement("doWork() - caught exception", "ex");
+        assertEquals("logger.error(\"doWork() - caught exception\", ex);", result);
+    }
+}
@@ -0,0 +1,85 @@
+package net.odyssi.log4jb.logging;
+
+import junit.framework.TestCase;
+
+import java.util.Set;
+
+public class Log4j2LoggingStrategyTest extends TestCase {
+
+    private final Log4j2LoggingStrategy strategy = new Log4j2LoggingStrategy();
+
+    public void testGetLoggerFieldDeclaration() {
+        String declaration = strategy.getLoggerFieldDeclaration("MyService");
+        assertEquals(
+                "private static final org.apache.logging.log4j.Logger logger = org.apache.logging.log4j.LogManager.getLogger(MyService.class);",
+                declaration
+        );
+    }
+
+    public void testGetLoggerTypeName() {
+        assertEquals("org.apache.logging.log4j.Logger", strategy.getLoggerTypeName());
+    }
+
+    public void testDebugStatementNoArgsIsUnguarded() {
+        String result = strategy.getGuardedDebugStatement("doWork() - start", "");
+        assertEquals("logger.debug(\"doWork() - start\");", result);
+    }
+
+    public void testDebugStatementWithSimpleArgsIsPlain() {
+        String result = strategy.getGuardedDebugStatement("doWork() - name={}, count={}", "name, 42");
+        assertEquals("logger.debug(\"doWork() - name={}, count={}\", name, 42);", result);
+    }
+
+    public void testDebugStatementWithComputedArgUsesSuppliers() {
+        String result = strategy.getGuardedDebugStatement("doWork() - {} {}", "name, order.getTotal(a, b)");
+        assertEquals("logger.debug(\"doWork() - {} {}\", () -> name, () -> order.getTotal(a, b));", result);
+    }
+
+    public void testSideEffectArgumentIsGuarded() {
+        String result = strategy.getLogStatement("info", "doWork() - {}", "count++");
+        assertEquals("if(logger.isInfoEnabled()) { logger.info(\"doWork() - {}\", count++); }", result);
+    }
+
+    public void testErrorStatementIsPlain() {
+        String result = strategy.getErrorStatement("doWork() - caught exception", "ex");
+        assertEquals("logger.error(\"doWork() - caught exception\", ex);", result);
+    }
+
+    public void testWarnStatementWithComputedArgIsPlain() {
+        String result = strategy.getWarnStatement("doWork() - {}", "ex.getMessage()");
+        assertEquals("logger.warn(\"doWork() - {}\", ex.getMessage());", result);
+    }
+
+    public void testWarnStatementWithExpensiveArgUsesSupplier() {
+        String result = strategy.getWarnStatement("doWork() - {}", "buildReport()");
+        assertEquals("logger.warn(\"doWork() - {}\", () -> buildReport());", result);
+    }
+
+    public void testNonCapturableLocalIsGuardedInsteadOfSupplied() {
+        String result = strategy.withNonCapturableLocals(Set.of("i")).getLogStatement("debug", "run() - {}", "compute(i)");
+        assertEquals("if(logger.isDebugEnabled()) { logger.debug(\"run() - {}\", compute(i)); }", result);
+    }
+
+    public void testCapturableArgumentsStillUseSuppliers() {
+        LoggingStrategy contextual = strategy.withNonCapturableLocals(Set.of("i"));
+        assertEquals("logger.debug(\"run() - {}\", () -> compute(item.i));",
+                contextual.getLogStatement("debug", "run() - {}", "compute(item.i)"));
+        assertEquals("logger.debug(\"run() - {}\", () -> format(\"i\"));",
+                contextual.getLogStatement("debug", "run() - {}", "format(\"i\")"));
+    }
+
+    public void testTrailingCauseIsNotSupplied() {
+        String result = strategy.getErrorStatement("run() - {}", "buildReport(), ex");
+        assertEquals("if(logger.isErrorEnabled()) { logger.error(\"run() - {}\", buildReport(), ex); }", result);
+    }
+
+    public void testOnlySideEffectsAreGuarded() {
+        assertFalse(strategy.shouldGuard("debug", "compute()"));
+        assertFalse(strategy.shouldGuard("trace", ""));
+        assertTrue(strategy.shouldGuard("error", "count++"));
+    }
+
+    public void testLevelEnabledCheck() {
+        assertEquals("logger.isTraceEnabled()", strategy.getLevelEnabledCheck("trace"));
+    }
+}
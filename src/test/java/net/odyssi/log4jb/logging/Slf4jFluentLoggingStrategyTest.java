@@ -0,0 +1,57 @@
+package net.odyssi.log4jb.logging;
+
+import junit.framework.TestCase;
+
+import java.util.Set;
+
+public class Slf4jFluentLoggingStrategyTest extends TestCase {
+
+    private final Slf4jFluentLoggingStrategy strategy = new Slf4jFluentLoggingStrategy();
+
+    public void testGetLoggerFieldDeclaration() {
+        assertEquals(
+                "private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(MyService.class);",
+                strategy.getLoggerFieldDeclaration("MyService")
+        );
+    }
+
+    public void testDebugStatementNoArgs() {
+        String result = strategy.getGuardedDebugStatement("doWork() - start", "");
+        assertEquals("logger.atDebug().setMessage(\"doWork() - start\").log();", result);
+    }
+
+    public void testSimpleArgumentsArePlain() {
+        String result = strategy.getGuardedDebugStatement("doWork() - name={}, count={}", "name, 42");
+        assertEquals("logger.atDebug().setMessage(\"doWork() - name={}, count={}\").addArgument(name).addArgument(42).log();", result);
+    }
+
+    public void testComputedArgumentsAreSupplied() {
+        String result = strategy.getLogStatement("info", "doWork() - total={}", "order.computeTotal()");
+        assertEquals("logger.atInfo().setMessage(\"doWork() - total={}\").addArgument(() -> order.computeTotal()).log();", result);
+    }
+
+    public void testErrorStatementSetsCause() {
+        String result = strategy.getErrorStatement("doWork() - caught exception", "ex");
+        assertEquals("logger.atError().setMessage(\"doWork() - caught exception\").setCause(ex).log();", result);
+    }
+
+    public void testWarnStatementSetsCause() {
+        String result = strategy.getWarnStatement("doWork() - exception ignored", "ex");
+        assertEquals("logger.atWarn().setMessage(\"doWork() - exception ignored\").setCause(ex).log();", result);
+    }
+
+    public void testNonCapturableLocalIsGuardedInsteadOfSupplied() {
+        LoggingStrategy contextual = strategy.withNonCapturableLocals(Set.of("i"));
+        assertEquals("if(logger.isDebugEnabled()) { logger.atDebug().setMessage(\"run() - {} {}\")"
+                        + ".addArgument(compute(i)).addArgument(buildReport()).log(); }",
+                contextual.getLogStatement("debug", "run() - {} {}", "compute(i), buildReport()"));
+        assertEquals("logger.atDebug().setMessage(\"run() - {}\").addArgument(i).log();",
+                contextual.getLogStatement("debug", "run() - {}", "i"));
+    }
+
+    public void testNoLevelIsGuarded() {
+        assertFalse(strategy.shouldGuard("debug", "compute()"));
+        assertFalse(strategy.shouldGuard("info", "compute()"));
+        assertFalse(strategy.shouldGuard("error", "compute()"));
+    }
+}
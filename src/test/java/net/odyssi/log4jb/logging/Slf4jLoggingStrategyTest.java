@@ -22,14 +22,19 @@ public class Slf4jLoggingStrategyTest extends TestCase {
         assertEquals("org.slf4j.Logger", strategy.getLoggerTypeName());
     }
 
-    public void testGuardedDebugStatementNoArgs() {
+    public void testDebugStatementNoArgsIsUnguarded() {
         String result = strategy.getGuardedDebugStatement("doWork() - start", "");
-        assertEquals("if(logger.isDebugEnabled()) { logger.debug(\"doWork() - start\"); }", result);
+        assertEquals("logger.debug(\"doWork() - start\");", result);
     }
 
-    public void testGuardedDebugStatementWithArgs() {
-        String result = strategy.getGuardedDebugStatement("doWork() - name={}", "name");
-        assertEquals("if(logger.isDebugEnabled()) { logger.debug(\"doWork() - name={}\", name); }", result);
+    public void testDebugStatementWithCheapArgsIsUnguarded() {
+        String result = strategy.getGuardedDebugStatement("doWork() - name={}, total={}", "name, order.getTotal()");
+        assertEquals("logger.debug(\"doWork() - name={}, total={}\", name, order.getTotal());", result);
+    }
+
+    public void testGuardedDebugStatementWithExpensiveArgs() {
+        String result = strategy.getGuardedDebugStatement("doWork() - report={}", "buildReport()");
+        assertEquals("if(logger.isDebugEnabled()) { logger.debug(\"doWork() - report={}\", buildReport()); }", result);
     }
 
     public void testErrorStatementNoArgs() {
@@ -47,30 +52,19 @@ public class Slf4jLoggingStrategyTest extends TestCase {
         assertEquals("logger.warn(\"doWork() - exception ignored\", ex);", result);
     }
 
-    public void testShouldGuardDebug() {
-        assertTrue("debug should be guarded", strategy.shouldGuard("debug"));
-    }
-
-    public void testShouldGuardTrace() {
-        assertTrue("trace should be guarded", strategy.shouldGuard("trace"));
-    }
-
-    public void testShouldGuardInfo() {
-        assertTrue("info should be guarded", strategy.shouldGuard("info"));
-    }
-
-    public void testShouldNotGuardWarn() {
-        assertFalse("warn should NOT be guarded", strategy.shouldGuard("warn"));
+    public void testShouldGuardExpensiveArgsAtAnyLevel() {
+        assertTrue("debug with a call should be guarded", strategy.shouldGuard("debug", "compute()"));
+        assertTrue("warn with formatting should be guarded", strategy.shouldGuard("warn", "Arrays.toString(values)"));
     }
 
-    public void testShouldNotGuardError() {
-        assertFalse("error should NOT be guarded", strategy.shouldGuard("error"));
+    public void testShouldNotGuardCheapArgs() {
+        assertFalse("no args should not be guarded", strategy.shouldGuard("debug", ""));
+        assertFalse("reads and getters should not be guarded", strategy.shouldGuard("info", "name, this.count, user.getId()"));
     }
 
-    public void testGetLogStatementDebugIsGuarded() {
-        String result = strategy.getLogStatement("debug", "msg()", "");
-        assertTrue("debug should produce guarded statement", result.contains("isDebugEnabled"));
-        assertTrue("Should contain logger.debug", result.contains("logger.debug"));
+    public void testGetLogStatementExpensiveWarnIsGuarded() {
+        String result = strategy.getLogStatement("warn", "msg() - {}", "buildReport()");
+        assertTrue("expensive warn should be guarded", result.contains("isWarnEnabled"));
     }
 
     public void testGetLogStatementErrorIsUnguarded() {
@@ -85,4 +79,9 @@ public class Slf4jLoggingStrategyTest extends TestCase {
         assertTrue("Should contain logger.warn", result.contains("logger.warn"));
         assertTrue("Should contain the argument", result.contains("arg1"));
     }
+
+    public void testLevelEnabledCheck() {
+        assertEquals("logger.isDebugEnabled()", strategy.getLevelEnabledCheck("debug"));
+        assertEquals("logger.isWarnEnabled()", strategy.getLevelEnabledCheck("warn"));
+    }
 }
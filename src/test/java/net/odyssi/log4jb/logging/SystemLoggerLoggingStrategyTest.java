@@ -0,0 +1,87 @@
+package net.odyssi.log4jb.logging;
+
+import junit.framework.TestCase;
+
+import java.util.Set;
+
+public class SystemLoggerLoggingStrategyTest extends TestCase {
+
+    private final SystemLoggerLoggingStrategy strategy = new SystemLoggerLoggingStrategy();
+
+    public void testGetLoggerFieldDeclaration() {
+        String declaration = strategy.getLoggerFieldDeclaration("MyService");
+        assertEquals(
+                "private static final java.lang.System.Logger logger = System.getLogger(MyService.class.getName());",
+                declaration
+        );
+    }
+
+    public void testGetLoggerFieldName() {
+        assertEquals("logger", strategy.getLoggerFieldName());
+    }
+
+    public void testGetLoggerTypeName() {
+        assertEquals("java.lang.System.Logger", strategy.getLoggerTypeName());
+    }
+
+    public void testGuardedDebugStatementNoArgs() {
+        String result = strategy.getGuardedDebugStatement("doWork() - start", "");
+        assertEquals("logger.log(System.Logger.Level.DEBUG, () -> \"doWork() - start\");", result);
+    }
+
+    public void testGuardedDebugStatementWithArgs() {
+        String result = strategy.getGuardedDebugStatement("doWork() - name={}", "name");
+        assertEquals("logger.log(System.Logger.Level.DEBUG, () -> \"doWork() - name=\" + name);", result);
+    }
+
+    public void testErrorStatementNoArgs() {
+        String result = strategy.getErrorStatement("doWork() - failed", "");
+        assertEquals("logger.log(System.Logger.Level.ERROR, () -> \"doWork() - failed\");", result);
+    }
+
+    public void testErrorStatementWithArgs() {
+        String result = strategy.getErrorStatement("doWork() - caught exception", "ex");
+        assertEquals("logger.log(System.Logger.Level.ERROR, () -> \"doWork() - caught exception\", ex);", result);
+    }
+
+    public void testWarnStatement() {
+        String result = strategy.getWarnStatement("doWork() - exception ignored", "ex");
+        assertEquals("logger.log(System.Logger.Level.WARNING, () -> \"doWork() - exception ignored\", ex);", result);
+    }
+
+    public void testSideEffectsAreGuarded() {
+        String result = strategy.getLogStatement("info", "doWork() - count={}", "count++");
+        assertEquals("if(logger.isLoggable(System.Logger.Level.INFO)) { logger.log(System.Logger.Level.INFO, \"doWork() - count=\" + (count++)); }", result);
+    }
+
+    public void testLoopVariableIsGuardedInsteadOfSupplied() {
+        LoggingStrategy contextual = strategy.withNonCapturableLocals(Set.of("total"));
+        assertEquals("if(logger.isLoggable(System.Logger.Level.DEBUG)) { "
+                        + "logger.log(System.Logger.Level.DEBUG, \"run() - total=\" + total); }",
+                contextual.getGuardedDebugStatement("run() - total={}", "total"));
+        assertTrue(contextual.shouldGuard("debug", "total"));
+        assertEquals("logger.log(System.Logger.Level.DEBUG, () -> \"run() - start\");",
+                contextual.getGuardedDebugStatement("run() - start", ""));
+    }
+
+    public void testShouldNotGuardDebug() {
+        assertFalse("debug should NOT be guarded", strategy.shouldGuard("debug", "compute()"));
+    }
+
+    public void testShouldNotGuardTrace() {
+        assertFalse("trace should NOT be guarded", strategy.shouldGuard("trace", "compute()"));
+    }
+
+    public void testShouldNotGuardError() {
+        assertFalse("error should NOT be guarded", strategy.shouldGuard("error", "compute()"));
+    }
+
+    public void testGetLogStatementTrace() {
+        String result = strategy.getLogStatement("trace", "msg()", "");
+        assertEquals("logger.log(System.Logger.Level.TRACE, () -> \"msg()\");", result);
+    }
+
+    public void testLevelEnabledCheck() {
+        assertEquals("logger.isLoggable(System.Logger.Level.WARNING)", strategy.getLevelEnabledCheck("warn"));
+    }
+}
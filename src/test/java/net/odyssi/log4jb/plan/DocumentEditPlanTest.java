@@ -0,0 +1,159 @@
+package net.odyssi.log4jb.plan;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiBlockStatement;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiForeachStatement;
+import com.intellij.psi.PsiIfStatement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiReturnStatement;
+import com.intellij.psi.PsiStatement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import net.odyssi.log4jb.logging.JulLoggingStrategy;
+import net.odyssi.log4jb.visitors.LogClassVisitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DocumentEditPlanTest extends LightJavaCodeInsightFixtureTestCase {
+
+    public void testAppliesClassPlanAsDocumentEdits() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public int getValue(boolean flag) {\n" +
+                "        if (flag) {\n" +
+                "            return 1;\n" +
+                "        }\n" +
+                "        return 0;\n" +
+                "    }\n" +
+                "    public void risky() {\n" +
+                "        try {\n" +
+                "            int x = 1;\n" +
+                "        } catch (Exception e) {\n" +
+                "        }\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiClass psiClass = file.getClasses()[0];
+
+        DocumentEditPlan editPlan = DocumentEditPlan.create(file, List.of(analyze(psiClass)));
+        assertNotNull(editPlan);
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                assertTrue("Edits should apply to an unchanged document", editPlan.apply()));
+
+        psiClass = file.getClasses()[0];
+        String fileText = file.getText();
+        assertNotNull("Logger should be declared", psiClass.findFieldByName("logger", false));
+        assertTrue("Logger type should be imported", fileText.contains("import org.slf4j.Logger;"));
+        assertFalse("Logger type should be shortened", fileText.contains("private static final org.slf4j.Logger"));
+        assertEquals(2, countOccurrences(fileText, "getValue(boolean) - end"));
+        assertTrue(fileText.contains("risky() - start"));
+        assertTrue(fileText.contains("logger.warn(\"risky() - exception ignored\", e)"));
+
+        assertTrue("Text edits should produce statements the next pass recognises", analyze(psiClass).isEmpty());
+    }
+
+    public void testWrapsBracelessReturnsInBlocks() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public int find(int[] values, boolean flag) {\n" +
+                "        if (flag) return -1;\n" +
+                "        for (int value : values) return value;\n" +
+                "        return 0;\n" +
+                "    }\n" +
+                "}\n"
+        );
+        DocumentEditPlan editPlan = DocumentEditPlan.create(file, List.of(analyze(file.getClasses()[0])));
+        assertNotNull(editPlan);
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> assertTrue(editPlan.apply()));
+
+        PsiClass psiClass = file.getClasses()[0];
+        PsiMethod method = psiClass.findMethodsByName("find", false)[0];
+        assertEquals("One end log per direct return", 3, countOccurrences(method.getText(), "find(int[],boolean) - end"));
+        PsiIfStatement ifStatement = PsiTreeUtil.findChildOfType(method.getBody(), PsiIfStatement.class);
+        PsiForeachStatement forStatement = PsiTreeUtil.findChildOfType(method.getBody(), PsiForeachStatement.class);
+        assertBracedEndThenReturn(ifStatement.getThenBranch());
+        assertBracedEndThenReturn(forStatement.getBody());
+        assertTrue("Text edits should produce statements the next pass recognises", analyze(psiClass).isEmpty());
+    }
+
+    public void testShortensOnlyGeneratedCodeAcrossSeveralClasses() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public java.util.List<String> names() {\n" +
+                "        return new java.util.ArrayList<>();\n" +
+                "    }\n" +
+                "}\n" +
+                "class Other {\n" +
+                "    public void run() {\n" +
+                "        try {\n" +
+                "            Thread.sleep(1);\n" +
+                "        } catch (InterruptedException e) {\n" +
+                "        }\n" +
+                "    }\n" +
+                "}\n"
+        );
+        JulLoggingStrategy strategy = new JulLoggingStrategy();
+        List<ClassLogPlan> plans = new ArrayList<>();
+        for (PsiClass psiClass : file.getClasses()) {
+            LogClassVisitor visitor = new LogClassVisitor(psiClass, strategy);
+            psiClass.accept(visitor);
+            plans.add(visitor.getPlan());
+        }
+        DocumentEditPlan editPlan = DocumentEditPlan.create(file, plans);
+        assertNotNull(editPlan);
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> assertTrue(editPlan.apply()));
+
+        String fileText = file.getText();
+        assertTrue("Qualified names written by the user should be kept",
+                fileText.contains("public java.util.List<String> names()"));
+        assertTrue(fileText.contains("return new java.util.ArrayList<>();"));
+        assertTrue("Generated references should be shortened", fileText.contains("import java.util.logging.Level;"));
+        assertFalse(fileText.contains("java.util.logging.Level.WARNING"));
+        assertTrue(fileText.contains("logger.log(Level.WARNING, \"run() - exception ignored\", e);"));
+    }
+
+    public void testRefusesToApplyToChangedDocument() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public void doWork() {\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiClass psiClass = file.getClasses()[0];
+        DocumentEditPlan editPlan = DocumentEditPlan.create(file, List.of(analyze(psiClass)));
+        assertNotNull(editPlan);
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            myFixture.getEditor().getDocument().insertString(0, "// changed\n");
+            assertFalse("Stale offsets must not be applied", editPlan.apply());
+        });
+        assertFalse(file.getText().contains("doWork() - start"));
+    }
+
+    private static ClassLogPlan analyze(PsiClass psiClass) {
+        LogClassVisitor visitor = new LogClassVisitor(psiClass);
+        psiClass.accept(visitor);
+        return visitor.getPlan();
+    }
+
+    private static void assertBracedEndThenReturn(PsiStatement branch) {
+        assertTrue("The body should now be a block", branch instanceof PsiBlockStatement);
+        PsiStatement[] statements = ((PsiBlockStatement) branch).getCodeBlock().getStatements();
+        assertEquals(2, statements.length);
+        assertTrue(statements[0].getText().contains("- end"));
+        assertTrue(statements[1] instanceof PsiReturnStatement);
+    }
+
+    private static int countOccurrences(String text, String pattern) {
+        int count = 0;
+        int index = 0;
+        while ((index = text.indexOf(pattern, index)) != -1) {
+            count++;
+            index += pattern.length();
+        }
+        return count;
+    }
+}
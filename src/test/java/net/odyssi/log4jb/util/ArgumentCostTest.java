@@ -0,0 +1,39 @@
+package net.odyssi.log4jb.util;
+
+import junit.framework.TestCase;
+
+import java.util.List;
+
+public class ArgumentCostTest extends TestCase {
+
+    public void testClassifiesConstants() {
+        assertEquals(ArgumentCost.CONSTANT, ArgumentCost.classify("42"));
+        assertEquals(ArgumentCost.CONSTANT, ArgumentCost.classify("\"text\""));
+        assertEquals(ArgumentCost.CONSTANT, ArgumentCost.classify("Limits.MAX_SIZE"));
+        assertEquals(ArgumentCost.CONSTANT, ArgumentCost.classify("MyClass.class"));
+    }
+
+    public void testClassifiesReads() {
+        assertEquals(ArgumentCost.LOCAL_READ, ArgumentCost.classify("name"));
+        assertEquals(ArgumentCost.FIELD_READ, ArgumentCost.classify("this.name"));
+        assertEquals(ArgumentCost.FIELD_READ, ArgumentCost.classify("values[i]"));
+        assertEquals(ArgumentCost.GETTER, ArgumentCost.classify("order.getCustomer().getName()"));
+        assertEquals(ArgumentCost.GETTER, ArgumentCost.classify("items.size()"));
+    }
+
+    public void testClassifiesExpensiveExpressions() {
+        assertEquals(ArgumentCost.CONCATENATION, ArgumentCost.classify("\"id=\" + id"));
+        assertEquals(ArgumentCost.CALL, ArgumentCost.classify("order.getTotal(currency)"));
+        assertEquals(ArgumentCost.CALL, ArgumentCost.classify("new Report(order)"));
+        assertEquals(ArgumentCost.FORMATTING, ArgumentCost.classify("Arrays.toString(values)"));
+        assertEquals(ArgumentCost.FORMATTING, ArgumentCost.classify("String.join(\", \", names)"));
+    }
+
+    public void testChoosesDeferral() {
+        assertEquals(LogDeferral.NONE, LogDeferral.choose(List.of(), false));
+        assertEquals(LogDeferral.NONE, LogDeferral.choose(List.of("name", "order.getId()"), false));
+        assertEquals(LogDeferral.GUARD, LogDeferral.choose(List.of("name", "buildReport()"), false));
+        assertEquals(LogDeferral.SUPPLIER, LogDeferral.choose(List.of("name", "buildReport()"), true));
+        assertEquals(LogDeferral.GUARD, LogDeferral.choose(List.of("count++"), true));
+    }
+}
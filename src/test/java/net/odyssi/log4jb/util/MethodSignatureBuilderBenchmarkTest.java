@@ -0,0 +1,119 @@
+package net.odyssi.log4jb.util;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MethodSignatureBuilder#buildCached(PsiMethod)} against {@link MethodSignatureBuilder#build(PsiMethod)}
+ * on a class with 5,000 overloaded methods looked up repeatedly: the cached path must compute each signature once,
+ * and only rebuild it when the method's own file changes. The wall time of both paths is written to the test log.
+ */
+public class MethodSignatureBuilderBenchmarkTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private static final Logger LOG = Logger.getInstance(MethodSignatureBuilderBenchmarkTest.class);
+    private static final int METHOD_COUNT = 5_000;
+    private static final int LOOKUPS_PER_METHOD = 6;
+    private static final String[] PARAMETER_TYPES = {"int", "long", "String", "double", "java.util.List<String>"};
+
+    public void testCachedSignaturesOnOverloadedMethods() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("Overloads.java", buildOverloadedClass());
+        PsiClass psiClass = file.getClasses()[0];
+        PsiMethod[] methods = psiClass.getMethods();
+        assertEquals(METHOD_COUNT, methods.length);
+
+        String[] uncached = new String[METHOD_COUNT];
+        long uncachedBuildsBefore = MethodSignatureBuilder.getBuildCount();
+        long uncachedStart = System.nanoTime();
+        for (int lookup = 0; lookup < LOOKUPS_PER_METHOD; lookup++) {
+            for (int i = 0; i < METHOD_COUNT; i++) {
+                uncached[i] = MethodSignatureBuilder.build(methods[i]);
+            }
+        }
+        long uncachedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - uncachedStart);
+        long uncachedBuilds = MethodSignatureBuilder.getBuildCount() - uncachedBuildsBefore;
+
+        String[] cached = new String[METHOD_COUNT];
+        long cachedBuildsBefore = MethodSignatureBuilder.getBuildCount();
+        long cachedStart = System.nanoTime();
+        for (int lookup = 0; lookup < LOOKUPS_PER_METHOD; lookup++) {
+            for (int i = 0; i < METHOD_COUNT; i++) {
+                String signature = MethodSignatureBuilder.buildCached(methods[i]);
+                if (lookup > 0) {
+                    assertSame("Later lookups must reuse the cached signature", cached[i], signature);
+                }
+                cached[i] = signature;
+            }
+        }
+        long cachedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - cachedStart);
+        long cachedBuilds = MethodSignatureBuilder.getBuildCount() - cachedBuildsBefore;
+
+        LOG.info(String.format("%d lookups: build computed %d signatures in %d ms, buildCached computed %d in %d ms",
+                METHOD_COUNT * LOOKUPS_PER_METHOD, uncachedBuilds, uncachedMillis, cachedBuilds, cachedMillis));
+
+        assertEquals("build computes the signature on every lookup", (long) METHOD_COUNT * LOOKUPS_PER_METHOD, uncachedBuilds);
+        assertEquals("buildCached must compute each signature only once", METHOD_COUNT, cachedBuilds);
+        for (int i = 0; i < METHOD_COUNT; i++) {
+            assertEquals("Cached signature must match the uncached one", uncached[i], cached[i]);
+        }
+    }
+
+    public void testCacheSurvivesModificationOfAnotherFile() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public void process(String name) {}\n" +
+                "}\n"
+        );
+        PsiJavaFile other = (PsiJavaFile) myFixture.addFileToProject("Other.java",
+                "public class Other {\n" +
+                "    public void run() {}\n" +
+                "}\n"
+        );
+        PsiMethod method = file.getClasses()[0].getMethods()[0];
+        String signature = MethodSignatureBuilder.buildCached(method);
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                other.getClasses()[0].getMethods()[0].setName("execute"));
+
+        assertSame(signature, MethodSignatureBuilder.buildCached(method));
+    }
+
+    public void testCacheIsInvalidatedByModification() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public void process(String name) {}\n" +
+                "}\n"
+        );
+        PsiMethod method = file.getClasses()[0].getMethods()[0];
+        assertEquals("process(String)", MethodSignatureBuilder.buildCached(method));
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.setName("handle"));
+
+        assertEquals("handle(String)", MethodSignatureBuilder.buildCached(method));
+    }
+
+    private static String buildOverloadedClass() {
+        StringBuilder text = new StringBuilder("public class Overloads {\n");
+        for (int i = 0; i < METHOD_COUNT; i++) {
+            text.append("    public void process(");
+            // Encode i in base-5 digits so every overload has a distinct parameter list.
+            int value = i;
+            int index = 0;
+            do {
+                if (index > 0) {
+                    text.append(", ");
+                }
+                text.append(PARAMETER_TYPES[value % PARAMETER_TYPES.length]).append(" p").append(index++);
+                value /= PARAMETER_TYPES.length;
+            } while (value > 0);
+            text.append(") {}\n");
+        }
+        return text.append("}\n").toString();
+    }
+}
@@ -0,0 +1,210 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiStatement;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import net.odyssi.log4jb.logging.Slf4jLoggingStrategy;
+
+import java.util.List;
+import java.util.Map;
+
+public class ColdLogHelperMethodVisitorTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private static final String LOGGER_STUB =
+            "package org.slf4j;\n" +
+            "public interface Logger {\n" +
+            "    boolean isDebugEnabled();\n" +
+            "    void debug(String message);\n" +
+            "    void warn(String message, Throwable t);\n" +
+            "    void error(String message, Throwable t);\n" +
+            "}\n";
+
+    private static final String LOGGER_FACTORY_STUB =
+            "package org.slf4j;\n" +
+            "public final class LoggerFactory {\n" +
+            "    public static Logger getLogger(Class<?> type) {\n" +
+            "        return new Logger() {\n" +
+            "            public boolean isDebugEnabled() { return false; }\n" +
+            "            public void debug(String message) { }\n" +
+            "            public void warn(String message, Throwable t) { }\n" +
+            "            public void error(String message, Throwable t) { }\n" +
+            "        };\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String HOT_CLASS =
+            "import org.slf4j.Logger;\n" +
+            "import org.slf4j.LoggerFactory;\n" +
+            "public class Main {\n" +
+            "    private static final Logger logger = LoggerFactory.getLogger(Main.class);\n" +
+            "    static int compute(int x) {\n" +
+            "        return x * 31 + 7;\n" +
+            "    }\n" +
+            "    public static void main(String[] args) {\n" +
+            "        long sum = 0;\n" +
+            "        for (int i = 0; i < 2_000_000; i++) {\n" +
+            "            sum += compute(i);\n" +
+            "        }\n" +
+            "        System.out.println(sum);\n" +
+            "    }\n" +
+            "}\n";
+
+    private PsiClass setupClassWithLogger(String methodBody) {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger logger = LoggerFactory.getLogger(MyClass.class);\n" +
+                methodBody + "\n" +
+                "}\n"
+        );
+        return file.getClasses()[0];
+    }
+
+    public void testCallsHelpersAtEntryAndExits() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public int process(String name) {\n" +
+                "        if (name == null) return 0;\n" +
+                "        return name.length();\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("process", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new ColdLogHelperMethodVisitor(method, new Slf4jLoggingStrategy())));
+
+        PsiStatement[] statements = method.getBody().getStatements();
+        assertEquals("log4jbStart_process_String();", statements[0].getText());
+        assertEquals(2, countOccurrences(method.getBody().getText(), "log4jbEnd_process_String();"));
+        assertFalse("The method itself should not reference the logger", method.getBody().getText().contains("logger"));
+
+        PsiMethod start = psiClass.findMethodsByName("log4jbStart_process_String", false)[0];
+        assertTrue(ColdLogHelperMethodVisitor.isHelperMethod(start));
+        assertTrue(start.getBody().getText().contains("logger.debug(\"process(String) - start\");"));
+        PsiMethod end = psiClass.findMethodsByName("log4jbEnd_process_String", false)[0];
+        assertTrue(end.getBody().getText().contains("logger.debug(\"process(String) - end\");"));
+    }
+
+    public void testCallsHelpersInCatchBlocks() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doWork() {\n" +
+                "        try {\n" +
+                "            int x = 1;\n" +
+                "        } catch (IllegalStateException e) {\n" +
+                "            throw e;\n" +
+                "        } catch (RuntimeException ignored) {\n" +
+                "        }\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("doWork", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new ColdLogHelperMethodVisitor(method, new Slf4jLoggingStrategy())));
+
+        String bodyText = method.getBody().getText();
+        assertTrue(bodyText.contains("log4jbCaught_doWork(e);"));
+        assertTrue(bodyText.contains("log4jbIgnored_doWork(ignored);"));
+        PsiMethod caught = psiClass.findMethodsByName("log4jbCaught_doWork", false)[0];
+        assertTrue(caught.getBody().getText().contains("logger.error(\"doWork() - caught exception\", exception);"));
+        PsiMethod ignored = psiClass.findMethodsByName("log4jbIgnored_doWork", false)[0];
+        assertTrue(ignored.getBody().getText().contains("logger.warn(\"doWork() - exception ignored\", exception);"));
+    }
+
+    public void testDoesNotDuplicateOnSecondInvocation() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doWork() {\n" +
+                "        try {\n" +
+                "            int x = 1;\n" +
+                "        } catch (RuntimeException e) {\n" +
+                "            throw e;\n" +
+                "        }\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("doWork", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            method.accept(new ColdLogHelperMethodVisitor(method, new Slf4jLoggingStrategy()));
+            method.accept(new ColdLogHelperMethodVisitor(method, new Slf4jLoggingStrategy()));
+        });
+
+        String bodyText = method.getBody().getText();
+        assertEquals(1, countOccurrences(bodyText, "log4jbStart_doWork();"));
+        assertEquals(1, countOccurrences(bodyText, "log4jbCaught_doWork(e);"));
+        assertEquals("Three helpers plus the method itself", 4, psiClass.getMethods().length);
+    }
+
+    public void testRemoveLoggingDeletesHelpersAndCalls() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doWork() {\n" +
+                "        int x = 1;\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("doWork", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            method.accept(new ColdLogHelperMethodVisitor(method, new Slf4jLoggingStrategy()));
+            psiClass.accept(new RemoveLoggingVisitor());
+        });
+
+        String classText = psiClass.getText();
+        assertFalse("Helper calls and helpers should be removed", classText.contains("log4jb"));
+        assertEquals(1, psiClass.getMethods().length);
+        assertTrue("Non-logging code should remain", classText.contains("int x = 1;"));
+    }
+
+    /**
+     * Runs the hot {@code compute} method with a {@code FreqInlineSize} below the size it reaches with inline log
+     * statements, and checks that it still inlines when the logging lives in cold helpers.
+     */
+    public void testHotMethodStillInlinesWithColdHelpers() throws Exception {
+        if (!PrintInliningHarness.isAvailable()) {
+            return;
+        }
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("Main.java", HOT_CLASS);
+        PsiClass psiClass = file.getClasses()[0];
+        PsiMethod method = psiClass.findMethodsByName("compute", false)[0];
+        String original = file.getText();
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new ColdLogHelperMethodVisitor(method, new Slf4jLoggingStrategy())));
+        String coldHelpers = file.getText();
+
+        PsiJavaFile inlineFile = (PsiJavaFile) myFixture.configureByText("Main.java", HOT_CLASS);
+        PsiMethod inlineMethod = inlineFile.getClasses()[0].findMethodsByName("compute", false)[0];
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                inlineMethod.accept(new LogMethodVisitor(inlineMethod, new Slf4jLoggingStrategy())));
+        String inlineStatements = inlineFile.getText();
+
+        PrintInliningHarness.Decision before = compute(original);
+        PrintInliningHarness.Decision cold = compute(coldHelpers);
+        PrintInliningHarness.Decision inline = compute(inlineStatements);
+
+        assertTrue("compute should inline before instrumentation: " + before, before.isInlined());
+        assertEquals("Each log site should add a single invokestatic", before.byteSize() + 6, cold.byteSize());
+        assertTrue("compute should still inline with cold helpers: " + cold, cold.isInlined());
+        assertFalse("compute should no longer inline with inline log statements: " + inline, inline.isInlined());
+    }
+
+    private PrintInliningHarness.Decision compute(String mainSource) throws Exception {
+        List<PrintInliningHarness.Decision> decisions = PrintInliningHarness.run(Map.of(
+                "Main.java", mainSource,
+                "org/slf4j/Logger.java", LOGGER_STUB,
+                "org/slf4j/LoggerFactory.java", LOGGER_FACTORY_STUB), "Main", "-XX:FreqInlineSize=20");
+        List<PrintInliningHarness.Decision> computeDecisions = PrintInliningHarness.decisionsFor(decisions, "Main", "compute");
+        assertFalse("compute should have been compiled", computeDecisions.isEmpty());
+        return computeDecisions.get(computeDecisions.size() - 1);
+    }
+
+    private int countOccurrences(String text, String substring) {
+        int count = 0;
+        int idx = 0;
+        while ((idx = text.indexOf(substring, idx)) != -1) {
+            count++;
+            idx += substring.length();
+        }
+        return count;
+    }
+}
@@ -1,9 +1,17 @@
 package net.odyssi.log4jb.visitors;
 
 import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import net.odyssi.log4jb.logging.ConstantGuardLoggingStrategy;
+import net.odyssi.log4jb.logging.JulLoggingStrategy;
+import net.odyssi.log4jb.logging.LazyLoggerStrategy;
+import net.odyssi.log4jb.logging.LoggingFramework;
+import net.odyssi.log4jb.logging.Slf4jLoggingStrategy;
+import net.odyssi.log4jb.settings.Log4jbSettings;
 
 public class DeclareLoggerVisitorTest extends LightJavaCodeInsightFixtureTestCase {
 
@@ -63,6 +71,24 @@ public class DeclareLoggerVisitorTest extends LightJavaCodeInsightFixtureTestCas
                 fieldCountBefore, psiClass.getFields().length);
     }
 
+    public void testDoesNotAddDuplicateJulLoggerByType() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "import java.util.logging.Logger;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger LOG = Logger.getLogger(MyClass.class.getName());\n" +
+                "}\n"
+        );
+
+        PsiClass psiClass = file.getClasses()[0];
+        int fieldCountBefore = psiClass.getFields().length;
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                psiClass.accept(new DeclareLoggerVisitor(psiClass, new JulLoggingStrategy())));
+
+        assertEquals("No new field should be added when a java.util.logging Logger exists with a different name",
+                fieldCountBefore, psiClass.getFields().length);
+    }
+
     public void testDoesNotAffectInnerClasses() {
         PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("Outer.java",
                 "public class Outer {\n" +
@@ -83,4 +109,103 @@ public class DeclareLoggerVisitorTest extends LightJavaCodeInsightFixtureTestCas
         assertNull("Logger should NOT be added to inner class",
                 innerClass.findFieldByName("logger", false));
     }
+
+    public void testDeclaresConstantGuardFlagsAndFlagsClass() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "package com.example;\n" +
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger logger = LoggerFactory.getLogger(MyClass.class);\n" +
+                "}\n"
+        );
+
+        PsiClass psiClass = file.getClasses()[0];
+        ConstantGuardLoggingStrategy strategy = new ConstantGuardLoggingStrategy(new Slf4jLoggingStrategy());
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                psiClass.accept(new DeclareLoggerVisitor(psiClass, strategy)));
+
+        assertNotNull("Debug flag should be added", psiClass.findFieldByName("LOG4JB_DEBUG", false));
+        assertNotNull("Trace flag should be added", psiClass.findFieldByName("LOG4JB_TRACE", false));
+        assertTrue("Flag should be initialized from the flags class",
+                psiClass.getText().contains("LOG4JB_DEBUG = Log4jbFlags.DEBUG"));
+        assertNotNull("Flags class should be generated",
+                myFixture.findClass("com.example.Log4jbFlags"));
+        assertEquals("Existing logger should be kept", 1, countLoggerFields(psiClass));
+    }
+
+    public void testReusesVisibleFlagsClass() {
+        myFixture.addClass("package com.flags;\n" +
+                "public final class Log4jbFlags {\n" +
+                "    public static final boolean TRACE = false;\n" +
+                "    public static final boolean DEBUG = false;\n" +
+                "}\n");
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "package com.example;\n" +
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger logger = LoggerFactory.getLogger(MyClass.class);\n" +
+                "}\n"
+        );
+
+        PsiClass psiClass = file.getClasses()[0];
+        ConstantGuardLoggingStrategy strategy = new ConstantGuardLoggingStrategy(new Slf4jLoggingStrategy());
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                psiClass.accept(new DeclareLoggerVisitor(psiClass, strategy)));
+
+        assertTrue("Flag should be initialized from the visible flags class",
+                file.getText().contains("import com.flags.Log4jbFlags;"));
+        assertNull("No second flags class should be generated", JavaPsiFacade.getInstance(getProject())
+                .findClass("com.example.Log4jbFlags", GlobalSearchScope.allScope(getProject())));
+    }
+
+    public void testFloggerIgnoresLazyLoggerSetting() {
+        Log4jbSettings settings = Log4jbSettings.getInstance(getProject());
+        settings.setLoggingFramework(LoggingFramework.FLOGGER);
+        settings.setLazyLogger(true);
+        try {
+            assertFalse("Flogger's forEnclosingClass() would name the logger after the holder",
+                    settings.getLoggingStrategy() instanceof LazyLoggerStrategy);
+
+            settings.setLoggingFramework(LoggingFramework.SLF4J);
+            assertTrue(settings.getLoggingStrategy() instanceof LazyLoggerStrategy);
+        } finally {
+            settings.setLoggingFramework(LoggingFramework.SLF4J);
+            settings.setLazyLogger(false);
+        }
+    }
+
+    public void testDeclaresLazyLoggerInHolderClass() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "}\n"
+        );
+
+        PsiClass psiClass = file.getClasses()[0];
+        LazyLoggerStrategy strategy = new LazyLoggerStrategy(new Slf4jLoggingStrategy());
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            psiClass.accept(new DeclareLoggerVisitor(psiClass, strategy));
+            psiClass.accept(new DeclareLoggerVisitor(psiClass, strategy));
+        });
+
+        assertNull("Logger should not be initialized with the class", psiClass.findFieldByName("logger", false));
+        PsiClass holder = psiClass.findInnerClassByName("Log4jbLoggerHolder", false);
+        assertNotNull("Holder class should be added", holder);
+        assertNotNull("Logger should be declared in the holder", holder.findFieldByName("logger", false));
+        assertEquals("Holder should be added once", 1, psiClass.getInnerClasses().length);
+    }
+
+    private static int countLoggerFields(PsiClass psiClass) {
+        int count = 0;
+        for (var field : psiClass.getFields()) {
+            if ("logger".equals(field.getName())) {
+                count++;
+            }
+        }
+        return count;
+    }
 }
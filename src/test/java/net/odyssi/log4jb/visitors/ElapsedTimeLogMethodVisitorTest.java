@@ -0,0 +1,117 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiStatement;
+import com.intellij.psi.PsiTryStatement;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import net.odyssi.log4jb.logging.JulLoggingStrategy;
+import net.odyssi.log4jb.logging.Slf4jLoggingStrategy;
+
+public class ElapsedTimeLogMethodVisitorTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private PsiClass setupClassWithLogger(String methodBody) {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger logger = LoggerFactory.getLogger(MyClass.class);\n" +
+                methodBody + "\n" +
+                "}\n"
+        );
+        return file.getClasses()[0];
+    }
+
+    public void testWrapsBodyWithSingleEndStatement() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public int compute(int x) {\n" +
+                "        if (x > 0) return x;\n" +
+                "        if (x < 0) {\n" +
+                "            return -x;\n" +
+                "        }\n" +
+                "        throw new IllegalArgumentException();\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("compute", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new ElapsedTimeLogMethodVisitor(method, new Slf4jLoggingStrategy())));
+
+        PsiStatement[] statements = method.getBody().getStatements();
+        assertEquals(2, statements.length);
+        assertEquals("final long log4jbStart = logger.isDebugEnabled() ? System.nanoTime() : 0L;", statements[0].getText());
+        assertTrue(statements[1] instanceof PsiTryStatement);
+
+        String bodyText = method.getBody().getText();
+        assertEquals("A single end statement should cover every exit", 1, countOccurrences(bodyText, "logger.debug("));
+        assertTrue(bodyText.contains("logger.debug(\"compute(int) - end ({} ms)\", log4jbElapsedMillis);"));
+        assertFalse("No start statement should be logged", bodyText.contains("- start"));
+        assertTrue("The original body should be kept", bodyText.contains("return -x;"));
+    }
+
+    public void testUsesLevelCheckOfStrategy() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doWork() {\n" +
+                "        int x = 1;\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("doWork", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new ElapsedTimeLogMethodVisitor(method, new JulLoggingStrategy())));
+
+        String bodyText = method.getBody().getText();
+        assertTrue(bodyText.contains("logger.isLoggable(Level.FINE) ? System.nanoTime() : 0L;")
+                || bodyText.contains("logger.isLoggable(java.util.logging.Level.FINE) ? System.nanoTime() : 0L;"));
+        assertTrue(bodyText.contains("\"doWork() - end (\" + log4jbElapsedMillis + \" ms)\""));
+    }
+
+    public void testDoesNotDuplicateOnSecondInvocation() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doWork() {\n" +
+                "        int x = 1;\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("doWork", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            method.accept(new ElapsedTimeLogMethodVisitor(method, new Slf4jLoggingStrategy()));
+            method.accept(new ElapsedTimeLogMethodVisitor(method, new Slf4jLoggingStrategy()));
+        });
+
+        assertEquals(1, countOccurrences(method.getBody().getText(), "log4jbStart ="));
+    }
+
+    public void testRemoveLoggingRestoresOriginalBody() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public int compute(int x) {\n" +
+                "        int y = x * 2;\n" +
+                "        return y;\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("compute", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            method.accept(new ElapsedTimeLogMethodVisitor(method, new Slf4jLoggingStrategy()));
+            psiClass.accept(new RemoveLoggingVisitor());
+        });
+
+        PsiStatement[] statements = method.getBody().getStatements();
+        assertEquals(2, statements.length);
+        assertEquals("int y = x * 2;", statements[0].getText());
+        assertEquals("return y;", statements[1].getText());
+        assertNull("Logger field should be removed", psiClass.findFieldByName("logger", false));
+    }
+
+    private int countOccurrences(String text, String substring) {
+        int count = 0;
+        int idx = 0;
+        while ((idx = text.indexOf(substring, idx)) != -1) {
+            count++;
+            idx += substring.length();
+        }
+        return count;
+    }
+}
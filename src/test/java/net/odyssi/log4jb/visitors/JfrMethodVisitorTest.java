@@ -0,0 +1,120 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+public class JfrMethodVisitorTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private PsiClass setupClass(String methodBody) {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                methodBody + "\n" +
+                "}\n"
+        );
+        return file.getClasses()[0];
+    }
+
+    public void testBeginsAtEntryAndCommitsAtEveryExit() {
+        PsiClass psiClass = setupClass(
+                "    public int compute(int x) {\n" +
+                "        if (x > 0) return x;\n" +
+                "        if (x < 0) {\n" +
+                "            return -x;\n" +
+                "        }\n" +
+                "        return 0;\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("compute", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new JfrMethodVisitor(method)));
+
+        String bodyText = method.getBody().getText();
+        assertTrue("Event should be begun at entry", bodyText.contains("log4jbEvent.begin();"));
+        assertEquals("Every return should commit", 3, countOccurrences(bodyText, "log4jbEvent.commit();"));
+        assertEquals(3, countOccurrences(bodyText, "log4jbEvent.shouldCommit()"));
+        assertTrue("Signature should be recorded", bodyText.contains("log4jbEvent.method = \"compute(int)\";"));
+        assertNotNull("Event class should be declared",
+                psiClass.findInnerClassByName(JfrMethodVisitor.EVENT_CLASS_NAME, false));
+    }
+
+    public void testCommitsAtFallThroughEnd() {
+        PsiClass psiClass = setupClass(
+                "    public void doSomething() {\n" +
+                "        int x = 1;\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("doSomething", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new JfrMethodVisitor(method)));
+
+        String bodyText = method.getBody().getText();
+        assertEquals(1, countOccurrences(bodyText, "log4jbEvent.commit();"));
+        assertTrue("Commit should come last",
+                bodyText.indexOf("int x = 1;") < bodyText.indexOf("log4jbEvent.commit();"));
+    }
+
+    public void testCommitsAfterReturnedExpressionIsEvaluated() {
+        PsiClass psiClass = setupClass(
+                "    public int compute(int x) {\n" +
+                "        switch (x) {\n" +
+                "            case 1: return slow(x);\n" +
+                "            case 2: return slow(x) * 2;\n" +
+                "        }\n" +
+                "        return x;\n" +
+                "    }\n" +
+                "    private int slow(int x) {\n" +
+                "        return x;\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("compute", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new JfrMethodVisitor(method)));
+
+        String bodyText = method.getBody().getText();
+        assertTrue(bodyText.contains("final int log4jbResult = slow(x);"));
+        assertTrue("Each result local should have its own name", bodyText.contains("final int log4jbResult1 = slow(x) * 2;"));
+        assertTrue(bodyText.contains("return log4jbResult;"));
+        assertTrue(bodyText.contains("return log4jbResult1;"));
+        assertTrue("The expression should be evaluated before the event ends",
+                bodyText.indexOf("slow(x);") < bodyText.indexOf("log4jbEvent.end();"));
+        assertTrue("A local returned as is should not be copied", bodyText.contains("return x;"));
+        assertEquals(3, countOccurrences(bodyText, "log4jbEvent.commit();"));
+    }
+
+    public void testDoesNotDuplicateOnSecondInvocation() {
+        PsiClass psiClass = setupClass(
+                "    public void first() {\n" +
+                "    }\n" +
+                "    public void second() {\n" +
+                "    }"
+        );
+        PsiMethod first = psiClass.findMethodsByName("first", false)[0];
+        PsiMethod second = psiClass.findMethodsByName("second", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            first.accept(new JfrMethodVisitor(first));
+            first.accept(new JfrMethodVisitor(first));
+            second.accept(new JfrMethodVisitor(second));
+        });
+
+        assertEquals(1, countOccurrences(first.getBody().getText(), "log4jbEvent.begin();"));
+        assertEquals(1, countOccurrences(second.getBody().getText(), "log4jbEvent.begin();"));
+        assertEquals("The event class should be declared once", 1, psiClass.getInnerClasses().length);
+    }
+
+    private int countOccurrences(String text, String substring) {
+        int count = 0;
+        int idx = 0;
+        while ((idx = text.indexOf(substring, idx)) != -1) {
+            count++;
+            idx += substring.length();
+        }
+        return count;
+    }
+}
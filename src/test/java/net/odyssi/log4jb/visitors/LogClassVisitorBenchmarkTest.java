@@ -0,0 +1,91 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.psi.JavaRecursiveElementWalkingVisitor;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass {@link LogClassVisitor} with the per-method {@link DeclareLoggerVisitor} +
+ * {@link LogMethodVisitor} approach on a large class: the number of PSI elements each one visits, the wall time
+ * of each (written to the test log), and the code they produce.
+ */
+public class LogClassVisitorBenchmarkTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private static final Logger LOG = Logger.getInstance(LogClassVisitorBenchmarkTest.class);
+    private static final int METHOD_COUNT = 400;
+
+    public void testSinglePassVersusPerMethodVisitors() {
+        PsiClass legacyClass = ((PsiJavaFile) myFixture.addFileToProject("Legacy.java", buildLargeClass("Legacy"))).getClasses()[0];
+        PsiClass fusedClass = ((PsiJavaFile) myFixture.addFileToProject("Fused.java", buildLargeClass("Fused"))).getClasses()[0];
+        int classElements = countElements(fusedClass);
+
+        int[] legacyVisited = {0};
+        long legacyStart = System.nanoTime();
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            legacyClass.accept(new DeclareLoggerVisitor(legacyClass));
+            // The declaration visitor looks at the class element only, without recursing into it.
+            legacyVisited[0]++;
+            for (PsiMethod method : legacyClass.getMethods()) {
+                if (method.getBody() != null) {
+                    LogMethodVisitor methodVisitor = new LogMethodVisitor(method);
+                    method.accept(methodVisitor);
+                    legacyVisited[0] += methodVisitor.getVisitedElementCount();
+                }
+            }
+        });
+        long legacyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - legacyStart);
+
+        long fusedStart = System.nanoTime();
+        LogClassVisitor visitor = new LogClassVisitor(fusedClass);
+        fusedClass.accept(visitor);
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> visitor.getPlan().apply());
+        long fusedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fusedStart);
+
+        LOG.info(String.format("%d methods: LogClassVisitor visited %d elements in %d ms, "
+                        + "DeclareLoggerVisitor + LogMethodVisitor visited %d elements in %d ms",
+                METHOD_COUNT, visitor.getVisitedElementCount(), fusedMillis, legacyVisited[0], legacyMillis));
+
+        assertEquals("Every element must be visited exactly once", classElements, visitor.getVisitedElementCount());
+        assertTrue("The single pass should visit fewer elements than the per-method path ("
+                        + visitor.getVisitedElementCount() + " vs " + legacyVisited[0] + ")",
+                visitor.getVisitedElementCount() < legacyVisited[0]);
+        assertEquals("Both approaches must produce the same code",
+                legacyClass.getText().replace("Legacy", "X"), fusedClass.getText().replace("Fused", "X"));
+    }
+
+    private static int countElements(PsiElement root) {
+        final int[] count = {0};
+        root.accept(new JavaRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                count[0]++;
+                super.visitElement(element);
+            }
+        });
+        return count[0];
+    }
+
+    private static String buildLargeClass(String name) {
+        StringBuilder text = new StringBuilder("public class ").append(name).append(" {\n");
+        for (int i = 0; i < METHOD_COUNT; i++) {
+            text.append("    public int method").append(i).append("(int value) {\n")
+                    .append("        try {\n")
+                    .append("            if (value > ").append(i).append(") {\n")
+                    .append("                return value;\n")
+                    .append("            }\n")
+                    .append("        } catch (RuntimeException e) {\n")
+                    .append("            value = -1;\n")
+                    .append("        }\n")
+                    .append("        return 0;\n")
+                    .append("    }\n");
+        }
+        return text.append("}\n").toString();
+    }
+}
@@ -0,0 +1,146 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiBlockStatement;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiForeachStatement;
+import com.intellij.psi.PsiIfStatement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiReturnStatement;
+import com.intellij.psi.PsiStatement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+public class LogClassVisitorTest extends LightJavaCodeInsightFixtureTestCase {
+
+    public void testDeclaresLoggerAndInstrumentsAllMethods() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public int getValue(boolean flag) {\n" +
+                "        if (flag) {\n" +
+                "            return 1;\n" +
+                "        }\n" +
+                "        return 0;\n" +
+                "    }\n" +
+                "    public void risky() {\n" +
+                "        try {\n" +
+                "            int x = 1;\n" +
+                "        } catch (Exception e) {\n" +
+                "        }\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiClass psiClass = file.getClasses()[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            LogClassVisitor visitor = new LogClassVisitor(psiClass);
+            psiClass.accept(visitor);
+            visitor.getPlan().apply();
+        });
+
+        String classText = psiClass.getText();
+        assertNotNull("Logger should be declared", psiClass.findFieldByName("logger", false));
+        assertTrue(classText.contains("getValue(boolean) - start"));
+        assertEquals("One end log per direct return", 2, countOccurrences(classText, "getValue(boolean) - end"));
+        assertTrue(classText.contains("risky() - start"));
+        assertTrue(classText.contains("risky() - end"));
+        assertTrue(classText.contains("logger.warn(\"risky() - exception ignored\", e)"));
+    }
+
+    public void testWrapsBracelessReturnsInBlocks() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public int find(int[] values, boolean flag) {\n" +
+                "        if (flag) return -1;\n" +
+                "        for (int value : values) return value;\n" +
+                "        return 0;\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiClass psiClass = file.getClasses()[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            LogClassVisitor visitor = new LogClassVisitor(psiClass);
+            psiClass.accept(visitor);
+            visitor.getPlan().apply();
+        });
+
+        PsiMethod method = psiClass.findMethodsByName("find", false)[0];
+        assertEquals("One end log per direct return", 3, countOccurrences(method.getText(), "find(int[],boolean) - end"));
+        PsiIfStatement ifStatement = PsiTreeUtil.findChildOfType(method.getBody(), PsiIfStatement.class);
+        PsiForeachStatement forStatement = PsiTreeUtil.findChildOfType(method.getBody(), PsiForeachStatement.class);
+        assertBracedEndThenReturn(ifStatement.getThenBranch());
+        assertBracedEndThenReturn(forStatement.getBody());
+    }
+
+    public void testIgnoresReturnsInNestedClassesAndMemberClasses() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public void doWork() {\n" +
+                "        Runnable r = new Runnable() {\n" +
+                "            public void run() {\n" +
+                "                return;\n" +
+                "            }\n" +
+                "        };\n" +
+                "        r.run();\n" +
+                "    }\n" +
+                "    public static class Inner {\n" +
+                "        public void untouched() {\n" +
+                "        }\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiClass psiClass = file.getClasses()[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            LogClassVisitor visitor = new LogClassVisitor(psiClass);
+            psiClass.accept(visitor);
+            visitor.getPlan().apply();
+        });
+
+        String classText = psiClass.getText();
+        assertEquals(1, countOccurrences(classText, "doWork() - end"));
+        assertFalse("Anonymous class method should not be logged", classText.contains("run() - start"));
+        assertFalse("Member class should not be logged", classText.contains("untouched() - start"));
+    }
+
+    public void testSecondPassIsNoOp() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public int getValue() {\n" +
+                "        return 42;\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiClass psiClass = file.getClasses()[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            LogClassVisitor visitor = new LogClassVisitor(psiClass);
+            psiClass.accept(visitor);
+            visitor.getPlan().apply();
+        });
+
+        LogClassVisitor secondPass = new LogClassVisitor(psiClass);
+        psiClass.accept(secondPass);
+        assertTrue("An already instrumented class should produce an empty plan", secondPass.getPlan().isEmpty());
+    }
+
+    private static void assertBracedEndThenReturn(PsiStatement branch) {
+        assertTrue("The body should now be a block", branch instanceof PsiBlockStatement);
+        PsiStatement[] statements = ((PsiBlockStatement) branch).getCodeBlock().getStatements();
+        assertEquals(2, statements.length);
+        assertTrue(statements[0].getText().contains("- end"));
+        assertTrue(statements[1] instanceof PsiReturnStatement);
+    }
+
+    private int countOccurrences(String text, String substring) {
+        int count = 0;
+        int idx = 0;
+        while ((idx = text.indexOf(substring, idx)) != -1) {
+            count++;
+            idx += substring.length();
+        }
+        return count;
+    }
+}
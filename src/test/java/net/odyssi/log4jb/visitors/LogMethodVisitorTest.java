@@ -5,6 +5,11 @@ import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiJavaFile;
 import com.intellij.psi.PsiMethod;
 import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import net.odyssi.log4jb.logging.LazyLoggerStrategy;
+import net.odyssi.log4jb.logging.Slf4jLoggingStrategy;
+import net.odyssi.log4jb.logging.SystemLoggerLoggingStrategy;
+import net.odyssi.log4jb.settings.Log4jbSettings;
+import net.odyssi.log4jb.util.GeneratedLogStatements;
 
 public class LogMethodVisitorTest extends LightJavaCodeInsightFixtureTestCase {
 
@@ -240,6 +245,108 @@ public class LogMethodVisitorTest extends LightJavaCodeInsightFixtureTestCase {
         assertEquals("End message should appear exactly once (not inside anonymous class)", 1, endCount);
     }
 
+    public void testUnrelatedStringContainingStartIsNotMistakenForLog() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doSomething() {\n" +
+                "        String label = \"doSomething() - start\";\n" +
+                "        System.out.println(label);\n" +
+                "    }"
+        );
+
+        PsiMethod method = psiClass.findMethodsByName("doSomething", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new LogMethodVisitor(method)));
+
+        String bodyText = method.getBody().getText();
+        assertTrue("Start log should be added despite the unrelated string",
+                bodyText.contains("logger.debug(\"doSomething() - start\")"));
+        assertTrue("End log should be added", bodyText.contains("logger.debug(\"doSomething() - end\")"));
+    }
+
+    public void testMarkedStatementsAreNotDuplicated() {
+        Log4jbSettings.getInstance(getProject()).setMarkGeneratedStatements(true);
+        try {
+            PsiClass psiClass = setupClassWithLogger(
+                    "    public int getValue() {\n" +
+                    "        return 42;\n" +
+                    "    }"
+            );
+
+            PsiMethod method = psiClass.findMethodsByName("getValue", false)[0];
+
+            WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                    method.accept(new LogMethodVisitor(method)));
+            WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                    method.accept(new LogMethodVisitor(method)));
+
+            String bodyText = method.getBody().getText();
+            assertEquals("Each generated statement should carry a marker",
+                    2, countOccurrences(bodyText, GeneratedLogStatements.MARKER));
+            assertEquals(1, countOccurrences(bodyText, "getValue() - start"));
+            assertEquals(1, countOccurrences(bodyText, "getValue() - end"));
+        } finally {
+            Log4jbSettings.getInstance(getProject()).setMarkGeneratedStatements(false);
+        }
+    }
+
+    public void testSystemLoggerUsesSuppliersAndThrowableOverload() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    private static final System.Logger logger = System.getLogger(MyClass.class.getName());\n" +
+                "    public void riskyMethod() {\n" +
+                "        try {\n" +
+                "            int x = 1;\n" +
+                "        } catch (Exception e) {\n" +
+                "            e.printStackTrace();\n" +
+                "        }\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiMethod method = file.getClasses()[0].findMethodsByName("riskyMethod", false)[0];
+        SystemLoggerLoggingStrategy strategy = new SystemLoggerLoggingStrategy();
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new LogMethodVisitor(method, strategy)));
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new LogMethodVisitor(method, strategy)));
+
+        String bodyText = method.getBody().getText();
+        assertTrue("Start should use a message supplier",
+                bodyText.contains("logger.log(System.Logger.Level.DEBUG, () -> \"riskyMethod() - start\");"));
+        assertTrue("Catch block should use the Throwable overload",
+                bodyText.contains("logger.log(System.Logger.Level.ERROR, () -> \"riskyMethod() - caught exception\", e);"));
+        assertEquals(1, countOccurrences(bodyText, "riskyMethod() - start"));
+        assertEquals(1, countOccurrences(bodyText, "riskyMethod() - end"));
+        assertEquals(1, countOccurrences(bodyText, "riskyMethod() - caught exception"));
+    }
+
+    public void testLazyLoggerQualifiesUsesWithHolder() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    private static final class Log4jbLoggerHolder {\n" +
+                "        private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(MyClass.class);\n" +
+                "    }\n" +
+                "    public void doWork() {\n" +
+                "        int x = 1;\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiMethod method = file.getClasses()[0].findMethodsByName("doWork", false)[0];
+        LazyLoggerStrategy strategy = new LazyLoggerStrategy(new Slf4jLoggingStrategy());
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new LogMethodVisitor(method, strategy)));
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new LogMethodVisitor(method, strategy)));
+
+        String bodyText = method.getBody().getText();
+        assertTrue("Logger should be used through the holder",
+                bodyText.contains("Log4jbLoggerHolder.logger.debug(\"doWork() - start\")"));
+        assertEquals(1, countOccurrences(bodyText, "doWork() - start"));
+        assertEquals(1, countOccurrences(bodyText, "doWork() - end"));
+    }
+
     private int countOccurrences(String text, String substring) {
         int count = 0;
         int idx = 0;
@@ -0,0 +1,150 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+public class MicrometerTimerMethodVisitorTest extends LightJavaCodeInsightFixtureTestCase {
+
+    public void testTimerFieldNameIsDerivedFromClassAndSignature() {
+        assertEquals("LOG4JB_TIMER_MYCLASS_PROCESS_LIST_STRING_INT",
+                MicrometerTimerMethodVisitor.getTimerFieldName("MyClass", "process(List<String>, int)"));
+        assertEquals("LOG4JB_TIMER_MYCLASS_INNER_RUN", MicrometerTimerMethodVisitor.getTimerFieldName("MyClass.Inner", "run()"));
+    }
+
+    public void testStopsSampleIntoStaticTimerAtEveryExit() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "package com.example;\n" +
+                "public class MyClass {\n" +
+                "    public int compute(int x) {\n" +
+                "        if (x > 0) {\n" +
+                "            return x;\n" +
+                "        }\n" +
+                "        return 0;\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiClass psiClass = file.getClasses()[0];
+        PsiMethod method = psiClass.findMethodsByName("compute", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            method.accept(new MicrometerTimerMethodVisitor(method));
+            method.accept(new MicrometerTimerMethodVisitor(method));
+        });
+
+        String bodyText = method.getBody().getText();
+        assertEquals("The sample should be started once", 1, countOccurrences(bodyText, "log4jbSample ="));
+        assertEquals("Every return should stop the sample", 2, countOccurrences(bodyText, "log4jbSample.stop(LOG4JB_TIMER_MYCLASS_COMPUTE_INT);"));
+
+        PsiField timer = psiClass.findFieldByName("LOG4JB_TIMER_MYCLASS_COMPUTE_INT", false);
+        assertNotNull("Timer field should be declared", timer);
+        String timerText = timer.getText();
+        assertTrue(timerText.contains("static final"));
+        assertTrue(timerText.contains(".tag(\"class\", \"com.example.MyClass\")"));
+        assertTrue(timerText.contains(".tag(\"method\", \"compute(int)\")"));
+    }
+
+    public void testSameMethodInNestedClassesGetsDistinctTimers() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "package com.example;\n" +
+                "public class MyClass {\n" +
+                "    public void run() {\n" +
+                "    }\n" +
+                "    static class Inner {\n" +
+                "        public void run() {\n" +
+                "        }\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiClass psiClass = file.getClasses()[0];
+        PsiMethod outerRun = psiClass.findMethodsByName("run", false)[0];
+        PsiMethod innerRun = psiClass.findInnerClassByName("Inner", false).findMethodsByName("run", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            outerRun.accept(new MicrometerTimerMethodVisitor(outerRun));
+            innerRun.accept(new MicrometerTimerMethodVisitor(innerRun));
+        });
+
+        assertTrue(outerRun.getBody().getText().contains("log4jbSample.stop(LOG4JB_TIMER_MYCLASS_RUN);"));
+        assertTrue(innerRun.getBody().getText().contains("log4jbSample.stop(LOG4JB_TIMER_MYCLASS_INNER_RUN);"));
+        assertNotNull(psiClass.findFieldByName("LOG4JB_TIMER_MYCLASS_RUN", false));
+        PsiField innerTimer = psiClass.findFieldByName("LOG4JB_TIMER_MYCLASS_INNER_RUN", false);
+        assertNotNull("The nested class's method should get its own timer", innerTimer);
+        assertTrue(innerTimer.getText().contains(".tag(\"class\", \"com.example.MyClass.Inner\")"));
+    }
+
+    public void testStopsSampleAfterReturnedExpressionIsEvaluated() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    public String describe(int x) {\n" +
+                "        return String.valueOf(x);\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiMethod method = file.getClasses()[0].findMethodsByName("describe", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new MicrometerTimerMethodVisitor(method)));
+
+        String bodyText = method.getBody().getText();
+        assertTrue(bodyText.contains("final String log4jbResult = String.valueOf(x);"));
+        assertTrue("The sample should be stopped after the expression is evaluated",
+                bodyText.indexOf("String.valueOf(x)") < bodyText.indexOf("log4jbSample.stop("));
+        assertTrue(bodyText.indexOf("log4jbSample.stop(") < bodyText.indexOf("return log4jbResult;"));
+    }
+
+    public void testTimerIsDeclaredBeforeStaticInitializers() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    static {\n" +
+                "        warmUp();\n" +
+                "    }\n" +
+                "    static void warmUp() {\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiClass psiClass = file.getClasses()[0];
+        PsiMethod method = psiClass.findMethodsByName("warmUp", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new MicrometerTimerMethodVisitor(method)));
+
+        String classText = psiClass.getText();
+        assertTrue("The timer should be initialized before the static initializer calls the method",
+                classText.indexOf("LOG4JB_TIMER_MYCLASS_WARMUP =") < classText.indexOf("static {"));
+    }
+
+    public void testTimerInInterfaceIsNotPrivate() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("Greeter.java",
+                "public interface Greeter {\n" +
+                "    default String greet() {\n" +
+                "        return \"hello\";\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiClass psiClass = file.getClasses()[0];
+        PsiMethod method = psiClass.findMethodsByName("greet", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new MicrometerTimerMethodVisitor(method)));
+
+        PsiField timer = psiClass.findFieldByName("LOG4JB_TIMER_GREETER_GREET", false);
+        assertNotNull(timer);
+        assertFalse("Interface fields cannot be private", timer.hasModifierProperty(PsiModifier.PRIVATE));
+        assertTrue(timer.hasModifierProperty(PsiModifier.STATIC));
+    }
+
+    private int countOccurrences(String text, String substring) {
+        int count = 0;
+        int idx = 0;
+        while ((idx = text.indexOf(substring, idx)) != -1) {
+            count++;
+            idx += substring.length();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,127 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiStatement;
+import com.intellij.psi.PsiTryStatement;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+public class OpenTelemetrySpanMethodVisitorTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private PsiClass setupClass(String methodBody) {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "package com.example;\n" +
+                "public class MyClass {\n" +
+                methodBody + "\n" +
+                "}\n"
+        );
+        return file.getClasses()[0];
+    }
+
+    public void testWrapsBodyInSpanScope() {
+        PsiClass psiClass = setupClass(
+                "    public int compute(int x) {\n" +
+                "        if (x > 0) {\n" +
+                "            return x;\n" +
+                "        }\n" +
+                "        return 0;\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("compute", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new OpenTelemetrySpanMethodVisitor(method)));
+
+        PsiStatement[] statements = method.getBody().getStatements();
+        assertEquals("Span, scope and try", 3, statements.length);
+        assertTrue(statements[0].getText().contains("tracer.spanBuilder(\"compute(int)\")"));
+        assertTrue(statements[1].getText().contains("log4jbSpan.makeCurrent()"));
+
+        PsiTryStatement tryStatement = (PsiTryStatement) statements[2];
+        assertEquals("Original returns stay inside the try", 2,
+                countOccurrences(tryStatement.getTryBlock().getText(), "return"));
+        assertNotNull(tryStatement.getFinallyBlock());
+        String finallyText = tryStatement.getFinallyBlock().getText();
+        assertTrue(finallyText.indexOf("log4jbScope.close();") < finallyText.indexOf("log4jbSpan.end();"));
+        assertEquals("Escaping exceptions are recorded", 1, tryStatement.getCatchSections().length);
+
+        assertNotNull("Tracer field should be declared",
+                psiClass.findFieldByName(OpenTelemetrySpanMethodVisitor.TRACER_FIELD_NAME, false));
+        assertTrue(psiClass.findFieldByName(OpenTelemetrySpanMethodVisitor.TRACER_FIELD_NAME, false).getText()
+                .contains("getTracer(\"com.example.MyClass\")"));
+    }
+
+    public void testRecordsCaughtExceptionsOnSpan() {
+        PsiClass psiClass = setupClass(
+                "    public void riskyMethod() {\n" +
+                "        try {\n" +
+                "            int x = 1;\n" +
+                "        } catch (Exception e) {\n" +
+                "            e.printStackTrace();\n" +
+                "        }\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("riskyMethod", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            method.accept(new OpenTelemetrySpanMethodVisitor(method));
+            method.accept(new OpenTelemetrySpanMethodVisitor(method));
+        });
+
+        String bodyText = method.getBody().getText();
+        assertEquals("The catch block should record the exception once", 1,
+                countOccurrences(bodyText, "log4jbSpan.recordException(e);"));
+        assertEquals("The method should be wrapped once", 1, countOccurrences(bodyText, "log4jbSpan.end();"));
+        assertFalse("Nothing should be logged", bodyText.contains("logger"));
+    }
+
+    public void testTracerIsDeclaredBeforeStaticInitializers() {
+        PsiClass psiClass = setupClass(
+                "    private static final String GREETING = greet();\n" +
+                "    static String greet() {\n" +
+                "        return \"hello\";\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("greet", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new OpenTelemetrySpanMethodVisitor(method)));
+
+        String classText = psiClass.getText();
+        assertTrue("The tracer should be initialized before a static initializer calls the method",
+                classText.indexOf(" tracer =") < classText.indexOf("GREETING ="));
+    }
+
+    public void testTracerInInterfaceIsNotPrivate() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("Greeter.java",
+                "public interface Greeter {\n" +
+                "    default String greet() {\n" +
+                "        return \"hello\";\n" +
+                "    }\n" +
+                "}\n"
+        );
+        PsiClass psiClass = file.getClasses()[0];
+        PsiMethod method = psiClass.findMethodsByName("greet", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new OpenTelemetrySpanMethodVisitor(method)));
+
+        PsiField tracer = psiClass.findFieldByName(OpenTelemetrySpanMethodVisitor.TRACER_FIELD_NAME, false);
+        assertNotNull(tracer);
+        assertFalse("Interface fields cannot be private", tracer.hasModifierProperty(PsiModifier.PRIVATE));
+    }
+
+    private int countOccurrences(String text, String substring) {
+        int count = 0;
+        int idx = 0;
+        while ((idx = text.indexOf(substring, idx)) != -1) {
+            count++;
+            idx += substring.length();
+        }
+        return count;
+    }
+}
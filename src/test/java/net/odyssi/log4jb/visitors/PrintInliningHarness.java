@@ -0,0 +1,116 @@
+package net.odyssi.log4jb.visitors;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles a set of sources and runs them with {@code -XX:+PrintInlining}, so tests can check how instrumentation
+ * affects the inlining decisions of HotSpot.
+ * <p>
+ * C1 is disabled so that only the C2 decisions, which are the ones that matter for hot code, are printed.
+ * Inlining lines look like {@code @ 1   Main::compute (6 bytes)   inline (hot)}.
+ */
+final class PrintInliningHarness {
+
+    private static final Pattern INLINING_LINE = Pattern.compile("@ \\d+\\s+(\\S+)::(\\S+) \\((\\d+) bytes\\)\\s+(.*)");
+
+    /**
+     * A single inlining decision for a call site.
+     *
+     * @param className The declaring class of the callee
+     * @param method    The name of the callee
+     * @param byteSize  The bytecode size of the callee
+     * @param decision  The decision printed by HotSpot, e.g. {@code inline (hot)} or {@code too big}
+     */
+    record Decision(String className, String method, int byteSize, String decision) {
+
+        boolean isInlined() {
+            return decision.startsWith("inline");
+        }
+    }
+
+    private PrintInliningHarness() {
+    }
+
+    /**
+     * Returns whether the harness can run in the current JVM, which needs the system Java compiler.
+     */
+    static boolean isAvailable() {
+        return ToolProvider.getSystemJavaCompiler() != null;
+    }
+
+    /**
+     * Compiles the sources and runs the main class with {@code -XX:+PrintInlining}.
+     *
+     * @param sources   The sources to compile, keyed by their path relative to the source root (e.g. {@code Main.java})
+     * @param mainClass The class whose {@code main} method drives the hot code
+     * @param vmOptions Additional VM options, e.g. {@code -XX:FreqInlineSize=20}
+     * @return Every inlining decision printed while running
+     */
+    static List<Decision> run(Map<String, String> sources, String mainClass, String... vmOptions) throws IOException, InterruptedException {
+        final Path directory = Files.createTempDirectory("log4jb-inlining");
+        final List<String> compilerArguments = new ArrayList<>(List.of("-d", directory.toString()));
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            final Path file = directory.resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source.getValue());
+            compilerArguments.add(file.toString());
+        }
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final ByteArrayOutputStream compilerOutput = new ByteArrayOutputStream();
+        if (compiler.run(null, compilerOutput, compilerOutput, compilerArguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Compilation failed:\n" + compilerOutput.toString(StandardCharsets.UTF_8));
+        }
+
+        final List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-XX:+UnlockDiagnosticVMOptions", "-XX:+PrintInlining", "-XX:-TieredCompilation", "-Xbatch"));
+        command.addAll(List.of(vmOptions));
+        command.addAll(List.of("-cp", directory.toString(), mainClass));
+
+        // The output goes to a file, so the timeout below still applies if the process hangs while printing.
+        final Path outputFile = directory.resolve("output.txt");
+        final Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(outputFile.toFile())
+                .start();
+        if (!process.waitFor(1, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Timed out running " + mainClass);
+        }
+        return parse(Files.readString(outputFile, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the decisions made for the given callee.
+     */
+    static List<Decision> decisionsFor(List<Decision> decisions, String className, String method) {
+        return decisions.stream()
+                .filter(decision -> decision.className().equals(className) && decision.method().equals(method))
+                .toList();
+    }
+
+    static List<Decision> parse(String output) {
+        final List<Decision> decisions = new ArrayList<>();
+        for (String line : output.split("\\R")) {
+            final Matcher matcher = INLINING_LINE.matcher(line.trim());
+            if (matcher.find()) {
+                decisions.add(new Decision(matcher.group(1), matcher.group(2), Integer.parseInt(matcher.group(3)),
+                        matcher.group(4).trim()));
+            }
+        }
+        return decisions;
+    }
+}
@@ -5,6 +5,8 @@ import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiJavaFile;
 import com.intellij.psi.PsiMethod;
 import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import net.odyssi.log4jb.logging.LoggingStrategy;
+import net.odyssi.log4jb.logging.Slf4jLoggingStrategy;
 
 public class ReapplyMethodLoggingVisitorTest extends LightJavaCodeInsightFixtureTestCase {
 
@@ -72,6 +74,41 @@ public class ReapplyMethodLoggingVisitorTest extends LightJavaCodeInsightFixture
                 bodyText.contains("logger.debug(\"doWork() - start\")"));
     }
 
+    public void testUsesStrategyLoggerFieldName() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger LOG = LoggerFactory.getLogger(MyClass.class);\n" +
+                "    public void run() {\n" +
+                "        LOG.debug(\"oldName() - start\");\n" +
+                "        getLogger().debug(\"otherName() - start\");\n" +
+                "        (LOG).debug(\"parenthesized() - start\");\n" +
+                "    }\n" +
+                "    private Logger getLogger() {\n" +
+                "        return LOG;\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        PsiClass psiClass = file.getClasses()[0];
+        LoggingStrategy strategy = new Slf4jLoggingStrategy() {
+            @Override
+            public String getLoggerFieldName() {
+                return "LOG";
+            }
+        };
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                psiClass.accept(new ReapplyMethodLoggingVisitor(getProject(), strategy)));
+
+        String bodyText = psiClass.findMethodsByName("run", false)[0].getBody().getText();
+        assertTrue("The strategy's logger field should be matched", bodyText.contains("\"run() - start\""));
+        assertTrue("A chain rooted in a method call should be left alone", bodyText.contains("otherName() - start"));
+        assertTrue("A chain rooted in a parenthesized expression should be left alone",
+                bodyText.contains("parenthesized() - start"));
+    }
+
     public void testHandlesMethodWithNoLogStatements() {
         PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
                 "import org.slf4j.Logger;\n" +
@@ -93,4 +130,99 @@ public class ReapplyMethodLoggingVisitorTest extends LightJavaCodeInsightFixture
 
         assertEquals("Method with no log statements should be unchanged", textBefore, method.getText());
     }
+
+    public void testExaminesEachCallOnceInDeeplyNestedAnonymousClasses() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger logger = LoggerFactory.getLogger(MyClass.class);\n" +
+                "    public void outer() {\n" +
+                "        logger.debug(\"stale() - start\");\n" +
+                "        Runnable level1 = new Runnable() {\n" +
+                "            public void run() {\n" +
+                "                logger.debug(\"stale() - level1\");\n" +
+                "                java.util.concurrent.Callable<String> level2 = new java.util.concurrent.Callable<String>() {\n" +
+                "                    public String call() {\n" +
+                "                        logger.debug(\"stale() - level2\");\n" +
+                "                        Comparable<Integer> level3 = new Comparable<Integer>() {\n" +
+                "                            public int compareTo(Integer other) {\n" +
+                "                                logger.debug(\"stale() - level3\");\n" +
+                "                                return 0;\n" +
+                "                            }\n" +
+                "                        };\n" +
+                "                        return \"\";\n" +
+                "                    }\n" +
+                "                };\n" +
+                "            }\n" +
+                "        };\n" +
+                "        logger.debug(\"stale() - end\");\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        PsiClass psiClass = file.getClasses()[0];
+        ReapplyMethodLoggingVisitor visitor = new ReapplyMethodLoggingVisitor(getProject());
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> psiClass.accept(visitor));
+
+        assertEquals("Each logger call should be examined exactly once", 5, visitor.getExaminedCallCount());
+
+        String classText = psiClass.getText();
+        assertTrue(classText.contains("\"outer() - start\""));
+        assertTrue(classText.contains("\"outer() - end\""));
+        assertTrue("Calls should use their innermost method", classText.contains("\"run() - level1\""));
+        assertTrue(classText.contains("\"call() - level2\""));
+        assertTrue(classText.contains("\"compareTo(Integer) - level3\""));
+    }
+
+    public void testUpdatesMessageInsideConstantGuard() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger logger = LoggerFactory.getLogger(MyClass.class);\n" +
+                "    private static final boolean LOG4JB_DEBUG = false;\n" +
+                "    public void process(String name, int count) {\n" +
+                "        if (LOG4JB_DEBUG && logger.isDebugEnabled()) {\n" +
+                "            logger.debug(\"oldMethod(String) - start\");\n" +
+                "        }\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        PsiClass psiClass = file.getClasses()[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                psiClass.accept(new ReapplyMethodLoggingVisitor(getProject())));
+
+        String bodyText = psiClass.findMethodsByName("process", false)[0].getBody().getText();
+        assertTrue("Should update the signature inside the constant guard",
+                bodyText.contains("process(String,int) - start"));
+        assertTrue("Constant guard should be kept", bodyText.contains("LOG4JB_DEBUG && logger.isDebugEnabled()"));
+    }
+
+    public void testUpdatesOtherFrameworkShapes() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    private static final class Log4jbLoggerHolder {\n" +
+                "        private static final java.util.logging.Logger logger = java.util.logging.Logger.getLogger(\"x\");\n" +
+                "    }\n" +
+                "    public void process(String name) {\n" +
+                "        Log4jbLoggerHolder.logger.fine(\"old(String) - start\");\n" +
+                "        Log4jbLoggerHolder.logger.log(java.util.logging.Level.SEVERE, \"old(String) - caught exception\");\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        PsiClass psiClass = file.getClasses()[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                psiClass.accept(new ReapplyMethodLoggingVisitor(getProject())));
+
+        String bodyText = psiClass.findMethodsByName("process", false)[0].getBody().getText();
+        assertTrue(bodyText.contains("\"process(String) - start\""));
+        assertTrue(bodyText.contains("\"process(String) - caught exception\""));
+        assertFalse(bodyText.contains("old(String)"));
+    }
 }
@@ -78,6 +78,61 @@ public class RemoveLoggingVisitorTest extends LightJavaCodeInsightFixtureTestCas
         assertTrue("Non-logging code should remain", classText.contains("int x = 1"));
     }
 
+    public void testRemovesLoggerFieldRecognisedByType() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger LOG = LoggerFactory.getLogger(MyClass.class);\n" +
+                "    public void doSomething() {\n" +
+                "        if (LOG.isDebugEnabled()) {\n" +
+                "            LOG.debug(\"doSomething() - start\");\n" +
+                "        }\n" +
+                "        int x = 1;\n" +
+                "        LOG.info(\"x = {}\", x);\n" +
+                "    }\n" +
+                "    static class Inner {\n" +
+                "        private static final Logger LOGGER = LoggerFactory.getLogger(Inner.class);\n" +
+                "        void run() {\n" +
+                "            LOGGER.warn(\"inner\");\n" +
+                "            LOG.error(\"outer\");\n" +
+                "        }\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        PsiClass psiClass = file.getClasses()[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                psiClass.accept(new RemoveLoggingVisitor()));
+
+        String classText = psiClass.getText();
+        assertNull("LOG field should be removed", psiClass.findFieldByName("LOG", false));
+        assertNull("LOGGER field should be removed", psiClass.getInnerClasses()[0].findFieldByName("LOGGER", false));
+        assertFalse("Log statements should be removed", classText.contains("LOG"));
+        assertFalse("If guards should be removed", classText.contains("isDebugEnabled"));
+        assertTrue("Non-logging code should remain", classText.contains("int x = 1"));
+    }
+
+    public void testKeepsNonLoggerFieldNamedLogger() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    private final StringBuilder logger = new StringBuilder();\n" +
+                "    public void doSomething() {\n" +
+                "        logger.append(\"doSomething\");\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        PsiClass psiClass = file.getClasses()[0];
+        String textBefore = psiClass.getText();
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                psiClass.accept(new RemoveLoggingVisitor()));
+
+        assertEquals("A field named logger that is not a logger must be kept", textBefore, psiClass.getText());
+    }
+
     public void testDoesNothingWhenNoLoggerExists() {
         PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
                 "public class MyClass {\n" +
@@ -95,4 +150,60 @@ public class RemoveLoggingVisitorTest extends LightJavaCodeInsightFixtureTestCas
 
         assertEquals("Class should be unchanged when no logger exists", textBefore, psiClass.getText());
     }
+
+    public void testRemovesConstantGuardsAndFlags() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger logger = LoggerFactory.getLogger(MyClass.class);\n" +
+                "    private static final boolean LOG4JB_DEBUG = Log4jbFlags.DEBUG;\n" +
+                "    public void doSomething(String name) {\n" +
+                "        if (LOG4JB_DEBUG && logger.isDebugEnabled()) {\n" +
+                "            logger.debug(\"doSomething(String) - start\");\n" +
+                "        }\n" +
+                "        int x = 1;\n" +
+                "        if (LOG4JB_DEBUG) {\n" +
+                "            logger.debug(\"doSomething(String) - name={}\", name);\n" +
+                "        }\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        PsiClass psiClass = file.getClasses()[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                psiClass.accept(new RemoveLoggingVisitor()));
+
+        String classText = psiClass.getText();
+        assertFalse("Log statements should be removed", classText.contains("logger.debug"));
+        assertFalse("Constant guards and flags should be removed", classText.contains("LOG4JB_DEBUG"));
+        assertTrue("Non-logging code should remain", classText.contains("int x = 1"));
+    }
+
+    public void testRemovesLazyLoggerHolder() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "public class MyClass {\n" +
+                "    private static final class Log4jbLoggerHolder {\n" +
+                "        private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(MyClass.class);\n" +
+                "    }\n" +
+                "    public void doSomething() {\n" +
+                "        if (Log4jbLoggerHolder.logger.isDebugEnabled()) {\n" +
+                "            Log4jbLoggerHolder.logger.debug(\"doSomething() - start\");\n" +
+                "        }\n" +
+                "        int x = 1;\n" +
+                "    }\n" +
+                "}\n"
+        );
+
+        PsiClass psiClass = file.getClasses()[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                psiClass.accept(new RemoveLoggingVisitor()));
+
+        String classText = psiClass.getText();
+        assertFalse("Log statements should be removed", classText.contains("logger.debug"));
+        assertNull("Holder class should be removed", psiClass.findInnerClassByName("Log4jbLoggerHolder", false));
+        assertTrue("Non-logging code should remain", classText.contains("int x = 1"));
+    }
 }
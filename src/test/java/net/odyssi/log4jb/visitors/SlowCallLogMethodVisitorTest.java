@@ -0,0 +1,80 @@
+package net.odyssi.log4jb.visitors;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiStatement;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import net.odyssi.log4jb.logging.Slf4jLoggingStrategy;
+
+public class SlowCallLogMethodVisitorTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private PsiClass setupClassWithLogger(String methodBody) {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyClass.java",
+                "import org.slf4j.Logger;\n" +
+                "import org.slf4j.LoggerFactory;\n" +
+                "public class MyClass {\n" +
+                "    private static final Logger logger = LoggerFactory.getLogger(MyClass.class);\n" +
+                methodBody + "\n" +
+                "}\n"
+        );
+        return file.getClasses()[0];
+    }
+
+    public void testLogsOnlyCallsAboveThreshold() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public int process(String name) {\n" +
+                "        return name.length();\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("process", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new SlowCallLogMethodVisitor(method, new Slf4jLoggingStrategy(), new SlowCallThreshold(250, "warn"))));
+
+        PsiStatement[] statements = method.getBody().getStatements();
+        assertEquals("final long log4jbStart = logger.isWarnEnabled() ? System.nanoTime() : 0L;", statements[0].getText());
+
+        String bodyText = method.getBody().getText();
+        assertTrue(bodyText.contains("if (log4jbElapsedMillis > 250L)"));
+        assertTrue(bodyText.contains("logger.warn(\"process(String) - slow call ({} ms, threshold 250 ms)\", log4jbElapsedMillis);"));
+        assertTrue("The threshold check should come before the log statement",
+                bodyText.indexOf("> 250L") < bodyText.indexOf("logger.warn("));
+    }
+
+    public void testUsesChosenLevel() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doWork() {\n" +
+                "        int x = 1;\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("doWork", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(MethodInstrumentation.SLOW_CALL_LOG.createVisitor(method, new Slf4jLoggingStrategy(),
+                        new SlowCallThreshold(5, "info"))));
+
+        String bodyText = method.getBody().getText();
+        assertTrue(bodyText.contains("logger.isInfoEnabled() ? System.nanoTime() : 0L;"));
+        assertTrue(bodyText.contains("logger.info(\"doWork() - slow call ({} ms, threshold 5 ms)\", log4jbElapsedMillis);"));
+    }
+
+    public void testDoesNotDuplicateOnSecondInvocation() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doWork() {\n" +
+                "        int x = 1;\n" +
+                "    }"
+        );
+        PsiMethod method = psiClass.findMethodsByName("doWork", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            method.accept(new SlowCallLogMethodVisitor(method, new Slf4jLoggingStrategy(), SlowCallThreshold.DEFAULT));
+            method.accept(new SlowCallLogMethodVisitor(method, new Slf4jLoggingStrategy(), new SlowCallThreshold(10, "info")));
+        });
+
+        String bodyText = method.getBody().getText();
+        assertTrue(bodyText.contains("> 100L"));
+        assertFalse(bodyText.contains("> 10L"));
+    }
+}
@@ -5,6 +5,12 @@ import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiJavaFile;
 import com.intellij.psi.PsiMethod;
 import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import net.odyssi.log4jb.logging.JulLoggingStrategy;
+import net.odyssi.log4jb.logging.Log4j2LoggingStrategy;
+import net.odyssi.log4jb.logging.SystemLoggerLoggingStrategy;
+import net.odyssi.log4jb.plan.StatementReplacement;
+
+import java.util.List;
 
 public class SystemOutReplacementVisitorTest extends LightJavaCodeInsightFixtureTestCase {
 
@@ -36,7 +42,7 @@ public class SystemOutReplacementVisitorTest extends LightJavaCodeInsightFixture
         assertFalse("System.out.println should be removed", bodyText.contains("System.out.println"));
         assertTrue("Should contain logger.debug", bodyText.contains("logger.debug"));
         assertTrue("Should contain the message", bodyText.contains("Hello world"));
-        assertTrue("Should be guarded", bodyText.contains("isDebugEnabled"));
+        assertFalse("A constant message should not be guarded", bodyText.contains("isDebugEnabled"));
     }
 
     public void testReplacesVariablePrintln() {
@@ -163,4 +169,105 @@ public class SystemOutReplacementVisitorTest extends LightJavaCodeInsightFixture
         assertTrue("Numeric literal should be a {} argument, not inlined",
                 bodyText.contains("{}") && bodyText.contains("42"));
     }
+
+    public void testLoopVariableIsNotCapturedBySupplier() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doWork(int count, String name) {\n" +
+                "        for (int i = 0; i < count; i++) {\n" +
+                "            System.out.println(\"item \" + compute(i) + \" of \" + compute(name.length()));\n" +
+                "        }\n" +
+                "    }\n" +
+                "    private String compute(int value) { return null; }"
+        );
+
+        PsiMethod method = psiClass.findMethodsByName("doWork", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new SystemOutReplacementVisitor(new Log4j2LoggingStrategy())));
+
+        String bodyText = method.getBody().getText();
+        assertFalse("The loop counter must not be captured by a lambda", bodyText.contains("->"));
+        assertTrue(bodyText.contains("if(logger.isDebugEnabled())") || bodyText.contains("if (logger.isDebugEnabled())"));
+    }
+
+    public void testJulMessageDoesNotCaptureLoopVariable() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doWork(int count) {\n" +
+                "        for (int i = 0; i < count; i++) {\n" +
+                "            System.out.println(\"item \" + i);\n" +
+                "        }\n" +
+                "    }"
+        );
+
+        PsiMethod method = psiClass.findMethodsByName("doWork", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new SystemOutReplacementVisitor(new JulLoggingStrategy())));
+
+        String bodyText = method.getBody().getText();
+        assertFalse("The loop counter must not be captured by a lambda", bodyText.contains("->"));
+        assertTrue(bodyText.contains("isLoggable(java.util.logging.Level.FINE)"));
+        assertTrue(bodyText.contains("\"doWork(int) - item \" + i"));
+    }
+
+    public void testSystemLoggerMessageDoesNotCaptureAccumulator() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doWork(int[] values) {\n" +
+                "        int total = 0;\n" +
+                "        for (int value : values) {\n" +
+                "            total += value;\n" +
+                "            System.out.println(\"value \" + value + \", total \" + total);\n" +
+                "        }\n" +
+                "    }"
+        );
+
+        PsiMethod method = psiClass.findMethodsByName("doWork", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new SystemOutReplacementVisitor(new SystemLoggerLoggingStrategy())));
+
+        String bodyText = method.getBody().getText();
+        assertFalse("The accumulator must not be captured by a lambda", bodyText.contains("->"));
+        assertTrue(bodyText.contains("isLoggable(System.Logger.Level.DEBUG)"));
+    }
+
+    public void testEffectivelyFinalLocalIsSupplied() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doWork(int[] values) {\n" +
+                "        for (int value : values) {\n" +
+                "            System.out.println(\"item \" + compute(value));\n" +
+                "        }\n" +
+                "    }\n" +
+                "    private String compute(int value) { return null; }"
+        );
+
+        PsiMethod method = psiClass.findMethodsByName("doWork", false)[0];
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () ->
+                method.accept(new SystemOutReplacementVisitor(new Log4j2LoggingStrategy())));
+
+        assertTrue(method.getBody().getText().contains("() -> compute(value)"));
+    }
+
+    public void testAnalyzeDoesNotModifyAndUsesEnclosingMethodSignature() {
+        PsiClass psiClass = setupClassWithLogger(
+                "    public void doWork() {\n" +
+                "        Runnable r = new Runnable() {\n" +
+                "            public void run() {\n" +
+                "                System.out.println(\"inner\");\n" +
+                "            }\n" +
+                "        };\n" +
+                "        System.out.println(\"outer\");\n" +
+                "    }"
+        );
+        String textBefore = psiClass.getText();
+
+        List<StatementReplacement> replacements = new SystemOutReplacementVisitor().analyze(psiClass);
+
+        assertEquals("Analysis must not modify the PSI", textBefore, psiClass.getText());
+        assertEquals(2, replacements.size());
+        assertTrue(replacements.get(0).statementText().contains("run() - inner"));
+        assertTrue("The signature must not be reset after a nested method",
+                replacements.get(1).statementText().contains("doWork() - outer"));
+    }
 }